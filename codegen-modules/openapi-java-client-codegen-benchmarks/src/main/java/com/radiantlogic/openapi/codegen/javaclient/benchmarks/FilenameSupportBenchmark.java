@@ -0,0 +1,108 @@
+package com.radiantlogic.openapi.codegen.javaclient.benchmarks;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenFilenameSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenConstants;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.models.ExtendedCodegenModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks CodegenFilenameSupport on model maps far larger than ModelSupportBenchmark uses, like
+ * the specs with many anonymous inline schemas where filename clashes are common. Each model
+ * imports a few others, and the clash interval decides how many models have a name that only
+ * differs by case from another one.
+ *
+ * <p>The models are kept in a sorted map, so the time per model grows with the log of the model
+ * count. Anything faster than that is noise, anything close to the model count is a regression. The
+ * model maps are built before every invocation, so the garbage of building them is collected before
+ * the invocation starts. Otherwise collecting it inside the measured region adds time that grows
+ * with the live set, and makes the results look superlinear.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FilenameSupportBenchmark {
+  private static final String MODEL_PACKAGE = "com.radiantlogic.benchmark.model";
+  private static final int IMPORTS_PER_MODEL = 4;
+  private static final long SEED = 42;
+
+  @Param({"12500", "25000", "50000"})
+  private int modelCount;
+
+  @Param({"10", "100"})
+  private int clashInterval;
+
+  private final CodegenFilenameSupport codegenFilenameSupport = new CodegenFilenameSupport();
+
+  private Map<String, ModelsMap> allModelMaps;
+
+  @Setup(Level.Invocation)
+  public void createModelMaps() {
+    final Random random = new Random(SEED);
+    final List<String> names = new ArrayList<>();
+    for (int index = 0; index < modelCount; index++) {
+      names.add(
+          index % clashInterval == 0 && index > 0
+              ? "MODEL%06d".formatted(index - 1)
+              : "Model%06d".formatted(index));
+    }
+
+    allModelMaps = new TreeMap<>();
+    names.forEach(
+        name -> {
+          final CodegenModel model = new ExtendedCodegenModel();
+          model.name = name;
+          model.classname = name;
+          model.classFilename = name;
+          model.dataType = name;
+          model.imports = new HashSet<>();
+          final List<Map<String, String>> imports = new ArrayList<>();
+          for (int index = 0; index < IMPORTS_PER_MODEL; index++) {
+            final String imported = names.get(random.nextInt(names.size()));
+            if (model.imports.add(imported)) {
+              final Map<String, String> importMap = new HashMap<>();
+              importMap.put(
+                  CodegenConstants.IMPORT_KEY, "%s.%s".formatted(MODEL_PACKAGE, imported));
+              imports.add(importMap);
+            }
+          }
+
+          final ModelsMap baseModelsMap = new ModelsMap();
+          baseModelsMap.put(CodegenConstants.IMPORTS_KEY, imports);
+          allModelMaps.put(
+              name, CodegenModelUtils.wrapInModelsMap(baseModelsMap, MODEL_PACKAGE, model));
+        });
+    System.gc();
+  }
+
+  @Benchmark
+  public Map<String, ModelsMap> fixProblematicKeysForFilenames() {
+    codegenFilenameSupport.fixProblematicKeysForFilenames(
+        allModelMaps, (template, name) -> "%s.java".formatted(name));
+    return allModelMaps;
+  }
+}
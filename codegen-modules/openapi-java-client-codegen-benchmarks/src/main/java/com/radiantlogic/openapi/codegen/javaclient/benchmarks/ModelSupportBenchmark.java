@@ -0,0 +1,136 @@
+package com.radiantlogic.openapi.codegen.javaclient.benchmarks;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenFilenameSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenInheritedEnumSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenMissingModelInheritanceSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenModelIndex;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenNewEnumProcessorSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenRawTypeUsageSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenRemoveInheritanceEnumsSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.ExtractedEnumModels;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.model.ModelsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks each of the model post-processing support classes on its own, against synthetic model
+ * graphs of different shapes. Comparing the results across model counts shows whether a pass scales
+ * linearly, which is what matters for the largest specs.
+ *
+ * <p>The support classes modify the models they are given, so each invocation gets a new graph, and
+ * a new index for the passes that share one. Creating them is not part of the measured time, but it
+ * does mean each invocation has to be long enough for the setup overhead JMH adds to not matter,
+ * which is the case for these graph sizes.
+ *
+ * <p>The passes that share an index run once inheritance has been fixed, so the graph they are
+ * given has had it fixed too. Otherwise the missing parent relationships would cut every hierarchy
+ * short.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ModelSupportBenchmark {
+  @Param({"500", "2000", "8000"})
+  private int modelCount;
+
+  @Param({"1", "4"})
+  private int hierarchyDepth;
+
+  @Param({"0.1", "0.5"})
+  private double enumDensity;
+
+  @Param({"10", "100"})
+  private int unionCount;
+
+  private final CodegenFilenameSupport codegenFilenameSupport = new CodegenFilenameSupport();
+  private final CodegenInheritedEnumSupport codegenInheritedEnumSupport =
+      new CodegenInheritedEnumSupport();
+  private final CodegenNewEnumProcessorSupport codegenNewEnumProcessorSupport =
+      new CodegenNewEnumProcessorSupport();
+  private final CodegenMissingModelInheritanceSupport codegenMissingModelInheritanceSupport =
+      new CodegenMissingModelInheritanceSupport();
+  private final CodegenRawTypeUsageSupport codegenRawTypeUsageSupport =
+      new CodegenRawTypeUsageSupport();
+  private final CodegenRemoveInheritanceEnumsSupport codegenRemoveInheritanceEnumsSupport =
+      new CodegenRemoveInheritanceEnumsSupport();
+
+  private SyntheticModelGraph graph;
+
+  @Setup(Level.Invocation)
+  public void createGraph() {
+    graph = new SyntheticModelGraph(modelCount, hierarchyDepth, enumDensity, unionCount);
+  }
+
+  /** The graph of the benchmark with its inheritance fixed, and indexed. */
+  @State(Scope.Thread)
+  public static class IndexedGraph {
+    private final CodegenMissingModelInheritanceSupport codegenMissingModelInheritanceSupport =
+        new CodegenMissingModelInheritanceSupport();
+
+    private CodegenModelIndex modelIndex;
+
+    @Setup(Level.Invocation)
+    public void createIndex(final ModelSupportBenchmark benchmark) {
+      codegenMissingModelInheritanceSupport.fixInheritanceAllModels(benchmark.graph.getAllModels());
+      modelIndex = new CodegenModelIndex(benchmark.graph.getAllModels());
+    }
+  }
+
+  @Benchmark
+  public CodegenModelIndex createModelIndex() {
+    return new CodegenModelIndex(graph.getAllModels());
+  }
+
+  @Benchmark
+  public Map<String, ModelsMap> fixProblematicKeysForFilenames() {
+    codegenFilenameSupport.fixProblematicKeysForFilenames(
+        graph.getAllModelMaps(), (template, name) -> "%s.java".formatted(name));
+    return graph.getAllModelMaps();
+  }
+
+  @Benchmark
+  public Map<String, CodegenModel> fixInheritanceAllModels() {
+    codegenMissingModelInheritanceSupport.fixInheritanceAllModels(graph.getAllModels());
+    return graph.getAllModels();
+  }
+
+  @Benchmark
+  public ExtractedEnumModels fixAndExtractInheritedEnums(final IndexedGraph indexedGraph) {
+    return codegenInheritedEnumSupport.fixAndExtractInheritedEnums(indexedGraph.modelIndex);
+  }
+
+  @Benchmark
+  public Map<String, ModelsMap> processNewEnumsAndMergeToModelMaps() {
+    codegenNewEnumProcessorSupport.processNewEnumsAndMergeToModelMaps(
+        graph.getNewEnums(), graph.getAllModelMaps(), SyntheticModelGraph.MODEL_PACKAGE, Map.of());
+    return graph.getAllModelMaps();
+  }
+
+  @Benchmark
+  public CodegenModelIndex removeInheritedEnums(final IndexedGraph indexedGraph) {
+    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(indexedGraph.modelIndex);
+    return indexedGraph.modelIndex;
+  }
+
+  @Benchmark
+  public CodegenModelIndex applyRawTypesToModelProperties(final IndexedGraph indexedGraph) {
+    codegenRawTypeUsageSupport.applyRawTypesToModelProperties(indexedGraph.modelIndex);
+    return indexedGraph.modelIndex;
+  }
+}
@@ -0,0 +1,251 @@
+package com.radiantlogic.openapi.codegen.javaclient.benchmarks;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenConstants;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenEnumModelUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.models.ExtendedCodegenModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.NonNull;
+import org.openapitools.codegen.CodegenDiscriminator;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.model.ModelsMap;
+
+/**
+ * A generated set of models shaped like the ones the codegen produces for a large spec, for
+ * benchmarking the model post-processing support classes without having to parse a real spec.
+ *
+ * <p>The models are split into inheritance chains of the given depth, and every model has the same
+ * property names so that children always override properties of their parents. The enum density is
+ * the chance of each property being an inline enum, which decides how much work the enum passes
+ * have. Union models have children from all over the graph, half of them with a discriminator
+ * mapping and half without, and each model has a property that uses one of them. There are also
+ * models with a missing parent relationship and models whose filenames clash, so every support
+ * class has something to fix.
+ *
+ * <p>Every support class modifies the models, so a new graph is needed for each run. The same
+ * parameters always produce the same graph.
+ */
+public class SyntheticModelGraph {
+  public static final String MODEL_PACKAGE = "com.radiantlogic.benchmark.model";
+  private static final int PROPERTIES_PER_MODEL = 8;
+  private static final int UNION_CHILDREN = 3;
+  private static final int MISSING_INHERITANCE_INTERVAL = 4;
+  private static final int FILENAME_CLASH_INTERVAL = 100;
+  private static final List<String> ENUM_VALUES = List.of("ACTIVE", "INACTIVE", "PENDING");
+  private static final long SEED = 42;
+
+  /** The models by name, in a map that can be replaced in place like the one the codegen uses. */
+  @Getter private final Map<String, ModelsMap> allModelMaps = new TreeMap<>();
+
+  @Getter private final Map<String, CodegenModel> allModels = new HashMap<>();
+
+  /** The enums CodegenInheritedEnumSupport would have extracted from this graph. */
+  @Getter private final List<CodegenModel> newEnums = new ArrayList<>();
+
+  private final Random random = new Random(SEED);
+
+  public SyntheticModelGraph(
+      final int modelCount,
+      final int hierarchyDepth,
+      final double enumDensity,
+      final int unionCount) {
+    if (modelCount < 1 || hierarchyDepth < 1 || unionCount < 0) {
+      throw new IllegalArgumentException(
+          "Invalid graph shape, models: %d, depth: %d, unions: %d"
+              .formatted(modelCount, hierarchyDepth, unionCount));
+    }
+
+    final List<ExtendedCodegenModel> models = new ArrayList<>();
+    for (int index = 0; index < modelCount; index++) {
+      final ExtendedCodegenModel model = createModel("Model%05d".formatted(index));
+      addProperties(model, enumDensity, unionCount);
+      final int chainPosition = index % hierarchyDepth;
+      if (chainPosition > 0) {
+        setParent(model, models.get(index - 1), chainPosition);
+      }
+      models.add(model);
+
+      if (index > 0 && index % FILENAME_CLASH_INTERVAL == 0) {
+        // Only differs by case, so the files would overwrite each other
+        final ExtendedCodegenModel clashingModel = createModel("MODEL%05d".formatted(index));
+        addProperties(clashingModel, enumDensity, unionCount);
+        models.add(clashingModel);
+        model.imports.add(clashingModel.classname);
+      }
+    }
+
+    IntStream.range(0, unionCount)
+        .mapToObj(index -> createUnionModel(index, models, enumDensity))
+        .forEach(models::add);
+
+    // Existing enums, which the new enums with the same names are merged into
+    IntStream.range(0, PROPERTIES_PER_MODEL)
+        .mapToObj(index -> createEnumModel(getEnumName(index)))
+        .forEach(models::add);
+
+    models.forEach(this::addModel);
+    models.stream()
+        .flatMap(model -> model.vars.stream())
+        .filter(property -> property.isEnum)
+        .map(CodegenEnumModelUtils::createEnumModelFromEnumProp)
+        .forEach(newEnums::add);
+  }
+
+  @NonNull
+  private static ExtendedCodegenModel createModel(@NonNull final String name) {
+    final ExtendedCodegenModel model = new ExtendedCodegenModel();
+    model.name = name;
+    model.classname = name;
+    model.classFilename = name;
+    model.dataType = name;
+    model.imports = new HashSet<>();
+    return model;
+  }
+
+  private void addProperties(
+      @NonNull final ExtendedCodegenModel model, final double enumDensity, final int unionCount) {
+    model.vars = new ArrayList<>();
+    for (int index = 0; index < PROPERTIES_PER_MODEL; index++) {
+      if (unionCount > 0 && index == PROPERTIES_PER_MODEL - 1) {
+        final String unionName = getUnionName(random.nextInt(unionCount));
+        model.vars.add(createProperty(index, unionName, unionName));
+        model.imports.add(unionName);
+      } else if (random.nextDouble() < enumDensity) {
+        model.vars.add(createEnumProperty(index));
+      } else {
+        model.vars.add(createProperty(index, "String", null));
+      }
+    }
+  }
+
+  /** Every few children are missing the parent relationship, only having the parent as allOf. */
+  private static void setParent(
+      @NonNull final ExtendedCodegenModel model,
+      @NonNull final ExtendedCodegenModel parent,
+      final int chainPosition) {
+    model.imports.add(parent.classname);
+    model.interfaces = List.of(parent.classname);
+    model.allOf = new LinkedHashSet<>(List.of(parent.classname));
+    if (chainPosition % MISSING_INHERITANCE_INTERVAL == 1) {
+      model.dataType = parent.classname;
+      return;
+    }
+    model.parent = parent.classname;
+    model.parentModel = parent;
+  }
+
+  @NonNull
+  private ExtendedCodegenModel createUnionModel(
+      final int index, @NonNull final List<ExtendedCodegenModel> models, final double enumDensity) {
+    final ExtendedCodegenModel union = createModel(getUnionName(index));
+    addProperties(union, enumDensity, 0);
+    final Set<String> children = new LinkedHashSet<>();
+    while (children.size() < Math.min(UNION_CHILDREN, models.size())) {
+      children.add(models.get(random.nextInt(models.size())).name);
+    }
+    union.oneOf = children;
+
+    if (index % 2 == 0) {
+      final CodegenDiscriminator discriminator = new CodegenDiscriminator();
+      discriminator.setPropertyBaseName("type");
+      final Set<CodegenDiscriminator.MappedModel> mappedModels = new LinkedHashSet<>();
+      children.forEach(
+          child -> mappedModels.add(new CodegenDiscriminator.MappedModel(child, child, true)));
+      discriminator.setMappedModels(mappedModels);
+      union.discriminator = discriminator;
+    }
+    return union;
+  }
+
+  @NonNull
+  private static ExtendedCodegenModel createEnumModel(@NonNull final String name) {
+    final ExtendedCodegenModel model = createModel(name);
+    model.isEnum = true;
+    model.dataType = "String";
+    model.allowableValues = createAllowableValues();
+    return model;
+  }
+
+  @NonNull
+  private static CodegenProperty createProperty(
+      final int index, @NonNull final String dataType, final String complexType) {
+    final CodegenProperty property = new CodegenProperty();
+    property.name = "property%d".formatted(index);
+    property.baseName = property.name;
+    property.dataType = dataType;
+    property.datatypeWithEnum = dataType;
+    property.complexType = complexType;
+    property.openApiType = complexType != null ? "object" : "string";
+    return property;
+  }
+
+  @NonNull
+  private static CodegenProperty createEnumProperty(final int index) {
+    final CodegenProperty property = createProperty(index, "String", null);
+    property.isEnum = true;
+    property.isInnerEnum = true;
+    property.datatypeWithEnum = getEnumName(index);
+    property._enum = ENUM_VALUES;
+    property.allowableValues = createAllowableValues();
+    return property;
+  }
+
+  @NonNull
+  private static Map<String, Object> createAllowableValues() {
+    final List<Map<String, Object>> enumVars =
+        ENUM_VALUES.stream()
+            .map(
+                value ->
+                    Map.<String, Object>of(
+                        CodegenConstants.NAME_KEY,
+                        value,
+                        CodegenConstants.VALUE_KEY,
+                        value,
+                        CodegenConstants.IS_STRING_KEY,
+                        true))
+            .toList();
+    return new HashMap<>(
+        Map.of(CodegenConstants.VALUES_KEY, ENUM_VALUES, CodegenConstants.ENUM_VARS_KEY, enumVars));
+  }
+
+  private void addModel(@NonNull final CodegenModel model) {
+    final List<Map<String, String>> imports =
+        model.imports.stream()
+            .map(
+                classname -> {
+                  final Map<String, String> importMap = new HashMap<>();
+                  importMap.put(
+                      CodegenConstants.IMPORT_KEY, "%s.%s".formatted(MODEL_PACKAGE, classname));
+                  return importMap;
+                })
+            .collect(Collectors.toCollection(ArrayList::new));
+    final ModelsMap baseModelsMap = new ModelsMap();
+    baseModelsMap.put(CodegenConstants.IMPORTS_KEY, imports);
+
+    allModelMaps.put(
+        model.name, CodegenModelUtils.wrapInModelsMap(baseModelsMap, MODEL_PACKAGE, model));
+    allModels.put(model.name, model);
+  }
+
+  @NonNull
+  private static String getUnionName(final int index) {
+    return "Union%04d".formatted(index);
+  }
+
+  @NonNull
+  private static String getEnumName(final int index) {
+    return "Property%dEnum".formatted(index);
+  }
+}
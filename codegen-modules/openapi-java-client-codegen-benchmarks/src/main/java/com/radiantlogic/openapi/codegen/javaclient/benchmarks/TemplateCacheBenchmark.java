@@ -0,0 +1,158 @@
+package com.radiantlogic.openapi.codegen.javaclient.benchmarks;
+
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.args.ArgsParser;
+import com.radiantlogic.openapi.codegen.javaclient.generate.CodeGeneratorExecutor;
+import com.radiantlogic.openapi.codegen.javaclient.generate.OpenapiParser;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.RadiantJavaClientCodegen;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.CompiledTemplateCache;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
+import com.radiantlogic.openapi.codegen.javaclient.properties.Props;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a whole generation of a small synthetic spec, the kind of spec where compiling the
+ * templates is a noticeable share of the total time. Each invocation uses a new codegen, like every
+ * spec of a batch or every daemon job does, with either a template cache shared between the
+ * invocations or a new one. The difference between the two is the saving per spec. The output is
+ * written to the output directory in the working directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TemplateCacheBenchmark {
+  private static final Props PROPS = new Props("openapi-java-client-codegen", "benchmark");
+
+  @Param({"5", "25"})
+  private int schemaCount;
+
+  @Param({"true", "false"})
+  private boolean sharedCache;
+
+  private final CompiledTemplateCache templateCache = new CompiledTemplateCache();
+
+  private Path specFile;
+  private Args args;
+
+  @Setup
+  public void createSpec() throws IOException {
+    specFile = Files.createTempFile("template-cache-benchmark", ".yaml");
+    Files.writeString(specFile, createSpec(schemaCount));
+    args = new ArgsParser(PROPS).parse(new String[] {"-p=%s".formatted(specFile), "--force"});
+  }
+
+  @TearDown
+  public void deleteSpec() throws IOException {
+    Files.deleteIfExists(specFile);
+  }
+
+  @Benchmark
+  public RadiantJavaClientCodegen generate() {
+    final GenerationTimer timer = new GenerationTimer();
+    final RadiantJavaClientCodegen codegen =
+        new RadiantJavaClientCodegen(
+            args, timer, sharedCache ? templateCache : new CompiledTemplateCache());
+    final OpenAPI openAPI = new OpenapiParser(args).parse();
+    codegen.init(openAPI);
+    new CodeGeneratorExecutor(codegen, args.outputMode(), args.renderThreads()).generate(openAPI);
+    return codegen;
+  }
+
+  /** A CRUD path and an object schema with a few properties and an enum for each schema. */
+  private static String createSpec(final int schemaCount) {
+    final StringBuilder paths = new StringBuilder();
+    final StringBuilder schemas = new StringBuilder();
+    for (int index = 0; index < schemaCount; index++) {
+      final String name = "Item%d".formatted(index);
+      paths.append(
+          """
+            /items%1$d/{id}:
+              get:
+                operationId: get%2$s
+                tags: [items%1$d]
+                parameters:
+                  - name: id
+                    in: path
+                    required: true
+                    schema:
+                      type: string
+                responses:
+                  '200':
+                    description: OK
+                    content:
+                      application/json:
+                        schema:
+                          $ref: '#/components/schemas/%2$s'
+              put:
+                operationId: update%2$s
+                tags: [items%1$d]
+                parameters:
+                  - name: id
+                    in: path
+                    required: true
+                    schema:
+                      type: string
+                requestBody:
+                  content:
+                    application/json:
+                      schema:
+                        $ref: '#/components/schemas/%2$s'
+                responses:
+                  '204':
+                    description: Updated
+          """
+              .formatted(index, name));
+      schemas.append(
+          """
+              %s:
+                type: object
+                properties:
+                  id:
+                    type: string
+                  count:
+                    type: integer
+                  createdAt:
+                    type: string
+                    format: date-time
+                  status:
+                    type: string
+                    enum: [ACTIVE, INACTIVE]
+                  tags:
+                    type: array
+                    items:
+                      type: string
+          """
+              .formatted(name));
+    }
+
+    return """
+        openapi: 3.0.3
+        info:
+          title: Template Cache Benchmark
+          version: 1.0.0
+        paths:
+        %scomponents:
+          schemas:
+        %s"""
+        .formatted(paths, schemas);
+  }
+}
@@ -2,18 +2,53 @@ package com.radiantlogic.openapi.codegen.javaclient;
 
 import com.radiantlogic.openapi.codegen.javaclient.args.Args;
 import com.radiantlogic.openapi.codegen.javaclient.args.ArgsParser;
+import com.radiantlogic.openapi.codegen.javaclient.args.BatchArgs;
+import com.radiantlogic.openapi.codegen.javaclient.args.DaemonArgs;
 import com.radiantlogic.openapi.codegen.javaclient.args.ProgramArgStatus;
+import com.radiantlogic.openapi.codegen.javaclient.batch.BatchGenerationExecutor;
+import com.radiantlogic.openapi.codegen.javaclient.batch.BatchResult;
+import com.radiantlogic.openapi.codegen.javaclient.batch.BatchStatus;
+import com.radiantlogic.openapi.codegen.javaclient.daemon.GenerationDaemon;
+import com.radiantlogic.openapi.codegen.javaclient.exceptions.JavaClientBuilderException;
 import com.radiantlogic.openapi.codegen.javaclient.generate.CodeGeneratorExecutor;
 import com.radiantlogic.openapi.codegen.javaclient.generate.OpenapiParser;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.RadiantJavaClientCodegen;
+import com.radiantlogic.openapi.codegen.javaclient.generate.fingerprint.FingerprintCalculator;
+import com.radiantlogic.openapi.codegen.javaclient.generate.fingerprint.FingerprintStore;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.CompiledTemplateCache;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OutputMode;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.ZipOutputSink;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationReport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationReportWriter;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.MemoryProfiler;
+import com.radiantlogic.openapi.codegen.javaclient.generate.verify.CompileVerifier;
+import com.radiantlogic.openapi.codegen.javaclient.generate.verify.VerificationResult;
+import com.radiantlogic.openapi.codegen.javaclient.generate.verify.VerifyClasspathResolver;
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import com.radiantlogic.openapi.codegen.javaclient.io.OutputDirLocks;
 import com.radiantlogic.openapi.codegen.javaclient.properties.Props;
 import com.radiantlogic.openapi.codegen.javaclient.properties.PropsReader;
 import io.swagger.v3.oas.models.OpenAPI;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class Runner {
+  /** Shared by every generation this runner does, ie all the specs of a batch or the daemon. */
+  private final CompiledTemplateCache templateCache = new CompiledTemplateCache();
+
+  private final VerifyClasspathResolver verifyClasspathResolver = new VerifyClasspathResolver();
+
+  private final OutputDirLocks outputDirLocks = new OutputDirLocks();
 
   /**
    * If run via IntelliJ, this will not work unless you do the following:
@@ -49,23 +84,221 @@ public class Runner {
     log.info("Starting code generation");
     final ArgsParser argsParser = new ArgsParser(props);
     final String[] argsAfterDevHandling = handleDevArgs(args);
-    final Args parsedArgs = argsParser.parse(argsAfterDevHandling);
+    final Optional<DaemonArgs> daemonArgs = argsParser.parseDaemon(argsAfterDevHandling);
+    if (daemonArgs.isPresent()) {
+      runDaemon(daemonArgs.get(), argsParser, props);
+      return;
+    }
+
+    final BatchArgs parsedArgs = argsParser.parseBatch(argsAfterDevHandling);
     if (parsedArgs.status() == ProgramArgStatus.EXIT) {
       System.exit(0);
       return;
     }
 
+    if (parsedArgs.specs().size() == 1) {
+      generate(parsedArgs.specs().getFirst(), props);
+      return;
+    }
+
+    runBatch(parsedArgs, props);
+  }
+
+  /**
+   * Generate every specification in the batch within this JVM, on a bounded pool of worker threads.
+   * Failures are reported per specification, and only once all of them have been attempted.
+   */
+  @NonNull
+  public List<BatchResult> runBatch(
+      @NonNull final BatchArgs batchArgs, @NonNull final Props props) {
+    final BatchGenerationExecutor batchExecutor =
+        new BatchGenerationExecutor(
+            batchArgs.threads(), (spec, claimOutputDir) -> generate(spec, props, claimOutputDir));
+    final List<BatchResult> results = batchExecutor.generateAll(batchArgs.specs());
+
+    final long failed = results.stream().filter(r -> r.status() == BatchStatus.FAILED).count();
+    if (failed > 0) {
+      throw new JavaClientBuilderException(
+          "Code generation failed for %d of %d specifications".formatted(failed, results.size()));
+    }
+    return results;
+  }
+
+  /**
+   * Start the daemon and keep it running until the JVM is shut down. Its threads keep the JVM alive
+   * after this returns.
+   */
+  public void runDaemon(
+      @NonNull final DaemonArgs daemonArgs,
+      @NonNull final ArgsParser argsParser,
+      @NonNull final Props props)
+      throws IOException {
+    final GenerationDaemon daemon =
+        new GenerationDaemon(
+            daemonArgs,
+            argsParser,
+            props,
+            CodegenPaths.DAEMON_TOKEN_FILE,
+            spec -> generate(spec, props));
+    daemon.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(daemon::close, "codegen-daemon-shutdown"));
+  }
+
+  /**
+   * Parse a single OpenAPI specification and generate the code for it. If the output of a previous
+   * generation with identical inputs is still present, this is skipped unless forced.
+   *
+   * @return the report of the generation, or empty if it was skipped.
+   */
+  @NonNull
+  public Optional<GenerationReport> generate(
+      @NonNull final Args parsedArgs, @NonNull final Props props) {
+    return generate(parsedArgs, props, outputDir -> {});
+  }
+
+  /**
+   * @param onOutputDir called with the output directory as soon as it is known, before anything is
+   *     written to it.
+   */
+  @NonNull
+  private Optional<GenerationReport> generate(
+      @NonNull final Args parsedArgs,
+      @NonNull final Props props,
+      @NonNull final Consumer<Path> onOutputDir) {
     log.info("Path to OpenAPI specification: {}", parsedArgs.openapiUrl());
 
+    final GenerationTimer timer =
+        parsedArgs.memoryReport()
+            ? new GenerationTimer(new MemoryProfiler())
+            : new GenerationTimer();
     final OpenapiParser openapiParser = new OpenapiParser(parsedArgs);
-    final RadiantJavaClientCodegen codegen = new RadiantJavaClientCodegen(parsedArgs);
-    final CodeGeneratorExecutor codeGenerator = new CodeGeneratorExecutor(codegen);
+    final RadiantJavaClientCodegen codegen =
+        new RadiantJavaClientCodegen(parsedArgs, timer, templateCache);
+    final CodeGeneratorExecutor codeGenerator =
+        new CodeGeneratorExecutor(codegen, parsedArgs.outputMode(), parsedArgs.renderThreads());
+    final FingerprintCalculator fingerprintCalculator = new FingerprintCalculator(props);
+    final FingerprintStore fingerprintStore = new FingerprintStore();
+
+    final GenerationReportWriter reportWriter = new GenerationReportWriter();
+
+    final byte[] specBytes = timer.time(GenerationTimer.FETCH_PHASE, openapiParser::fetch);
+    final String fingerprint = fingerprintCalculator.calculate(specBytes, parsedArgs);
+    if (!parsedArgs.force()) {
+      final Optional<Path> upToDateOutput = fingerprintStore.findUpToDateOutput(fingerprint);
+      if (upToDateOutput.isPresent()) {
+        onOutputDir.accept(upToDateOutput.get());
+        skipGeneration(parsedArgs, upToDateOutput.get());
+        return Optional.empty();
+      }
+    }
 
     log.info("Parsing and generating code");
-    final OpenAPI openAPI = openapiParser.parse();
-    codegen.init(openAPI);
-    codeGenerator.generate(openAPI);
-    log.info("Finished code generation");
+    final OpenAPI openAPI =
+        timer.time(GenerationTimer.PARSE_PHASE, () -> openapiParser.parse(specBytes));
+    timer.snapshotMemory(GenerationTimer.PARSE_PHASE);
+    timer.run(GenerationTimer.INIT_PHASE, () -> codegen.init(openAPI));
+    timer.snapshotMemory(GenerationTimer.INIT_PHASE);
+    final Path outputDir = Path.of(codegen.getOutputDir());
+    onOutputDir.accept(outputDir);
+    final Lock outputDirLock = outputDirLocks.lock(outputDir);
+    try {
+      // An identical generation may have finished while this one waited for the output directory
+      if (!parsedArgs.force() && fingerprintStore.findUpToDateOutput(fingerprint).isPresent()) {
+        skipGeneration(parsedArgs, outputDir);
+        return Optional.empty();
+      }
+      fingerprintStore.clear(outputDir);
+      codeGenerator.generate(openAPI);
+      final Optional<VerificationResult> verification =
+          parsedArgs.verify()
+              ? Optional.of(
+                  timer.time(GenerationTimer.VERIFY_PHASE, () -> verify(parsedArgs, outputDir)))
+              : Optional.empty();
+      verification.ifPresent(
+          result -> {
+            timer.count(GenerationTimer.VERIFY_PHASE, "files", result.sourceFiles());
+            timer.count(GenerationTimer.VERIFY_PHASE, "errors", result.errors().size());
+          });
+
+      final GenerationReport report = timer.createReport(parsedArgs.openapiUrl().toString());
+      reportWriter.write(report, outputDir);
+      reportWriter.logSummary(report);
+      verification.filter(result -> !result.success()).ifPresent(Runner::failVerification);
+      fingerprintStore.save(fingerprint, outputDir);
+      log.info("Finished code generation");
+      return Optional.of(report);
+    } finally {
+      outputDirLock.unlock();
+    }
+  }
+
+  /**
+   * The output is up to date, but it may have been generated without --verify, so with --verify it
+   * is still compiled as it is. The output directory is locked, so it can't be rewritten meanwhile.
+   */
+  private void skipGeneration(@NonNull final Args parsedArgs, @NonNull final Path outputDir) {
+    log.info(
+        "Specification and generator are unchanged, skipping generation. Existing output: {}",
+        outputDir);
+    if (!parsedArgs.verify()) {
+      return;
+    }
+    final Lock outputDirLock = outputDirLocks.lock(outputDir);
+    try {
+      final VerificationResult result = verify(parsedArgs, outputDir);
+      if (!result.success()) {
+        failVerification(result);
+      }
+    } finally {
+      outputDirLock.unlock();
+    }
+  }
+
+  /**
+   * Compile the generated code, straight out of the zip if that is how it was written. The
+   * classpath is resolved from the generated pom unless one was given.
+   */
+  @NonNull
+  private VerificationResult verify(@NonNull final Args parsedArgs, @NonNull final Path outputDir) {
+    try {
+      if (parsedArgs.outputMode() != OutputMode.ZIP) {
+        return verify(parsedArgs, outputDir, outputDir);
+      }
+      try (FileSystem zipFileSystem =
+          FileSystems.newFileSystem(outputDir.resolve(ZipOutputSink.ZIP_FILE))) {
+        return verify(parsedArgs, outputDir, zipFileSystem.getPath("/"));
+      }
+    } catch (final IOException ex) {
+      throw new IllegalStateException(
+          "Unable to read the generated code to verify it: %s".formatted(outputDir), ex);
+    }
+  }
+
+  @NonNull
+  private VerificationResult verify(
+      @NonNull final Args parsedArgs,
+      @NonNull final Path outputDir,
+      @NonNull final Path projectRoot)
+      throws IOException {
+    log.info("Verifying that the generated code compiles: {}", outputDir);
+    final List<Path> classpath =
+        parsedArgs.verifyClasspath().isEmpty()
+            ? verifyClasspathResolver.resolve(projectRoot)
+            : parsedArgs.verifyClasspath();
+    return new CompileVerifier(classpath).verify(projectRoot);
+  }
+
+  private static void failVerification(@NonNull final VerificationResult result) {
+    result
+        .getErrorsByFile()
+        .forEach(
+            (file, errors) -> {
+              log.error("{} compile errors in {}", errors.size(), file);
+              errors.forEach(error -> log.error("  {}", error));
+            });
+    throw new JavaClientBuilderException(
+        "The generated code does not compile, %d errors in %d files"
+            .formatted(result.errors().size(), result.getErrorsByFile().size()));
   }
 
   /**
@@ -1,9 +1,76 @@
 package com.radiantlogic.openapi.codegen.javaclient.args;
 
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OutputMode;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
 import lombok.NonNull;
 import lombok.With;
 
+/**
+ * The arguments for generating a single specification.
+ *
+ * @param artifactId the artifactId of the generated artifact, which also names its output
+ *     directory, or null to derive it from the title of the spec.
+ * @param force regenerate the output even if the fingerprint shows nothing has changed.
+ * @param outputMode how the generated code is written to the output directory.
+ * @param renderThreads the number of threads used to render the model and API templates.
+ * @param postProcessThreads the number of threads used to run the passes over all models.
+ * @param specCache cache remote specs on disk and revalidate them with conditional requests.
+ * @param includeTags only generate operations with one of these tags. Empty means all operations.
+ * @param includePaths only generate operations on these paths. Empty means all operations.
+ * @param pruneUnusedSchemas remove schemas that are not reachable from any operation.
+ * @param dedupeSchemas generate a single model for schemas that are structurally identical.
+ * @param shardByTag split the output into a Maven module per tag plus a common module.
+ * @param memoryReport add heap and allocation profiling of each phase to the generation report.
+ * @param disabledPasses the names of codegen passes to skip.
+ * @param verify compile the generated code in-process once it has been generated.
+ * @param verifyClasspath the classpath to compile the generated code against. Empty means it is
+ *     resolved from the generated pom with Maven.
+ */
 @With
 public record Args(
-    @NonNull ProgramArgStatus status, @NonNull URL openapiUrl, @NonNull String groupId) {}
+    @NonNull ProgramArgStatus status,
+    @NonNull URL openapiUrl,
+    @NonNull String groupId,
+    String artifactId,
+    boolean force,
+    @NonNull OutputMode outputMode,
+    int renderThreads,
+    int postProcessThreads,
+    boolean specCache,
+    @NonNull Set<String> includeTags,
+    @NonNull Set<String> includePaths,
+    boolean pruneUnusedSchemas,
+    boolean dedupeSchemas,
+    boolean shardByTag,
+    boolean memoryReport,
+    @NonNull Set<String> disabledPasses,
+    boolean verify,
+    @NonNull List<Path> verifyClasspath) {
+  public Args(
+      @NonNull final ProgramArgStatus status,
+      @NonNull final URL openapiUrl,
+      @NonNull final String groupId) {
+    this(
+        status,
+        openapiUrl,
+        groupId,
+        null,
+        false,
+        OutputMode.OVERWRITE,
+        1,
+        1,
+        true,
+        Set.of(),
+        Set.of(),
+        false,
+        false,
+        false,
+        false,
+        Set.of(),
+        false,
+        List.of());
+  }
+}
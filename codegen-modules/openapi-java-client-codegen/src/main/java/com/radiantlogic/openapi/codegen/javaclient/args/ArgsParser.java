@@ -1,15 +1,26 @@
 package com.radiantlogic.openapi.codegen.javaclient.args;
 
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OutputMode;
 import com.radiantlogic.openapi.codegen.javaclient.properties.Props;
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,12 +39,36 @@ import org.apache.commons.lang3.StringUtils;
 public class ArgsParser {
   public static final String FILE_PROTOCOL = "file:";
   public static final String DEFAULT_GROUP_ID = "com.radiantlogic.openapi.generated";
+  private static final Pattern ARTIFACT_ID_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+  public static final int DEFAULT_BATCH_THREADS =
+      Math.min(4, Runtime.getRuntime().availableProcessors());
+  public static final int DEFAULT_DAEMON_PORT = 8765;
+  public static final int DEFAULT_DAEMON_QUEUE = 100;
 
   private static final Option PATH_OPTION =
       Option.builder("p")
           .argName("OpenAPI Path")
           .longOpt("path")
-          .desc("The path to the OpenAPI specification. Either a file path or URL.")
+          .desc(
+              "The path to the OpenAPI specification. Either a file path or URL. May be repeated to generate several specifications in one run.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option MANIFEST_OPTION =
+      Option.builder("m")
+          .argName("Manifest Path")
+          .longOpt("manifest")
+          .desc(
+              "The path to a manifest file listing one OpenAPI path or URL per line. Blank lines and lines starting with '#' are ignored.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option ARTIFACT_ID_OPTION =
+      Option.builder()
+          .argName("Artifact ID")
+          .longOpt("artifact-id")
+          .desc(
+              "The artifactId to use for the generated artifact, which also names its output directory and package. If not provided, it is derived from the title of the spec, plus the included tags and paths when only part of the spec is generated.")
           .hasArg()
           .valueSeparator('=')
           .build();
@@ -46,6 +81,155 @@ public class ArgsParser {
           .hasArg()
           .valueSeparator('=')
           .build();
+  private static final Option BATCH_THREADS_OPTION =
+      Option.builder()
+          .argName("Batch Threads")
+          .longOpt("batch-threads")
+          .desc(
+              "The number of specifications to generate concurrently when more than one is provided. Defaults to %d."
+                  .formatted(DEFAULT_BATCH_THREADS))
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option FORCE_OPTION =
+      Option.builder("f")
+          .argName("Force")
+          .longOpt("force")
+          .desc(
+              "Always regenerate the code, even if the specification and generator are unchanged since the last run.")
+          .build();
+  private static final Option OUTPUT_MODE_OPTION =
+      Option.builder("o")
+          .argName("Output Mode")
+          .longOpt("output-mode")
+          .desc(
+              "How the generated code is written. 'overwrite' deletes the output and writes everything, 'incremental' only writes changed files and deletes files that are no longer generated, 'zip' deletes the output and writes everything into a single zip. Defaults to overwrite.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option RENDER_THREADS_OPTION =
+      Option.builder()
+          .argName("Render Threads")
+          .longOpt("render-threads")
+          .desc(
+              "The number of threads used to render the model and API templates of a specification. Defaults to 1.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option POST_PROCESS_THREADS_OPTION =
+      Option.builder()
+          .argName("Post Process Threads")
+          .longOpt("post-process-threads")
+          .desc(
+              "The number of threads used to run independent passes over all models of a specification. Defaults to 1.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option NO_SPEC_CACHE_OPTION =
+      Option.builder()
+          .argName("No Spec Cache")
+          .longOpt("no-spec-cache")
+          .desc(
+              "Always download remote specifications in full, rather than revalidating a cached copy.")
+          .build();
+  private static final Option INCLUDE_TAGS_OPTION =
+      Option.builder()
+          .argName("Include Tags")
+          .longOpt("include-tags")
+          .desc(
+              "A comma-separated list of tags. Only operations with at least one of these tags, and the components they use, are generated.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option INCLUDE_PATHS_OPTION =
+      Option.builder()
+          .argName("Include Paths")
+          .longOpt("include-paths")
+          .desc(
+              "A comma-separated list of paths. Only operations on these paths, and the components they use, are generated. A path ending in '*' matches every path starting with it.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option PRUNE_UNUSED_SCHEMAS_OPTION =
+      Option.builder()
+          .argName("Prune Unused Schemas")
+          .longOpt("prune-unused-schemas")
+          .desc(
+              "Remove schemas that are not used by any operation, directly or indirectly, so no models are generated for them.")
+          .build();
+  private static final Option DEDUPE_SCHEMAS_OPTION =
+      Option.builder()
+          .argName("Dedupe Schemas")
+          .longOpt("dedupe-schemas")
+          .desc(
+              "Generate a single model for schemas that are structurally identical, including inline schemas, and use it everywhere any of them is referenced.")
+          .build();
+  private static final Option SHARD_BY_TAG_OPTION =
+      Option.builder()
+          .argName("Shard By Tag")
+          .longOpt("shard-by-tag")
+          .desc(
+              "Generate a multi-module Maven project, with the APIs of each tag in their own module and shared models in a common module.")
+          .build();
+  private static final Option MEMORY_REPORT_OPTION =
+      Option.builder()
+          .argName("Memory Report")
+          .longOpt("memory-report")
+          .desc(
+              "Add the allocations, peak heap and live set of each phase to the generation report. This forces a full GC after each major phase, so generation is slower. The heap is shared by the whole JVM, so this requires generating one specification at a time.")
+          .build();
+  private static final Option DISABLE_PASSES_OPTION =
+      Option.builder()
+          .argName("Disable Passes")
+          .longOpt("disable-passes")
+          .desc(
+              "Comma-separated names of codegen passes to skip, as they appear in the generation report. The generated code may not compile without them.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option VERIFY_OPTION =
+      Option.builder()
+          .argName("Verify")
+          .longOpt("verify")
+          .desc(
+              "Compile the generated code in-process once it has been generated, and fail the generation if it does not compile.")
+          .build();
+  private static final Option VERIFY_CLASSPATH_OPTION =
+      Option.builder()
+          .argName("Verify Classpath")
+          .longOpt("verify-classpath")
+          .desc(
+              "The classpath to compile the generated code against when verifying it. Defaults to the dependencies of the generated pom, which are resolved with Maven once and then cached.")
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option DAEMON_OPTION =
+      Option.builder()
+          .argName("Daemon")
+          .longOpt("daemon")
+          .desc(
+              "Stay running and accept generation jobs over a local HTTP API, instead of generating the specifications passed on the command line. Jobs are generated on --batch-threads worker threads.")
+          .build();
+  private static final Option DAEMON_PORT_OPTION =
+      Option.builder()
+          .argName("Daemon Port")
+          .longOpt("daemon-port")
+          .desc(
+              "The port the daemon listens on. It only accepts connections from the local machine. Defaults to %d."
+                  .formatted(DEFAULT_DAEMON_PORT))
+          .hasArg()
+          .valueSeparator('=')
+          .build();
+  private static final Option DAEMON_QUEUE_OPTION =
+      Option.builder()
+          .argName("Daemon Queue")
+          .longOpt("daemon-queue")
+          .desc(
+              "The number of jobs that can wait for a free worker thread before the daemon rejects new ones. Defaults to %d."
+                  .formatted(DEFAULT_DAEMON_QUEUE))
+          .hasArg()
+          .valueSeparator('=')
+          .build();
   private static final Option HELP_OPTION =
       Option.builder("h")
           .argName("Help")
@@ -56,14 +240,79 @@ public class ArgsParser {
 
   static {
     OPTIONS.addOption(PATH_OPTION);
+    OPTIONS.addOption(MANIFEST_OPTION);
     OPTIONS.addOption(HELP_OPTION);
     OPTIONS.addOption(GROUP_ID_OPTION);
+    OPTIONS.addOption(ARTIFACT_ID_OPTION);
+    OPTIONS.addOption(BATCH_THREADS_OPTION);
+    OPTIONS.addOption(FORCE_OPTION);
+    OPTIONS.addOption(OUTPUT_MODE_OPTION);
+    OPTIONS.addOption(RENDER_THREADS_OPTION);
+    OPTIONS.addOption(POST_PROCESS_THREADS_OPTION);
+    OPTIONS.addOption(NO_SPEC_CACHE_OPTION);
+    OPTIONS.addOption(INCLUDE_TAGS_OPTION);
+    OPTIONS.addOption(INCLUDE_PATHS_OPTION);
+    OPTIONS.addOption(PRUNE_UNUSED_SCHEMAS_OPTION);
+    OPTIONS.addOption(DEDUPE_SCHEMAS_OPTION);
+    OPTIONS.addOption(SHARD_BY_TAG_OPTION);
+    OPTIONS.addOption(MEMORY_REPORT_OPTION);
+    OPTIONS.addOption(DISABLE_PASSES_OPTION);
+    OPTIONS.addOption(VERIFY_OPTION);
+    OPTIONS.addOption(VERIFY_CLASSPATH_OPTION);
+    OPTIONS.addOption(DAEMON_OPTION);
+    OPTIONS.addOption(DAEMON_PORT_OPTION);
+    OPTIONS.addOption(DAEMON_QUEUE_OPTION);
   }
 
   @NonNull private final Props props;
 
+  /** Parse the arguments for a run that must contain exactly one specification. */
   @NonNull
   public Args parse(@NonNull final String[] args) {
+    final BatchArgs batchArgs = parseBatch(args);
+    if (batchArgs.status() == ProgramArgStatus.EXIT) {
+      return createExitArgs();
+    }
+
+    if (batchArgs.specs().size() != 1) {
+      throw new IllegalArgumentException(
+          "Expected exactly one OpenAPI path but received %d.".formatted(batchArgs.specs().size()));
+    }
+    return batchArgs.specs().getFirst();
+  }
+
+  /**
+   * Parse the arguments for running as a daemon. Empty if the daemon was not requested, in which
+   * case the arguments are for a regular run.
+   */
+  @NonNull
+  public Optional<DaemonArgs> parseDaemon(@NonNull final String[] args) {
+    try {
+      final CommandLine commandLine = new DefaultParser().parse(OPTIONS, args);
+      if (!commandLine.hasOption(DAEMON_OPTION.getLongOpt())
+          || commandLine.hasOption(HELP_OPTION.getOpt())) {
+        return Optional.empty();
+      }
+
+      return Optional.of(
+          new DaemonArgs(
+              parsePort(commandLine),
+              parseThreads(
+                  commandLine, BATCH_THREADS_OPTION, DEFAULT_BATCH_THREADS, "Batch threads"),
+              parseThreads(
+                  commandLine, DAEMON_QUEUE_OPTION, DEFAULT_DAEMON_QUEUE, "Daemon queue")));
+    } catch (final ParseException ex) {
+      throw new IllegalArgumentException(
+          "Failed to parse command line arguments, cannot proceed.", ex);
+    }
+  }
+
+  /**
+   * Parse the arguments for a run that may contain any number of specifications, supplied either
+   * via repeated path arguments, a manifest file, or both.
+   */
+  @NonNull
+  public BatchArgs parseBatch(@NonNull final String[] args) {
     if (args.length < 1) {
       throw new IllegalArgumentException(
           "Missing required arguments. Please run with -h for more information.");
@@ -76,24 +325,193 @@ public class ArgsParser {
       final CommandLine commandLine = parser.parse(OPTIONS, args);
 
       if (commandLine.hasOption(HELP_OPTION.getOpt())) {
-        return handleHelp();
+        printHelp();
+        return new BatchArgs(ProgramArgStatus.EXIT, List.of(), DEFAULT_BATCH_THREADS);
       }
 
-      final String openapiPath = commandLine.getOptionValue(PATH_OPTION.getOpt(), "");
-      if (StringUtils.isBlank(openapiPath)) {
+      final List<String> openapiPaths = getOpenapiPaths(commandLine);
+      if (openapiPaths.isEmpty()) {
         throw new IllegalArgumentException(
             "Missing required OpenAPI path argument. Please use the -h option to see usage instructions.");
       }
 
-      final String groupId = commandLine.getOptionValue(GROUP_ID_OPTION.getOpt(), DEFAULT_GROUP_ID);
-      final URL openapiUrl = parseOpenapiPath(openapiPath);
-      return new Args(ProgramArgStatus.PROCEED, openapiUrl, groupId);
+      final int batchThreads =
+          parseThreads(commandLine, BATCH_THREADS_OPTION, DEFAULT_BATCH_THREADS, "Batch threads");
+      final List<Args> specs =
+          openapiPaths.stream()
+              .map(this::parseOpenapiPath)
+              .map(openapiUrl -> createSpecArgs(commandLine, openapiUrl))
+              .toList();
+      if (specs.size() > 1 && commandLine.hasOption(ARTIFACT_ID_OPTION.getLongOpt())) {
+        throw new IllegalArgumentException(
+            "The artifactId can only be set when generating a single specification, as every specification needs its own.");
+      }
+      if (specs.size() > 1
+          && batchThreads > 1
+          && commandLine.hasOption(MEMORY_REPORT_OPTION.getLongOpt())) {
+        throw new IllegalArgumentException(
+            "The memory report measures the heap of the whole JVM, so it requires --batch-threads=1 when generating several specifications.");
+      }
+      return new BatchArgs(ProgramArgStatus.PROCEED, specs, batchThreads);
     } catch (final ParseException ex) {
       throw new IllegalArgumentException(
           "Failed to parse command line arguments, cannot proceed.", ex);
     }
   }
 
+  /** All specs in a run share the same options, only the path differs. */
+  @NonNull
+  private static Args createSpecArgs(
+      @NonNull final CommandLine commandLine, @NonNull final URL openapiUrl) {
+    final String groupId = commandLine.getOptionValue(GROUP_ID_OPTION.getOpt(), DEFAULT_GROUP_ID);
+    final OutputMode outputMode =
+        OutputMode.fromArgValue(
+            commandLine.getOptionValue(
+                OUTPUT_MODE_OPTION.getOpt(), OutputMode.OVERWRITE.getArgValue()));
+    return new Args(ProgramArgStatus.PROCEED, openapiUrl, groupId)
+        .withArtifactId(parseArtifactId(commandLine))
+        .withForce(commandLine.hasOption(FORCE_OPTION.getOpt()))
+        .withOutputMode(outputMode)
+        .withRenderThreads(parseThreads(commandLine, RENDER_THREADS_OPTION, 1, "Render threads"))
+        .withPostProcessThreads(
+            parseThreads(commandLine, POST_PROCESS_THREADS_OPTION, 1, "Post process threads"))
+        .withSpecCache(!commandLine.hasOption(NO_SPEC_CACHE_OPTION.getLongOpt()))
+        .withIncludeTags(parseList(commandLine, INCLUDE_TAGS_OPTION))
+        .withIncludePaths(parseList(commandLine, INCLUDE_PATHS_OPTION))
+        .withPruneUnusedSchemas(commandLine.hasOption(PRUNE_UNUSED_SCHEMAS_OPTION.getLongOpt()))
+        .withDedupeSchemas(commandLine.hasOption(DEDUPE_SCHEMAS_OPTION.getLongOpt()))
+        .withShardByTag(commandLine.hasOption(SHARD_BY_TAG_OPTION.getLongOpt()))
+        .withMemoryReport(commandLine.hasOption(MEMORY_REPORT_OPTION.getLongOpt()))
+        .withDisabledPasses(parseList(commandLine, DISABLE_PASSES_OPTION))
+        .withVerify(commandLine.hasOption(VERIFY_OPTION.getLongOpt()))
+        .withVerifyClasspath(parseClasspath(commandLine));
+  }
+
+  /** The artifactId names a directory and a package, so it is limited to what is safe in both. */
+  private static String parseArtifactId(@NonNull final CommandLine commandLine) {
+    final String artifactId =
+        StringUtils.stripToNull(commandLine.getOptionValue(ARTIFACT_ID_OPTION.getLongOpt()));
+    if (artifactId != null && !ARTIFACT_ID_PATTERN.matcher(artifactId).matches()) {
+      throw new IllegalArgumentException(
+          "Invalid artifactId, only letters, digits, '.', '-' and '_' are allowed: %s"
+              .formatted(artifactId));
+    }
+    return artifactId;
+  }
+
+  /** The classpath uses the platform's path separator, like the java command's own classpath. */
+  @NonNull
+  private static List<Path> parseClasspath(@NonNull final CommandLine commandLine) {
+    return Optional.ofNullable(commandLine.getOptionValue(VERIFY_CLASSPATH_OPTION.getLongOpt()))
+        .stream()
+        .flatMap(value -> Arrays.stream(value.split(File.pathSeparator)))
+        .filter(StringUtils::isNotBlank)
+        .map(entry -> Paths.get(entry.strip()))
+        .toList();
+  }
+
+  /** Split a comma-separated option value, ignoring blank entries. */
+  @NonNull
+  private static Set<String> parseList(
+      @NonNull final CommandLine commandLine, @NonNull final Option option) {
+    return Optional.ofNullable(commandLine.getOptionValue(option.getLongOpt())).stream()
+        .flatMap(value -> Arrays.stream(value.split(",")))
+        .map(String::strip)
+        .filter(StringUtils::isNotBlank)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  @NonNull
+  private List<String> getOpenapiPaths(@NonNull final CommandLine commandLine) {
+    final List<String> openapiPaths = new ArrayList<>();
+    Optional.ofNullable(commandLine.getOptionValues(PATH_OPTION.getOpt())).stream()
+        .flatMap(Arrays::stream)
+        .filter(StringUtils::isNotBlank)
+        .forEach(openapiPaths::add);
+
+    final String manifestPath = commandLine.getOptionValue(MANIFEST_OPTION.getOpt(), "");
+    if (StringUtils.isNotBlank(manifestPath)) {
+      openapiPaths.addAll(readManifest(manifestPath));
+    }
+    return openapiPaths;
+  }
+
+  @NonNull
+  private List<String> readManifest(@NonNull final String manifestPath) {
+    final Path path = Paths.get(manifestPath).toAbsolutePath();
+    try (Stream<String> lines = Files.lines(path)) {
+      return lines
+          .map(String::strip)
+          .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+          .map(line -> resolveManifestEntry(path, line))
+          .toList();
+    } catch (final IOException ex) {
+      throw new IllegalArgumentException(
+          "Unable to read manifest file: %s".formatted(manifestPath), ex);
+    }
+  }
+
+  /**
+   * Relative file paths in a manifest are resolved against the directory containing the manifest,
+   * so that a manifest can be checked in alongside its specs. Anything else is left as-is to be
+   * handled by the normal path parsing.
+   */
+  @NonNull
+  private static String resolveManifestEntry(
+      @NonNull final Path manifestPath, @NonNull final String entry) {
+    try {
+      final Path relativeToManifest = manifestPath.resolveSibling(entry);
+      if (Files.exists(relativeToManifest)) {
+        return relativeToManifest.toString();
+      }
+    } catch (final InvalidPathException ex) {
+      log.trace("Manifest entry is not a valid file path: {}", entry, ex);
+    }
+    return entry;
+  }
+
+  private static int parseThreads(
+      @NonNull final CommandLine commandLine,
+      @NonNull final Option option,
+      final int defaultThreads,
+      @NonNull final String label) {
+    final String value = commandLine.getOptionValue(option.getLongOpt());
+    if (value == null) {
+      return defaultThreads;
+    }
+
+    try {
+      final int threads = Integer.parseInt(value);
+      if (threads < 1) {
+        throw new IllegalArgumentException(
+            "%s must be at least 1, received: %d".formatted(label, threads));
+      }
+      return threads;
+    } catch (final NumberFormatException ex) {
+      throw new IllegalArgumentException(
+          "%s must be a number, received: %s".formatted(label, value), ex);
+    }
+  }
+
+  private static int parsePort(@NonNull final CommandLine commandLine) {
+    final String value = commandLine.getOptionValue(DAEMON_PORT_OPTION.getLongOpt());
+    if (value == null) {
+      return DEFAULT_DAEMON_PORT;
+    }
+
+    try {
+      final int port = Integer.parseInt(value);
+      if (port < 0 || port > 65535) {
+        throw new IllegalArgumentException(
+            "Daemon port must be between 0 and 65535, received: %d".formatted(port));
+      }
+      return port;
+    } catch (final NumberFormatException ex) {
+      throw new IllegalArgumentException(
+          "Daemon port must be a number, received: %s".formatted(value), ex);
+    }
+  }
+
   @NonNull
   private URL parseOpenapiPath(@NonNull final String openapiPath) {
     try {
@@ -119,8 +537,7 @@ public class ArgsParser {
     }
   }
 
-  @NonNull
-  private Args handleHelp() {
+  private void printHelp() {
     final HelpFormatter helpFormatter = new HelpFormatter();
 
     final String header =
@@ -133,6 +550,10 @@ public class ArgsParser {
 
     helpFormatter.printHelp(
         "%s %s".formatted(props.artifactId(), props.version()), header, OPTIONS, "", true);
+  }
+
+  @NonNull
+  private static Args createExitArgs() {
     try {
       return new Args(ProgramArgStatus.EXIT, new URI("http://localhost").toURL(), "");
     } catch (final Exception ex) {
@@ -0,0 +1,11 @@
+package com.radiantlogic.openapi.codegen.javaclient.args;
+
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * The arguments for a run that may contain more than one specification. Each entry in specs is a
+ * fully formed set of args for a single generation, and threads is the size of the worker pool they
+ * will be generated on.
+ */
+public record BatchArgs(@NonNull ProgramArgStatus status, @NonNull List<Args> specs, int threads) {}
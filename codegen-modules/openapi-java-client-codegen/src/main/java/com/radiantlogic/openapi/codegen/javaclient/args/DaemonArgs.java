@@ -0,0 +1,11 @@
+package com.radiantlogic.openapi.codegen.javaclient.args;
+
+/**
+ * The arguments for running as a daemon that accepts generation jobs over a local HTTP API.
+ *
+ * @param port the port the API listens on, on the loopback address only. 0 picks a free port.
+ * @param threads the number of jobs that are generated at the same time.
+ * @param queueCapacity the number of jobs that can wait for a free thread. Jobs beyond that are
+ *     rejected until the queue drains.
+ */
+public record DaemonArgs(int port, int threads, int queueCapacity) {}
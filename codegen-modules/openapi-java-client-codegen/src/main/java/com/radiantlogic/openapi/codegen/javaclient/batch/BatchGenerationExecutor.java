@@ -0,0 +1,161 @@
+package com.radiantlogic.openapi.codegen.javaclient.batch;
+
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.exceptions.JavaClientBuilderException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates many specifications within a single JVM. Each specification still goes through the
+ * exact same parse and generate chain as a single run, but they share a warmed-up JIT and an
+ * already loaded classpath instead of paying for a fresh JVM every time.
+ *
+ * <p>The worker pool is bounded because the larger specifications can each consume several GB of
+ * heap, so running everything at once is not an option. A failure in one specification does not
+ * prevent the others from being generated, all results are collected and summarized at the end.
+ *
+ * <p>The output directory of a specification comes from the title and version inside it, so two
+ * specifications can resolve to the same one. Only the first to resolve it gets to write there, the
+ * others fail rather than overwrite it or mix their output with it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BatchGenerationExecutor {
+  private final int threads;
+  @NonNull private final SpecGenerator specGenerator;
+
+  /** Generate all the specs, returning the results in the same order the specs were provided. */
+  @NonNull
+  public List<BatchResult> generateAll(@NonNull final List<Args> specs) {
+    if (specs.isEmpty()) {
+      return List.of();
+    }
+
+    failOnDuplicateSpecs(specs);
+    final Map<Path, URL> claimedOutputDirs = new ConcurrentHashMap<>();
+    final int poolSize = Math.max(1, Math.min(threads, specs.size()));
+    log.info("Generating {} specifications using {} worker threads", specs.size(), poolSize);
+
+    final List<BatchResult> results;
+    try (ExecutorService executor =
+        Executors.newFixedThreadPool(poolSize, new BatchThreadFactory())) {
+      final List<Future<BatchResult>> futures =
+          specs.stream()
+              .map(spec -> executor.submit(() -> generateOne(spec, claimedOutputDirs)))
+              .toList();
+      results = futures.stream().map(BatchGenerationExecutor::awaitResult).toList();
+    }
+
+    logSummary(results);
+    return results;
+  }
+
+  /** The same specification twice would always have the same output directory. */
+  private static void failOnDuplicateSpecs(@NonNull final List<Args> specs) {
+    final Set<String> seen = new HashSet<>();
+    specs.stream()
+        .map(spec -> spec.openapiUrl().toString())
+        .filter(openapiUrl -> !seen.add(openapiUrl))
+        .findFirst()
+        .ifPresent(
+            openapiUrl -> {
+              throw new IllegalArgumentException(
+                  "Specification is listed more than once in the batch: %s".formatted(openapiUrl));
+            });
+  }
+
+  @NonNull
+  private BatchResult generateOne(
+      @NonNull final Args spec, @NonNull final Map<Path, URL> claimedOutputDirs) {
+    final long start = System.nanoTime();
+    try {
+      specGenerator.generate(
+          spec, outputDir -> claimOutputDir(claimedOutputDirs, outputDir, spec.openapiUrl()));
+      return BatchResult.success(spec.openapiUrl(), Duration.ofNanos(System.nanoTime() - start));
+    } catch (final Exception ex) {
+      log.error("Code generation failed for specification {}", spec.openapiUrl(), ex);
+      return BatchResult.failure(
+          spec.openapiUrl(), Duration.ofNanos(System.nanoTime() - start), ex);
+    }
+  }
+
+  private static void claimOutputDir(
+      @NonNull final Map<Path, URL> claimedOutputDirs,
+      @NonNull final Path outputDir,
+      @NonNull final URL openapiUrl) {
+    final URL owner =
+        claimedOutputDirs.putIfAbsent(outputDir.toAbsolutePath().normalize(), openapiUrl);
+    if (owner != null) {
+      throw new JavaClientBuilderException(
+          "Specification has the same title and version, and so the same output directory, as %s: %s"
+              .formatted(owner, outputDir));
+    }
+  }
+
+  @NonNull
+  private static BatchResult awaitResult(@NonNull final Future<BatchResult> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for batch generation", ex);
+    } catch (final ExecutionException ex) {
+      // generateOne catches all exceptions, so this is only reachable for errors
+      throw new IllegalStateException("Unexpected failure in batch generation", ex.getCause());
+    }
+  }
+
+  private static void logSummary(@NonNull final List<BatchResult> results) {
+    final long failed = results.stream().filter(r -> r.status() == BatchStatus.FAILED).count();
+    final StringBuilder summary =
+        new StringBuilder(
+            "Batch generation summary: %d succeeded, %d failed"
+                .formatted(results.size() - failed, failed));
+    results.forEach(
+        result -> {
+          summary.append(
+              "%n  %-8s %10.1fs  %s"
+                  .formatted(
+                      result.status(), result.duration().toMillis() / 1000.0, result.openapiUrl()));
+          if (result.errorMessage() != null) {
+            summary.append(" (%s)".formatted(result.errorMessage()));
+          }
+        });
+    log.info(summary.toString());
+  }
+
+  /** The generation of a single specification. */
+  @FunctionalInterface
+  public interface SpecGenerator {
+    /**
+     * @param claimOutputDir must be called with the output directory before anything is written to
+     *     it, and throws if another specification in the batch already has it.
+     */
+    void generate(@NonNull Args args, @NonNull Consumer<Path> claimOutputDir) throws Exception;
+  }
+
+  private static class BatchThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(@NonNull final Runnable runnable) {
+      return new Thread(runnable, "codegen-batch-%d".formatted(count.incrementAndGet()));
+    }
+  }
+}
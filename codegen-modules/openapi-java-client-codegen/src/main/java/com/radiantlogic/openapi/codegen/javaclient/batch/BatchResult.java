@@ -0,0 +1,27 @@
+package com.radiantlogic.openapi.codegen.javaclient.batch;
+
+import java.net.URL;
+import java.time.Duration;
+import lombok.NonNull;
+
+/** The outcome of generating a single specification as part of a batch. */
+public record BatchResult(
+    @NonNull URL openapiUrl,
+    @NonNull BatchStatus status,
+    @NonNull Duration duration,
+    String errorMessage) {
+
+  @NonNull
+  public static BatchResult success(
+      @NonNull final URL openapiUrl, @NonNull final Duration duration) {
+    return new BatchResult(openapiUrl, BatchStatus.SUCCESS, duration, null);
+  }
+
+  @NonNull
+  public static BatchResult failure(
+      @NonNull final URL openapiUrl,
+      @NonNull final Duration duration,
+      @NonNull final Throwable error) {
+    return new BatchResult(openapiUrl, BatchStatus.FAILED, duration, error.getMessage());
+  }
+}
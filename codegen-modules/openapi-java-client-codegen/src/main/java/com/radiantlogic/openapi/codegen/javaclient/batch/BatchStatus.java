@@ -0,0 +1,6 @@
+package com.radiantlogic.openapi.codegen.javaclient.batch;
+
+public enum BatchStatus {
+  SUCCESS,
+  FAILED;
+}
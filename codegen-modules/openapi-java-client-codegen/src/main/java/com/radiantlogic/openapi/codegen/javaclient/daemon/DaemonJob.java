@@ -0,0 +1,91 @@
+package com.radiantlogic.openapi.codegen.javaclient.daemon;
+
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationReport;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A single generation job accepted by the daemon. It is updated by the worker thread that generates
+ * it, and read by the threads that handle the API requests.
+ */
+public class DaemonJob {
+  @Getter private final String id = UUID.randomUUID().toString();
+  @Getter @NonNull private final Args args;
+  private final Instant submittedAt = Instant.now();
+  private final long submittedNanos = System.nanoTime();
+  private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+  private JobStatus status = JobStatus.QUEUED;
+  private Long queuedNanos;
+  private Long durationNanos;
+  private String errorMessage;
+  private GenerationReport report;
+
+  public DaemonJob(@NonNull final Args args) {
+    this.args = args;
+  }
+
+  public synchronized void start() {
+    status = JobStatus.RUNNING;
+    queuedNanos = System.nanoTime() - submittedNanos;
+  }
+
+  public void succeed(@NonNull final Optional<GenerationReport> generationReport) {
+    synchronized (this) {
+      status = generationReport.isPresent() ? JobStatus.SUCCESS : JobStatus.SKIPPED;
+      report = generationReport.orElse(null);
+      finish();
+    }
+    done.complete(null);
+  }
+
+  public void fail(@NonNull final String message) {
+    synchronized (this) {
+      status = JobStatus.FAILED;
+      errorMessage = message;
+      finish();
+    }
+    done.complete(null);
+  }
+
+  private void finish() {
+    if (queuedNanos == null) {
+      // Never started, ie it was still queued when the daemon shut down
+      queuedNanos = System.nanoTime() - submittedNanos;
+    }
+    durationNanos = System.nanoTime() - submittedNanos - queuedNanos;
+  }
+
+  public boolean isDone() {
+    return done.isDone();
+  }
+
+  /** Completes once the job has either succeeded or failed. */
+  @NonNull
+  public CompletableFuture<Void> whenDone() {
+    return done.copy();
+  }
+
+  @NonNull
+  public synchronized JobResponse toResponse() {
+    return new JobResponse(
+        id,
+        args.openapiUrl().toString(),
+        status,
+        submittedAt.toString(),
+        toMillis(queuedNanos),
+        toMillis(durationNanos),
+        errorMessage,
+        report);
+  }
+
+  private static Long toMillis(final Long nanos) {
+    return nanos == null ? null : Duration.ofNanos(nanos).toMillis();
+  }
+}
@@ -0,0 +1,38 @@
+package com.radiantlogic.openapi.codegen.javaclient.daemon;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The jobs of the daemon by id, in the order they were submitted. Finished jobs are dropped once
+ * there are more than the maximum, the oldest first, while queued and running jobs are always kept
+ * so that their status can still be looked up.
+ */
+@RequiredArgsConstructor
+public class DaemonJobs {
+  private final int maxRetainedJobs;
+  private final Map<String, DaemonJob> jobs = new LinkedHashMap<>();
+
+  public synchronized void add(@NonNull final DaemonJob job) {
+    jobs.put(job.getId(), job);
+    final Iterator<DaemonJob> oldestFirst = jobs.values().iterator();
+    while (jobs.size() > maxRetainedJobs && oldestFirst.hasNext()) {
+      if (oldestFirst.next().isDone()) {
+        oldestFirst.remove();
+      }
+    }
+  }
+
+  public synchronized void remove(@NonNull final String id) {
+    jobs.remove(id);
+  }
+
+  @NonNull
+  public synchronized Optional<DaemonJob> get(@NonNull final String id) {
+    return Optional.ofNullable(jobs.get(id));
+  }
+}
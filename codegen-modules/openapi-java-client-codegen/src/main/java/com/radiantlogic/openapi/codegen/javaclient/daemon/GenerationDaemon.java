@@ -0,0 +1,361 @@
+package com.radiantlogic.openapi.codegen.javaclient.daemon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.args.ArgsParser;
+import com.radiantlogic.openapi.codegen.javaclient.args.DaemonArgs;
+import com.radiantlogic.openapi.codegen.javaclient.args.ProgramArgStatus;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationReport;
+import com.radiantlogic.openapi.codegen.javaclient.properties.Props;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Keeps the generator resident and accepts generation jobs over a local HTTP API, so that small
+ * specifications don't pay for JVM startup, class loading and JIT warm-up on every generation.
+ *
+ * <p>Jobs go through the exact same chain as a regular run, on a bounded pool of worker threads
+ * like a batch. Jobs wait in a bounded queue for a free thread, and are rejected once it is full.
+ *
+ * <p>The API only listens on the loopback address. That still lets any web page open in a local
+ * browser send it requests, so every request to /jobs needs the token the daemon writes to its
+ * token file when it starts, as an "Authorization: Bearer" header, and jobs must be submitted as
+ * application/json. Browsers cannot send either to another origin without a CORS preflight, which
+ * the daemon never allows.
+ *
+ * <ul>
+ *   <li>GET /health: the daemon is up, along with the number of queued and running jobs.
+ *   <li>POST /jobs: submit a JobRequest. Responds with the job as soon as it is queued, or once it
+ *       is done if ?wait=true is added.
+ *   <li>GET /jobs/{id}: the status and timing of a job.
+ * </ul>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class GenerationDaemon implements AutoCloseable {
+  private static final String JOBS_PATH = "/jobs";
+  private static final String WAIT_PARAMETER = "wait";
+  private static final int MAX_RETAINED_JOBS = 1000;
+  private static final int STOP_DELAY_SECONDS = 1;
+  private static final int TOKEN_BYTES = 32;
+  private static final String BEARER_PREFIX = "Bearer ";
+  private static final String JSON_CONTENT_TYPE = "application/json";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  @NonNull private final DaemonArgs daemonArgs;
+  @NonNull private final ArgsParser argsParser;
+  @NonNull private final Props props;
+
+  /** Created when the daemon starts, and deleted again when it is closed. */
+  @NonNull private final Path tokenFile;
+
+  @NonNull private final JobGenerator jobGenerator;
+
+  private final DaemonJobs jobs = new DaemonJobs(MAX_RETAINED_JOBS);
+
+  private ThreadPoolExecutor jobExecutor;
+  private ExecutorService requestExecutor;
+  private HttpServer server;
+  private String token;
+
+  public void start() throws IOException {
+    token = createToken();
+    writeToken();
+    jobExecutor =
+        new ThreadPoolExecutor(
+            daemonArgs.threads(),
+            daemonArgs.threads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(daemonArgs.queueCapacity()),
+            new DaemonThreadFactory());
+    // Requests that wait for their job block until it is done, which is cheap on virtual threads
+    requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    server =
+        HttpServer.create(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), daemonArgs.port()), 0);
+    server.setExecutor(requestExecutor);
+    server.createContext("/health", this::handleHealth);
+    server.createContext(JOBS_PATH, this::handleJobs);
+    server.start();
+    log.info(
+        "Codegen daemon listening on http://{}:{} with {} worker threads, the token for its API is in {}",
+        server.getAddress().getHostString(),
+        getPort(),
+        daemonArgs.threads(),
+        tokenFile);
+  }
+
+  /** The port the daemon is listening on, which is only known up front if it isn't 0. */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Stop accepting requests, fail the jobs that are still queued, and wait for the running ones so
+   * that no output is left half written.
+   */
+  @Override
+  public void close() {
+    if (server == null) {
+      return;
+    }
+
+    log.info("Shutting down codegen daemon");
+    server.stop(STOP_DELAY_SECONDS);
+    jobExecutor.shutdown();
+    final List<Runnable> queued = new ArrayList<>();
+    jobExecutor.getQueue().drainTo(queued);
+    queued.forEach(task -> ((JobTask) task).job().fail("The daemon was shut down"));
+    jobExecutor.close();
+    requestExecutor.close();
+    server = null;
+    try {
+      Files.deleteIfExists(tokenFile);
+    } catch (final IOException ex) {
+      log.warn("Unable to delete the daemon token file: {}", tokenFile, ex);
+    }
+  }
+
+  private void handleHealth(@NonNull final HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        sendError(exchange, 405, "Method not allowed");
+        return;
+      }
+      sendJson(
+          exchange,
+          200,
+          new HealthResponse(
+              "UP",
+              props.version(),
+              daemonArgs.threads(),
+              jobExecutor.getQueue().size(),
+              jobExecutor.getActiveCount()));
+    }
+  }
+
+  private void handleJobs(@NonNull final HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (!isAuthorized(exchange)) {
+        sendError(exchange, 401, "A valid daemon token is required");
+        return;
+      }
+      final String path = exchange.getRequestURI().getPath();
+      final String method = exchange.getRequestMethod();
+      if (path.equals(JOBS_PATH) && "POST".equals(method)) {
+        submitJob(exchange);
+      } else if (path.startsWith(JOBS_PATH + "/") && "GET".equals(method)) {
+        getJob(exchange, path.substring(JOBS_PATH.length() + 1));
+      } else {
+        sendError(exchange, 404, "Not found");
+      }
+    }
+  }
+
+  private void submitJob(@NonNull final HttpExchange exchange) throws IOException {
+    if (!isJson(exchange)) {
+      sendError(exchange, 415, "Jobs must be submitted as %s".formatted(JSON_CONTENT_TYPE));
+      return;
+    }
+    final Args args;
+    try (InputStream body = exchange.getRequestBody()) {
+      args = parseJobArgs(objectMapper.readValue(body, JobRequest.class));
+    } catch (final IOException | IllegalArgumentException ex) {
+      sendError(exchange, 400, "Invalid job request: %s".formatted(ex.getMessage()));
+      return;
+    }
+
+    final DaemonJob job = new DaemonJob(args);
+    jobs.add(job);
+    try {
+      jobExecutor.execute(new JobTask(job, jobGenerator));
+    } catch (final RejectedExecutionException ex) {
+      jobs.remove(job.getId());
+      sendError(exchange, 503, "The job queue is full, try again later");
+      return;
+    }
+    log.info("Accepted job {} for specification {}", job.getId(), args.openapiUrl());
+
+    if (isWaitRequested(exchange)) {
+      job.whenDone().join();
+    }
+    sendJson(exchange, job.isDone() ? 200 : 202, job.toResponse());
+  }
+
+  private static boolean isWaitRequested(@NonNull final HttpExchange exchange) {
+    return Optional.ofNullable(exchange.getRequestURI().getRawQuery()).stream()
+        .flatMap(query -> Arrays.stream(query.split("&")))
+        .map(parameter -> parameter.split("=", 2))
+        .filter(parameter -> WAIT_PARAMETER.equals(decode(parameter[0])))
+        .anyMatch(parameter -> parameter.length == 2 && "true".equals(decode(parameter[1])));
+  }
+
+  @NonNull
+  private static String decode(@NonNull final String value) {
+    return URLDecoder.decode(value, StandardCharsets.UTF_8);
+  }
+
+  /** The job is parsed exactly like the command line of a regular run. */
+  @NonNull
+  private Args parseJobArgs(@NonNull final JobRequest request) {
+    if (StringUtils.isBlank(request.path())) {
+      throw new IllegalArgumentException("A path is required");
+    }
+
+    final List<String> args = new ArrayList<>();
+    args.add("-p=%s".formatted(request.path()));
+    if (StringUtils.isNotBlank(request.groupId())) {
+      args.add("-g=%s".formatted(request.groupId()));
+    }
+    Optional.ofNullable(request.options()).ifPresent(args::addAll);
+    final Args parsedArgs = argsParser.parse(args.toArray(String[]::new));
+    if (parsedArgs.status() != ProgramArgStatus.PROCEED) {
+      throw new IllegalArgumentException("Help is not available for a job");
+    }
+    if (parsedArgs.memoryReport() && daemonArgs.threads() > 1) {
+      throw new IllegalArgumentException(
+          "The memory report measures the heap of the whole JVM, so it requires a daemon with --batch-threads=1");
+    }
+    return parsedArgs;
+  }
+
+  private void getJob(@NonNull final HttpExchange exchange, @NonNull final String id)
+      throws IOException {
+    final Optional<DaemonJob> job = jobs.get(id);
+    if (job.isEmpty()) {
+      sendError(exchange, 404, "No job with id: %s".formatted(id));
+      return;
+    }
+    sendJson(exchange, 200, job.get().toResponse());
+  }
+
+  private boolean isAuthorized(@NonNull final HttpExchange exchange) {
+    final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+    if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+      return false;
+    }
+    // Compared in constant time, so the token cannot be guessed from how long a request takes
+    return MessageDigest.isEqual(
+        token.getBytes(StandardCharsets.UTF_8),
+        authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static boolean isJson(@NonNull final HttpExchange exchange) {
+    return Optional.ofNullable(exchange.getRequestHeaders().getFirst("Content-Type"))
+        .map(contentType -> StringUtils.substringBefore(contentType, ";").strip())
+        .filter(JSON_CONTENT_TYPE::equalsIgnoreCase)
+        .isPresent();
+  }
+
+  @NonNull
+  private static String createToken() {
+    final byte[] bytes = new byte[TOKEN_BYTES];
+    new SecureRandom().nextBytes(bytes);
+    return HexFormat.of().formatHex(bytes);
+  }
+
+  /** The token file is only readable by the user running the daemon, where that is supported. */
+  private void writeToken() throws IOException {
+    Files.createDirectories(tokenFile.toAbsolutePath().getParent());
+    Files.deleteIfExists(tokenFile);
+    if (tokenFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createFile(
+          tokenFile,
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    }
+    Files.writeString(tokenFile, token);
+  }
+
+  private void sendError(
+      @NonNull final HttpExchange exchange, final int status, @NonNull final String message)
+      throws IOException {
+    sendJson(exchange, status, new ErrorResponse(message));
+  }
+
+  private void sendJson(
+      @NonNull final HttpExchange exchange, final int status, @NonNull final Object body)
+      throws IOException {
+    final byte[] bytes = objectMapper.writeValueAsBytes(body);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(bytes);
+    }
+  }
+
+  /** The generation of a single job. */
+  @FunctionalInterface
+  public interface JobGenerator {
+    /**
+     * @return the report of the generation, or empty if it was skipped because the output was
+     *     already up to date.
+     */
+    @NonNull
+    Optional<GenerationReport> generate(@NonNull Args args) throws Exception;
+  }
+
+  /** Runs a job, it's kept as its own type so that queued jobs can be failed on shutdown. */
+  private record JobTask(@NonNull DaemonJob job, @NonNull JobGenerator jobGenerator)
+      implements Runnable {
+    @Override
+    public void run() {
+      job.start();
+      log.info("Starting job {}", job.getId());
+      try {
+        job.succeed(jobGenerator.generate(job.getArgs()));
+        log.info("Finished job {}", job.getId());
+      } catch (final Exception ex) {
+        log.error(
+            "Job {} failed for specification {}", job.getId(), job.getArgs().openapiUrl(), ex);
+        job.fail(String.valueOf(ex.getMessage()));
+      } catch (final Error error) {
+        job.fail(String.valueOf(error.getMessage()));
+        throw error;
+      }
+    }
+  }
+
+  private record HealthResponse(
+      @NonNull String status, @NonNull String version, int threads, int queued, int running) {}
+
+  private record ErrorResponse(@NonNull String error) {}
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(@NonNull final Runnable runnable) {
+      return new Thread(runnable, "codegen-daemon-%d".formatted(count.incrementAndGet()));
+    }
+  }
+}
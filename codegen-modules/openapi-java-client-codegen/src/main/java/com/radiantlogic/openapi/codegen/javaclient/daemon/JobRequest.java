@@ -0,0 +1,13 @@
+package com.radiantlogic.openapi.codegen.javaclient.daemon;
+
+import java.util.List;
+
+/**
+ * A request to generate a single specification.
+ *
+ * @param path the path or URL of the specification, the same as the --path option. Relative file
+ *     paths are resolved against the working directory of the daemon.
+ * @param groupId the groupId of the generated artifact, or null for the default.
+ * @param options any other command line options for the generation, ie "--force".
+ */
+public record JobRequest(String path, String groupId, List<String> options) {}
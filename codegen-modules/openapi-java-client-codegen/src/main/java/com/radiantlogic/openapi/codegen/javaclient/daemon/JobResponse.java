@@ -0,0 +1,28 @@
+package com.radiantlogic.openapi.codegen.javaclient.daemon;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationReport;
+import lombok.NonNull;
+
+/**
+ * The state of a job, as returned by the daemon API.
+ *
+ * @param id the id to get the job by.
+ * @param openapiUrl the specification being generated.
+ * @param status the status of the job.
+ * @param submittedAt when the job was submitted, as an ISO-8601 instant.
+ * @param queuedMillis how long the job waited for a worker thread, null until it starts.
+ * @param durationMillis how long the generation took, null until it finishes.
+ * @param errorMessage why the job failed, null unless it did.
+ * @param report the generation report, null unless the job succeeded.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobResponse(
+    @NonNull String id,
+    @NonNull String openapiUrl,
+    @NonNull JobStatus status,
+    @NonNull String submittedAt,
+    Long queuedMillis,
+    Long durationMillis,
+    String errorMessage,
+    GenerationReport report) {}
@@ -0,0 +1,10 @@
+package com.radiantlogic.openapi.codegen.javaclient.daemon;
+
+public enum JobStatus {
+  QUEUED,
+  RUNNING,
+  /** The output of an earlier generation with identical inputs was still present. */
+  SKIPPED,
+  SUCCESS,
+  FAILED;
+}
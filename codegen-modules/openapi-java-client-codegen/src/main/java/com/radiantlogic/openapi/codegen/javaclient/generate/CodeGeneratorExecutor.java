@@ -1,11 +1,20 @@
 package com.radiantlogic.openapi.codegen.javaclient.generate;
 
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.ExtendedCodegenConfig;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.IncrementalOutputSink;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OutputMode;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OutputSink;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OverwriteOutputSink;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.ParallelTemplateProcessor;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.SinkTemplateProcessor;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.ZipOutputSink;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
 import io.swagger.v3.oas.models.OpenAPI;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,34 +22,96 @@ import org.apache.commons.io.FileUtils;
 import org.openapitools.codegen.ClientOptInput;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.api.TemplateProcessor;
 
 /** Setup the output directory and generate the call. */
 @Slf4j
 @RequiredArgsConstructor
 public class CodeGeneratorExecutor {
+  private static final String PREPARE_OUTPUT_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "prepareOutput");
+  private static final String FINISH_OUTPUT_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "finishOutput");
+
   @NonNull private final ExtendedCodegenConfig codegen;
+  @NonNull private final OutputMode outputMode;
+  private final int renderThreads;
+
+  public CodeGeneratorExecutor(@NonNull final ExtendedCodegenConfig codegen) {
+    this(codegen, OutputMode.OVERWRITE, 1);
+  }
 
   public void generate(final OpenAPI openAPI) {
-    log.info("Generating code");
-    prepareOutputDirectory(codegen.getOutputDir(), codegen.getIgnorePatterns());
+    log.info(
+        "Generating code with output mode {} and {} render threads",
+        outputMode.getArgValue(),
+        renderThreads);
+    final GenerationTimer timer = codegen.getGenerationTimer();
+    timer.run(
+        GenerationTimer.GENERATE_PHASE,
+        () -> {
+          final Path outputDir = Path.of(codegen.getOutputDir());
+          timer.run(
+              PREPARE_OUTPUT_PHASE,
+              () -> prepareOutputDirectory(outputDir, codegen.getIgnorePatterns()));
 
-    final DefaultGenerator generator = new DefaultGenerator();
-    generator.setGeneratorPropertyDefault(CodegenConstants.SKIP_FORM_MODEL, "false");
+          final OutputSink outputSink = createOutputSink(outputDir);
+          try (ForkJoinPool renderPool = createRenderPool()) {
+            final DefaultGenerator generator =
+                new ExtendedDefaultGenerator(
+                    templateProcessor ->
+                        decorateTemplateProcessor(templateProcessor, outputSink, renderPool));
+            generator.setGeneratorPropertyDefault(CodegenConstants.SKIP_FORM_MODEL, "false");
 
-    generator.opts(new ClientOptInput().config(codegen).openAPI(openAPI)).generate();
+            generator.opts(new ClientOptInput().config(codegen).openAPI(openAPI)).generate();
+          }
+          timer.snapshotMemory(SinkTemplateProcessor.RENDER_PHASE);
+          timer.run(FINISH_OUTPUT_PHASE, () -> finishOutput(outputSink));
+          timer.snapshotMemory(SinkTemplateProcessor.WRITE_PHASE);
+        });
     log.info("Code generation complete");
   }
 
+  @NonNull
+  private OutputSink createOutputSink(@NonNull final Path outputDir) {
+    return switch (outputMode) {
+      case OVERWRITE -> new OverwriteOutputSink();
+      case INCREMENTAL -> new IncrementalOutputSink(outputDir);
+      case ZIP -> new ZipOutputSink(outputDir);
+    };
+  }
+
+  private ForkJoinPool createRenderPool() {
+    return renderThreads > 1 ? new ForkJoinPool(renderThreads) : null;
+  }
+
+  @NonNull
+  private TemplateProcessor decorateTemplateProcessor(
+      @NonNull final TemplateProcessor templateProcessor,
+      @NonNull final OutputSink outputSink,
+      final ForkJoinPool renderPool) {
+    final TemplateProcessor sinkTemplateProcessor =
+        new SinkTemplateProcessor(
+            (TemplateManager) templateProcessor,
+            codegen.getTemplatingEngine(),
+            outputSink,
+            codegen.getGenerationTimer());
+    if (renderPool == null) {
+      return sinkTemplateProcessor;
+    }
+    return new ParallelTemplateProcessor(sinkTemplateProcessor, renderPool);
+  }
+
   private void prepareOutputDirectory(
-      @NonNull final String outputDir, @NonNull final Set<String> ignorePatterns) {
+      @NonNull final Path outputDir, @NonNull final Set<String> ignorePatterns) {
     try {
       log.debug("Preparing output directory: {}", outputDir);
-      final Path path = Path.of(outputDir);
-      if (Files.exists(path)) {
-        FileUtils.deleteDirectory(path.toFile());
+      if (outputMode != OutputMode.INCREMENTAL && Files.exists(outputDir)) {
+        FileUtils.deleteDirectory(outputDir.toFile());
       }
-      Files.createDirectories(path);
-      writeIgnorePatterns(path, ignorePatterns);
+      Files.createDirectories(outputDir);
+      writeIgnorePatterns(outputDir, ignorePatterns);
     } catch (final IOException ex) {
       throw new IllegalStateException(
           "Unable to prepare output directory: %s".formatted(outputDir), ex);
@@ -51,9 +122,18 @@ public class CodeGeneratorExecutor {
       @NonNull final Path outputDir, @NonNull final Set<String> ignorePatterns) {
     final Path ignoreFile = outputDir.resolve(".openapi-generator-ignore");
     try {
-      Files.write(ignoreFile, ignorePatterns);
+      // Sorted because the iteration order of the set is not stable between runs
+      Files.write(ignoreFile, ignorePatterns.stream().sorted().toList());
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
+
+  private static void finishOutput(@NonNull final OutputSink outputSink) {
+    try {
+      outputSink.finish();
+    } catch (final IOException ex) {
+      throw new IllegalStateException("Unable to finish writing output", ex);
+    }
+  }
 }
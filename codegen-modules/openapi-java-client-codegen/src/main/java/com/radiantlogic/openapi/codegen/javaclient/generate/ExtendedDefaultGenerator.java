@@ -0,0 +1,114 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.ExtendedCodegenConfig;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.GenerationPhase;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.GenerationPhaseListener;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.Generator;
+import org.openapitools.codegen.api.TemplateProcessor;
+
+/**
+ * The DefaultGenerator creates its own TemplateProcessor internally with no way to customize it.
+ * This exposes a hook to decorate that processor, which is how all file output gets customized.
+ *
+ * <p>The data each file is rendered with can also be customized by an ExtendedCodegenConfig.
+ *
+ * <p>If the decorated processor is a GenerationPhaseListener it is also told when the generator
+ * moves between phases. The DefaultGenerator has no hooks for this, so the first public method
+ * called by each phase is used instead.
+ */
+@RequiredArgsConstructor
+public class ExtendedDefaultGenerator extends DefaultGenerator {
+  private static final String PROCESS_PATHS_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "processPaths");
+  private static final String PROCESS_WEBHOOKS_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "processWebhooks");
+
+  @NonNull private final UnaryOperator<TemplateProcessor> templateProcessorDecorator;
+
+  @Override
+  public Generator opts(@NonNull final ClientOptInput opts) {
+    super.opts(opts);
+    this.templateProcessor = templateProcessorDecorator.apply(this.templateProcessor);
+    return this;
+  }
+
+  @Override
+  public List<File> generate() {
+    final List<File> files;
+    try {
+      files = super.generate();
+    } catch (final RuntimeException ex) {
+      try {
+        notifyPhase(GenerationPhase.COMPLETE);
+      } catch (final RuntimeException ex2) {
+        ex.addSuppressed(ex2);
+      }
+      throw ex;
+    }
+    notifyPhase(GenerationPhase.COMPLETE);
+    return files;
+  }
+
+  @Override
+  protected File processTemplateToFile(
+      final Map<String, Object> templateData,
+      final String templateName,
+      final String outputFilename,
+      final boolean shouldGenerate,
+      final String skippedByOption)
+      throws IOException {
+    final Map<String, Object> fileTemplateData =
+        config instanceof ExtendedCodegenConfig extendedConfig
+            ? extendedConfig.getFileTemplateData(templateData, templateName, outputFilename)
+            : templateData;
+    return super.processTemplateToFile(
+        fileTemplateData, templateName, outputFilename, shouldGenerate, skippedByOption);
+  }
+
+  @Override
+  public Map<String, List<CodegenOperation>> processPaths(final Paths paths) {
+    notifyPhase(GenerationPhase.APIS);
+    return timeOperations(PROCESS_PATHS_PHASE, () -> super.processPaths(paths));
+  }
+
+  @Override
+  public Map<String, List<CodegenOperation>> processWebhooks(final Map<String, PathItem> webhooks) {
+    notifyPhase(GenerationPhase.WEBHOOKS);
+    return timeOperations(PROCESS_WEBHOOKS_PHASE, () -> super.processWebhooks(webhooks));
+  }
+
+  private Map<String, List<CodegenOperation>> timeOperations(
+      @NonNull final String phase,
+      @NonNull final Supplier<Map<String, List<CodegenOperation>>> processOperations) {
+    if (!(config instanceof ExtendedCodegenConfig extendedConfig)) {
+      return processOperations.get();
+    }
+
+    final GenerationTimer timer = extendedConfig.getGenerationTimer();
+    final Map<String, List<CodegenOperation>> operations =
+        timer.time(phase, processOperations::get);
+    timer.count(phase, "operations", operations.values().stream().mapToLong(List::size).sum());
+    timer.snapshotMemory(phase);
+    return operations;
+  }
+
+  private void notifyPhase(@NonNull final GenerationPhase phase) {
+    if (templateProcessor instanceof GenerationPhaseListener listener) {
+      listener.onPhase(phase);
+    }
+  }
+}
@@ -2,15 +2,19 @@ package com.radiantlogic.openapi.codegen.javaclient.generate;
 
 import com.radiantlogic.openapi.codegen.javaclient.args.Args;
 import com.radiantlogic.openapi.codegen.javaclient.exceptions.OpenapiParseException;
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import com.radiantlogic.openapi.codegen.javaclient.io.SpecDownloader;
 import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import java.io.IOException;
-import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,29 +26,78 @@ public class OpenapiParser {
   @NonNull private final Args args;
   @NonNull private final OpenAPIParser parser;
   @NonNull private final TempFileCreator tempFileCreator;
+  @NonNull private final SpecDownloader specDownloader;
 
   public OpenapiParser(@NonNull final Args args) {
-    this.args = args;
-    this.parser = new OpenAPIParser();
-    this.tempFileCreator = () -> Files.createTempFile("openapi", ".yaml");
+    this(args, new OpenAPIParser(), () -> Files.createTempFile("openapi", ".yaml"));
+  }
+
+  public OpenapiParser(
+      @NonNull final Args args,
+      @NonNull final OpenAPIParser parser,
+      @NonNull final TempFileCreator tempFileCreator) {
+    this(
+        args,
+        parser,
+        tempFileCreator,
+        new SpecDownloader(args.specCache() ? CodegenPaths.SPEC_CACHE_DIR : null));
   }
 
   @NonNull
   public OpenAPI parse() {
+    return parse(fetch());
+  }
+
+  /**
+   * Read the raw bytes of the OpenAPI specification. These are kept separate from parsing so that
+   * they can be fingerprinted before doing any of the expensive work.
+   */
+  @NonNull
+  public byte[] fetch() {
+    log.debug("Reading OpenAPI specification: {}", args.openapiUrl());
+    final long start = System.nanoTime();
+    try {
+      final byte[] specBytes;
+      if (isLocalFile()) {
+        specBytes = Files.readAllBytes(Path.of(args.openapiUrl().toURI()));
+      } else {
+        specBytes = specDownloader.download(args.openapiUrl());
+      }
+      log.debug("Read {} bytes in {}ms", specBytes.length, toMillis(System.nanoTime() - start));
+      return specBytes;
+    } catch (final IOException | URISyntaxException ex) {
+      throw new OpenapiParseException(
+          "Failed to read OpenAPI: %s".formatted(args.openapiUrl()), ex);
+    }
+  }
+
+  /**
+   * Local files have already been read into memory by this point, so the content is handed straight
+   * to the parser. Remote specs are still copied to a temp file first, because the parser resolves
+   * any relative references against the location it read the spec from.
+   */
+  @NonNull
+  public OpenAPI parse(@NonNull final byte[] specBytes) {
     log.info("Parsing OpenAPI specification");
     final ParseOptions parseOptions = new ParseOptions();
     parseOptions.setResolve(true);
     parseOptions.setResolveFully(false);
 
     try {
-      final Path tempFile = tempFileCreator.create();
-      log.debug("Copying or downloading OpenAPI specification to temp file: {}", tempFile);
-      try (InputStream stream = args.openapiUrl().openStream()) {
-        Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      final SwaggerParseResult result;
+      if (isLocalFile()) {
+        log.info(
+            "Parsing local OpenAPI specification in place, skipped copying {} bytes to a temp file",
+            specBytes.length);
+        result =
+            parser.readContents(
+                new String(specBytes, StandardCharsets.UTF_8), List.of(), parseOptions);
+      } else {
+        final Path tempFile = copyToTempFile(specBytes);
+        result = parser.readLocation(tempFile.toString(), List.of(), parseOptions);
       }
 
-      final OpenAPI openAPI =
-          parser.readLocation(tempFile.toString(), List.of(), parseOptions).getOpenAPI();
+      final OpenAPI openAPI = result.getOpenAPI();
       if (openAPI == null) {
         throw new OpenapiParseException("OpenAPI parse result is null");
       }
@@ -55,6 +108,27 @@ public class OpenapiParser {
     }
   }
 
+  @NonNull
+  private Path copyToTempFile(@NonNull final byte[] specBytes) throws IOException {
+    final long start = System.nanoTime();
+    final Path tempFile = tempFileCreator.create();
+    Files.write(tempFile, specBytes);
+    log.info(
+        "Copied {} bytes of remote OpenAPI specification to temp file {} in {}ms",
+        specBytes.length,
+        tempFile,
+        toMillis(System.nanoTime() - start));
+    return tempFile;
+  }
+
+  private boolean isLocalFile() {
+    return "file".equalsIgnoreCase(args.openapiUrl().getProtocol());
+  }
+
+  private static long toMillis(final long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
   @FunctionalInterface
   public interface TempFileCreator {
     Path create() throws IOException;
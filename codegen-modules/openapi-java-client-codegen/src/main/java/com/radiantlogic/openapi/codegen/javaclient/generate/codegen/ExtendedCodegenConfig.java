@@ -1,6 +1,8 @@
 package com.radiantlogic.openapi.codegen.javaclient.generate.codegen;
 
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
 import io.swagger.v3.oas.models.OpenAPI;
+import java.util.Map;
 import java.util.Set;
 import lombok.NonNull;
 import org.openapitools.codegen.CodegenConfig;
@@ -15,4 +17,20 @@ public interface ExtendedCodegenConfig extends CodegenConfig {
    * Initialize the codegen with all default configurations, providing the OpenAPI spec to do it.
    */
   void init(@NonNull final OpenAPI openAPI);
+
+  /** Get the timer that records the performance of each phase of the generation. */
+  @NonNull
+  GenerationTimer getGenerationTimer();
+
+  /**
+   * Get the data to render a single file with. The DefaultGenerator renders every supporting file
+   * with the same data, this allows the data to differ for a specific output file.
+   */
+  @NonNull
+  default Map<String, Object> getFileTemplateData(
+      @NonNull final Map<String, Object> templateData,
+      @NonNull final String templateName,
+      @NonNull final String outputFilename) {
+    return templateData;
+  }
 }
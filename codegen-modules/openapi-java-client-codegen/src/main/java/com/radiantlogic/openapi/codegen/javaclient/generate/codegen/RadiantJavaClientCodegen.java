@@ -1,34 +1,53 @@
 package com.radiantlogic.openapi.codegen.javaclient.generate.codegen;
 
 import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass.CodegenPass;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass.CodegenPassRunner;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass.CodegenPipeline;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass.ModelData;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass.ModelPass;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass.ModelPassScheduler;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenDiscriminatorSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenDuplicateSchemaSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenEnumValueOfSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenFilenameSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenInheritedEnumSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenLiteralPropertyNameSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenMetadataSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenMissingModelInheritanceSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenModelIndex;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenNewEnumProcessorSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenNonEnglishNameSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenRawTypeUsageSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenRemoveInheritanceEnumsSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenShardSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenSpecSubsetSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenUnsupportedUnionTypeSupport;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenUnusedSchemaSupport;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.ExtractedEnumModels;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.ShardLayout;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenOperationUtils;
 import com.radiantlogic.openapi.codegen.javaclient.generate.models.ExtendedCodegenMapper;
 import com.radiantlogic.openapi.codegen.javaclient.generate.models.ExtendedCodegenModel;
 import com.radiantlogic.openapi.codegen.javaclient.generate.models.ExtendedCodegenProperty;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.CachingMustacheEngineAdapter;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.CompiledTemplateCache;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.mapstruct.factory.Mappers;
 import org.openapitools.codegen.CodegenModel;
 import org.openapitools.codegen.CodegenOperation;
@@ -43,8 +62,27 @@ import org.openapitools.codegen.model.OperationsMap;
  * A customized version of the default JavaClientCodegen designed to produce the exact artifact
  * style we want.
  */
-@RequiredArgsConstructor
 public class RadiantJavaClientCodegen extends JavaClientCodegen implements ExtendedCodegenConfig {
+  private static final String POM_FILE = "pom.xml";
+  private static final String REACTOR_POM_TEMPLATE = "reactorPom.mustache";
+  private static final String SHARD_POM_TEMPLATE = "shardPom.mustache";
+  private static final String ARTIFACT_ID_KEY = "artifactId";
+  private static final String COMMON_ARTIFACT_ID_KEY = "commonArtifactId";
+  private static final String SHARD_MODULES_KEY = "shardModules";
+  private static final String PREPROCESS_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "preprocessOpenAPI");
+  private static final String FROM_MODEL_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "fromModel");
+  private static final String UNSUPPORTED_UNION_TYPE_PHASE =
+      GenerationTimer.phase(
+          FROM_MODEL_PHASE, "CodegenUnsupportedUnionTypeSupport.fixUnsupportedUnionTypes");
+  private static final String FROM_PROPERTY_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "fromProperty");
+  private static final String POST_PROCESS_MODELS_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "postProcessAllModels");
+  private static final String POST_PROCESS_OPERATIONS_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "postProcessOperationsWithModels");
+
   private final ExtendedCodegenMapper codegenMapper =
       Mappers.getMapper(ExtendedCodegenMapper.class);
 
@@ -70,8 +108,175 @@ public class RadiantJavaClientCodegen extends JavaClientCodegen implements Exten
       new CodegenNewEnumProcessorSupport();
   private final CodegenRawTypeUsageSupport codegenRawTypeUsageSupport =
       new CodegenRawTypeUsageSupport();
+  private final CodegenSpecSubsetSupport codegenSpecSubsetSupport = new CodegenSpecSubsetSupport();
+  private final CodegenUnusedSchemaSupport codegenUnusedSchemaSupport =
+      new CodegenUnusedSchemaSupport();
+  private final CodegenDuplicateSchemaSupport codegenDuplicateSchemaSupport =
+      new CodegenDuplicateSchemaSupport();
+
+  private final CodegenShardSupport codegenShardSupport = new CodegenShardSupport();
+
+  private final CodegenPipeline<OpenAPI> preprocessPipeline =
+      new CodegenPipeline<>(
+          PREPROCESS_PHASE,
+          false,
+          List.of(
+              new CodegenPass<>(
+                  "CodegenNonEnglishNameSupport.fixOperationIds",
+                  spec -> codegenNonEnglishNameSupport.fixOperationIds(spec))));
+  private final CodegenPipeline<FromModelContext> fromModelPipeline =
+      new CodegenPipeline<>(
+          FROM_MODEL_PHASE,
+          false,
+          List.of(
+              new CodegenPass<>(
+                  "CodegenDiscriminatorSupport.fixDiscriminatorType",
+                  context -> codegenDiscriminatorSupport.fixDiscriminatorType(context.model())),
+              /*
+               * I've tried making this work in the fromProperty method. In theory that's the better place for it,
+               * applying the change to one property at a time. However, I get errors there I don't get when I run the code here.
+               * At the time of writing I've spent an extensive amount of time on this project and don't have the time to further investigate the discrepancy.
+               */
+              new CodegenPass<>(
+                  "CodegenUnsupportedUnionTypeSupport.fixUnsupportedUnionTypes",
+                  context ->
+                      codegenUnsupportedUnionTypeSupport.fixUnsupportedUnionTypes(
+                          context.model(), context.schema(), context.spec()))));
+  private final CodegenPipeline<ExtendedCodegenProperty> fromPropertyPipeline =
+      new CodegenPipeline<>(
+          FROM_PROPERTY_PHASE,
+          false,
+          List.of(
+              new CodegenPass<>(
+                  "CodegenLiteralPropertyNameSupport.fixBadNames",
+                  prop -> codegenLiteralPropertyNameSupport.fixBadNames(prop))));
+  private final CodegenPipeline<EnumVarsContext> enumVarsPipeline =
+      new CodegenPipeline<>(
+          FROM_PROPERTY_PHASE,
+          false,
+          List.of(
+              new CodegenPass<>(
+                  "CodegenEnumValueOfSupport.fixValueOfInEnumVars",
+                  // The enum vars are updated in place
+                  context ->
+                      codegenEnumValueOfSupport.fixValueOfInEnumVars(
+                          context.enumVars(), context.dataType()))));
+  private final CodegenPipeline<Map<String, ModelsMap>> modelMapsPipeline =
+      new CodegenPipeline<>(
+          POST_PROCESS_MODELS_PHASE,
+          true,
+          List.of(
+              new CodegenPass<>(
+                  "CodegenFilenameSupport.fixProblematicKeysForFilenames",
+                  allModelMaps ->
+                      codegenFilenameSupport.fixProblematicKeysForFilenames(
+                          allModelMaps, this::modelFilename)),
+              new CodegenPass<>(
+                  "CodegenMissingModelInheritanceSupport.fixInheritanceAllModels",
+                  allModelMaps ->
+                      codegenMissingModelInheritanceSupport.fixInheritanceAllModels(
+                          getAllModels(allModelMaps)))));
+
+  /**
+   * These all share the model index, and are scheduled by the model data they read and write, see
+   * ModelPassScheduler.
+   */
+  private final List<ModelPass<ModelIndexContext>> modelIndexPasses =
+      List.of(
+          new ModelPass<>(
+              "CodegenInheritedEnumSupport.fixAndExtractInheritedEnums",
+              Set.of(ModelData.INHERITANCE, ModelData.DISCRIMINATORS, ModelData.PROPERTIES),
+              Set.of(ModelData.PROPERTIES, ModelData.EXTRACTED_ENUMS),
+              context ->
+                  context
+                      .extractedEnumModels()
+                      .set(
+                          codegenInheritedEnumSupport.fixAndExtractInheritedEnums(
+                              context.index()))),
+          new ModelPass<>(
+              "CodegenNewEnumProcessorSupport.processNewEnumsAndMergeToModelMaps",
+              Set.of(ModelData.EXTRACTED_ENUMS),
+              Set.of(ModelData.MODEL_MAPS, ModelData.ENUM_MODELS),
+              context ->
+                  codegenNewEnumProcessorSupport.processNewEnumsAndMergeToModelMaps(
+                      context.extractedEnumModels().get().allEnums(),
+                      context.allModelMaps(),
+                      modelPackage(),
+                      importMapping())),
+          new ModelPass<>(
+              "CodegenDiscriminatorSupport.fixAllDiscriminatorMappings",
+              Set.of(ModelData.INHERITANCE, ModelData.DISCRIMINATORS),
+              Set.of(ModelData.VENDOR_EXTENSIONS),
+              context -> codegenDiscriminatorSupport.fixAllDiscriminatorMappings(context.index())),
+          new ModelPass<>(
+              "CodegenRemoveInheritanceEnumsSupport.removeInheritedEnums",
+              Set.of(ModelData.INHERITANCE, ModelData.PROPERTIES),
+              Set.of(ModelData.PROPERTIES),
+              context ->
+                  codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(context.index())),
+          new ModelPass<>(
+              "CodegenRawTypeUsageSupport.applyRawTypesToModelProperties",
+              Set.of(ModelData.UNION_TYPES, ModelData.PROPERTIES),
+              Set.of(ModelData.PROPERTIES),
+              context ->
+                  codegenRawTypeUsageSupport.applyRawTypesToModelProperties(context.index())));
+
+  private final CodegenPipeline<OperationsContext> operationsPipeline =
+      new CodegenPipeline<>(
+          POST_PROCESS_OPERATIONS_PHASE,
+          false,
+          List.of(
+              new CodegenPass<>(
+                  "CodegenRawTypeUsageSupport.applyRawTypesToOperationTypes",
+                  context ->
+                      codegenRawTypeUsageSupport.applyRawTypesToOperationTypes(
+                          context.operations(), context.allModelsClassMap()))));
 
   @NonNull private final Args args;
+  @Getter @NonNull private final GenerationTimer generationTimer;
+  @NonNull private final CodegenPassRunner passRunner;
+
+  /** Extra template data for specific output files, keyed by their absolute path. */
+  private final Map<String, Map<String, Object>> fileTemplateData = new HashMap<>();
+
+  private Map<String, Set<String>> schemasByTag = Map.of();
+
+  /** Only set when sharding, once all models have been processed. */
+  private ShardLayout shardLayout;
+
+  public RadiantJavaClientCodegen(
+      @NonNull final Args args, @NonNull final GenerationTimer generationTimer) {
+    this(args, generationTimer, new CompiledTemplateCache());
+  }
+
+  /**
+   * @param templateCache the compiled templates, which can be shared with other generations.
+   */
+  public RadiantJavaClientCodegen(
+      @NonNull final Args args,
+      @NonNull final GenerationTimer generationTimer,
+      @NonNull final CompiledTemplateCache templateCache) {
+    this.args = args;
+    this.generationTimer = generationTimer;
+    this.passRunner = new CodegenPassRunner(generationTimer, args.disabledPasses());
+    passRunner.validate(getPassNames());
+    setTemplatingEngine(new CachingMustacheEngineAdapter(templateCache, this, generationTimer));
+  }
+
+  /** The names of every pass that can be disabled, in the order they first run. */
+  @NonNull
+  public List<String> getPassNames() {
+    return Stream.of(
+            preprocessPipeline.getPassNames(),
+            fromModelPipeline.getPassNames(),
+            fromPropertyPipeline.getPassNames(),
+            enumVarsPipeline.getPassNames(),
+            modelMapsPipeline.getPassNames(),
+            modelIndexPasses.stream().map(ModelPass::name).toList(),
+            operationsPipeline.getPassNames())
+        .flatMap(List::stream)
+        .toList();
+  }
 
   @Override
   @NonNull
@@ -91,6 +296,17 @@ public class RadiantJavaClientCodegen extends JavaClientCodegen implements Exten
   }
 
   public void init(@NonNull final OpenAPI openAPI) {
+    // Done before anything else touches the spec, so the generator only ever works on what is left
+    generationTimer.run(
+        GenerationTimer.phase(GenerationTimer.INIT_PHASE, "CodegenSpecSubsetSupport.subsetSpec"),
+        () ->
+            codegenSpecSubsetSupport.subsetSpec(openAPI, args.includeTags(), args.includePaths()));
+    if (args.pruneUnusedSchemas()) {
+      generationTimer.run(
+          GenerationTimer.phase(
+              GenerationTimer.INIT_PHASE, "CodegenUnusedSchemaSupport.removeUnusedSchemas"),
+          () -> codegenUnusedSchemaSupport.removeUnusedSchemas(openAPI));
+    }
     final var metadata = codegenMetadataSupport.getMetadata(openAPI, args);
 
     setOutputDir(metadata.outputDir().toString());
@@ -108,6 +324,8 @@ public class RadiantJavaClientCodegen extends JavaClientCodegen implements Exten
     setLegacyDiscriminatorBehavior(true);
     setUseEnumCaseInsensitive(false);
     setOpenApiNullable(false);
+    // The timestamp would make every file different on every run, which defeats incremental output
+    setHideGenerationTimestamp(true);
     setLicenseName("The Apache Software License, Version 2.0");
     setLicenseUrl("http://www.apache.org/licenses/LICENSE-2.0.txt");
 
@@ -129,9 +347,9 @@ public class RadiantJavaClientCodegen extends JavaClientCodegen implements Exten
   protected List<Map<String, Object>> buildEnumVars(
       @NonNull final List<Object> values, @NonNull final String dataType) {
     final var enumVars = super.buildEnumVars(values, dataType);
-    final var updatedEnumVars = codegenEnumValueOfSupport.fixValueOfInEnumVars(enumVars, dataType);
+    passRunner.run(enumVarsPipeline, new EnumVarsContext(enumVars, dataType));
     // Must be mutable for downstream
-    return new ArrayList<>(updatedEnumVars);
+    return new ArrayList<>(enumVars);
   }
 
   @Override
@@ -140,17 +358,41 @@ public class RadiantJavaClientCodegen extends JavaClientCodegen implements Exten
       @NonNull final Schema propertySchema,
       final boolean required,
       final boolean schemaIsFromAdditionalProperties) {
-    final CodegenProperty prop =
-        super.fromProperty(name, propertySchema, required, schemaIsFromAdditionalProperties);
-    final ExtendedCodegenProperty extendedProp = codegenMapper.extendProperty(prop);
-    codegenLiteralPropertyNameSupport.fixBadNames(extendedProp);
-    return extendedProp;
+    return generationTimer.time(
+        FROM_PROPERTY_PHASE,
+        () -> {
+          final CodegenProperty prop =
+              super.fromProperty(name, propertySchema, required, schemaIsFromAdditionalProperties);
+          final ExtendedCodegenProperty extendedProp = codegenMapper.extendProperty(prop);
+          passRunner.run(fromPropertyPipeline, extendedProp);
+          return extendedProp;
+        });
   }
 
   @Override
   public void preprocessOpenAPI(@NonNull final OpenAPI openAPI) {
-    super.preprocessOpenAPI(openAPI);
-    codegenNonEnglishNameSupport.fixOperationIds(openAPI);
+    generationTimer.run(
+        PREPROCESS_PHASE,
+        () -> {
+          if (args.dedupeSchemas()) {
+            // This has to be done after the generator has moved inline schemas into the components,
+            // and before anything else looks at the schemas
+            generationTimer.run(
+                GenerationTimer.phase(
+                    PREPROCESS_PHASE, "CodegenDuplicateSchemaSupport.dedupeSchemas"),
+                () -> codegenDuplicateSchemaSupport.dedupeSchemas(openAPI));
+          }
+          super.preprocessOpenAPI(openAPI);
+          passRunner.run(preprocessPipeline, openAPI);
+          if (args.shardByTag()) {
+            // This has to be done after the generator has moved inline schemas into the components
+            schemasByTag =
+                generationTimer.time(
+                    GenerationTimer.phase(PREPROCESS_PHASE, "CodegenShardSupport.findSchemasByTag"),
+                    () -> codegenShardSupport.findSchemasByTag(openAPI, this::sanitizeTag));
+          }
+        });
+    generationTimer.snapshotMemory(PREPROCESS_PHASE);
   }
 
   @Override
@@ -162,35 +404,135 @@ public class RadiantJavaClientCodegen extends JavaClientCodegen implements Exten
             "JacksonConfig.mustache",
             "src/main/java/%s/JacksonConfig.java".formatted(packageDirectories));
     supportingFiles.add(jacksonConfigFile);
+    if (shardLayout != null) {
+      shardSupportingFiles(supportingFiles);
+    }
     return supportingFiles;
   }
 
+  /**
+   * The invoker sources and the original pom go into the common module. Each tag module gets its
+   * own pom, and a reactor pom at the root ties them all together.
+   */
+  private void shardSupportingFiles(@NonNull final List<SupportingFile> supportingFiles) {
+    final String commonModule = shardLayout.getCommonModule();
+    final List<SupportingFile> shardedFiles =
+        supportingFiles.stream()
+            .map(
+                file ->
+                    isCommonModuleFile(file)
+                        ? new SupportingFile(
+                            file.getTemplateFile(),
+                            "%s/%s".formatted(commonModule, file.getFolder()),
+                            file.getDestinationFilename())
+                        : file)
+            .toList();
+    supportingFiles.clear();
+    supportingFiles.addAll(shardedFiles);
+
+    final List<String> modules = new ArrayList<>();
+    modules.add(commonModule);
+    modules.addAll(shardLayout.getTagModules());
+    supportingFiles.add(new SupportingFile(REACTOR_POM_TEMPLATE, "", POM_FILE));
+    putFileTemplateData(POM_FILE, Map.of(SHARD_MODULES_KEY, modules));
+    putFileTemplateData(
+        "%s/%s".formatted(commonModule, POM_FILE), Map.of(ARTIFACT_ID_KEY, commonModule));
+    shardLayout
+        .getTagModules()
+        .forEach(
+            module -> {
+              supportingFiles.add(new SupportingFile(SHARD_POM_TEMPLATE, module, POM_FILE));
+              putFileTemplateData(
+                  "%s/%s".formatted(module, POM_FILE),
+                  Map.of(ARTIFACT_ID_KEY, module, COMMON_ARTIFACT_ID_KEY, commonModule));
+            });
+  }
+
+  private boolean isCommonModuleFile(@NonNull final SupportingFile file) {
+    // Some files are added with their whole path as the destination filename
+    final Path relativePath = Path.of(file.getFolder(), file.getDestinationFilename());
+    return relativePath.startsWith(sourceFolder) || relativePath.equals(Path.of(POM_FILE));
+  }
+
+  private void putFileTemplateData(
+      @NonNull final String relativePath, @NonNull final Map<String, Object> data) {
+    fileTemplateData.put(toFileTemplateDataKey(Path.of(getOutputDir(), relativePath)), data);
+  }
+
+  @NonNull
+  private static String toFileTemplateDataKey(@NonNull final Path path) {
+    return path.toAbsolutePath().normalize().toString();
+  }
+
+  @Override
+  @NonNull
+  public Map<String, Object> getFileTemplateData(
+      @NonNull final Map<String, Object> templateData,
+      @NonNull final String templateName,
+      @NonNull final String outputFilename) {
+    final Map<String, Object> extraData =
+        fileTemplateData.get(toFileTemplateDataKey(Path.of(outputFilename)));
+    if (extraData == null) {
+      return templateData;
+    }
+    final Map<String, Object> data = new HashMap<>(templateData);
+    data.putAll(extraData);
+    return data;
+  }
+
+  @Override
+  public String modelFilename(final String templateName, final String modelName) {
+    final String filename = super.modelFilename(templateName, modelName);
+    if (shardLayout == null) {
+      return filename;
+    }
+    return moveToModule(filename, shardLayout.getModelModule(modelName));
+  }
+
+  @Override
+  public String apiFilename(final String templateName, final String tag) {
+    final String filename = super.apiFilename(templateName, tag);
+    if (shardLayout == null) {
+      return filename;
+    }
+    return moveToModule(filename, shardLayout.getApiModule(tag));
+  }
+
+  @NonNull
+  private String moveToModule(@NonNull final String filename, @NonNull final String module) {
+    final Path outputPath = Path.of(getOutputDir());
+    return outputPath.resolve(module).resolve(outputPath.relativize(Path.of(filename))).toString();
+  }
+
   @Override
   public OperationsMap postProcessOperationsWithModels(
       @NonNull final OperationsMap operationsMap, @NonNull final List<ModelMap> allModels) {
-    final Map<String, CodegenModel> allModelsClassMap =
-        CodegenModelUtils.modelMapListToModelClassMap(allModels);
-    final List<CodegenOperation> operations =
-        CodegenOperationUtils.operationsMapToList(operationsMap);
-    codegenRawTypeUsageSupport.applyRawTypesToOperationTypes(operations, allModelsClassMap);
+    return generationTimer.time(
+        POST_PROCESS_OPERATIONS_PHASE,
+        () -> {
+          final Map<String, CodegenModel> allModelsClassMap =
+              CodegenModelUtils.modelMapListToModelClassMap(allModels);
+          final List<CodegenOperation> operations =
+              CodegenOperationUtils.operationsMapToList(operationsMap);
+          generationTimer.count(POST_PROCESS_OPERATIONS_PHASE, "operations", operations.size());
+          passRunner.run(operationsPipeline, new OperationsContext(operations, allModelsClassMap));
 
-    return super.postProcessOperationsWithModels(operationsMap, allModels);
+          return super.postProcessOperationsWithModels(operationsMap, allModels);
+        });
   }
 
   @Override
   public CodegenModel fromModel(@NonNull final String name, @NonNull final Schema model) {
+    return generationTimer.time(FROM_MODEL_PHASE, () -> extendModel(name, model));
+  }
+
+  @NonNull
+  private CodegenModel extendModel(@NonNull final String name, @NonNull final Schema model) {
     final ExtendedCodegenModel result = codegenMapper.extendModel(super.fromModel(name, model));
     if (result.discriminator != null) {
       result.discriminator = codegenMapper.extendDiscriminator(result.discriminator);
     }
-    codegenDiscriminatorSupport.fixDiscriminatorType(result);
-
-    /*
-     * I've tried making this work in the fromProperty method. In theory that's the better place for it,
-     * applying the change to one property at a time. However, I get errors there I don't get when I run the code here.
-     * At the time of writing I've spent an extensive amount of time on this project and don't have the time to further investigate the discrepancy.
-     */
-    codegenUnsupportedUnionTypeSupport.fixUnsupportedUnionTypes(result, model, openAPI);
+    passRunner.run(fromModelPipeline, new FromModelContext(result, model, openAPI));
 
     // The equals method from the codegen labels the "other" object with the variable name 'o'.
     // It is possible for an OpenAPI schema to have a variable named 'o', in which case we get a
@@ -209,21 +551,102 @@ public class RadiantJavaClientCodegen extends JavaClientCodegen implements Exten
   @Override
   public Map<String, ModelsMap> postProcessAllModels(
       @NonNull final Map<String, ModelsMap> allModelMaps) {
-    codegenFilenameSupport.fixProblematicKeysForFilenames(allModelMaps, this::modelFilename);
+    return generationTimer.time(
+        POST_PROCESS_MODELS_PHASE, () -> postProcessAllModelsWithFixes(allModelMaps));
+  }
+
+  @NonNull
+  private Map<String, ModelsMap> postProcessAllModelsWithFixes(
+      @NonNull final Map<String, ModelsMap> allModelMaps) {
+    // Every model has been converted by the time they are all post-processed
+    generationTimer.snapshotMemory(FROM_MODEL_PHASE);
+    generationTimer.count(
+        UNSUPPORTED_UNION_TYPE_PHASE,
+        "refCacheHits",
+        codegenUnsupportedUnionTypeSupport.getRefCacheHits());
+    generationTimer.count(
+        UNSUPPORTED_UNION_TYPE_PHASE,
+        "refCacheMisses",
+        codegenUnsupportedUnionTypeSupport.getRefCacheMisses());
+    generationTimer.count(POST_PROCESS_MODELS_PHASE, "models", allModelMaps.size());
+    passRunner.run(modelMapsPipeline, allModelMaps);
+    // Every pass from here on shares the same lookups, the names and inheritance are now final
     final Map<String, CodegenModel> allModels = getAllModels(allModelMaps);
+    final CodegenModelIndex modelIndex =
+        timeModelSupport("CodegenModelIndex", () -> new CodegenModelIndex(allModels));
+    // Stays empty if the extraction is disabled
+    final ModelIndexContext context =
+        new ModelIndexContext(
+            modelIndex,
+            allModelMaps,
+            new AtomicReference<>(new ExtractedEnumModels(List.of(), List.of(), List.of())));
+    final List<ModelPass<ModelIndexContext>> enabledPasses =
+        modelIndexPasses.stream().filter(pass -> passRunner.isEnabled(pass.name())).toList();
+    try (ForkJoinPool passPool = createPassPool()) {
+      new ModelPassScheduler(passPool)
+          .run(
+              enabledPasses,
+              pass ->
+                  passRunner.run(
+                      POST_PROCESS_MODELS_PHASE,
+                      pass.name(),
+                      true,
+                      () -> pass.action().accept(context)));
+    }
 
-    codegenMissingModelInheritanceSupport.fixInheritanceAllModels(allModels);
-    final ExtractedEnumModels extractedEnumModels =
-        codegenInheritedEnumSupport.fixAndExtractInheritedEnums(allModels);
-    codegenNewEnumProcessorSupport.processNewEnumsAndMergeToModelMaps(
-        extractedEnumModels.allEnums(), allModelMaps, modelPackage(), importMapping());
-    codegenDiscriminatorSupport.fixAllDiscriminatorMappings(allModels);
-    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(allModels);
+    final Map<String, ModelsMap> processedModelMaps =
+        timeModelSupport(
+            "JavaClientCodegen.postProcessAllModels",
+            () -> super.postProcessAllModels(allModelMaps));
+    if (args.shardByTag()) {
+      // Models are written right after this, so the layout needs to be known by then
+      runModelSupport(
+          "CodegenShardSupport.createLayout",
+          () ->
+              shardLayout =
+                  codegenShardSupport.createLayout(
+                      getArtifactId(), processedModelMaps, schemasByTag));
+    }
+    return processedModelMaps;
+  }
 
-    final Map<String, CodegenModel> modelClassMap =
-        CodegenModelUtils.modelNameMapToModelClassMap(allModels);
-    codegenRawTypeUsageSupport.applyRawTypesToModelProperties(modelClassMap);
+  private ForkJoinPool createPassPool() {
+    return args.postProcessThreads() > 1 ? new ForkJoinPool(args.postProcessThreads()) : null;
+  }
 
-    return super.postProcessAllModels(allModelMaps);
+  private void runModelSupport(
+      @NonNull final String support,
+      @NonNull final GenerationTimer.TimedRunnable<RuntimeException> action) {
+    timeModelSupport(
+        support,
+        () -> {
+          action.run();
+          return null;
+        });
   }
+
+  /** Time a single pass over all models, and snapshot the memory once it is complete. */
+  private <T> T timeModelSupport(
+      @NonNull final String support,
+      @NonNull final GenerationTimer.TimedSupplier<T, RuntimeException> action) {
+    final String phase = GenerationTimer.phase(POST_PROCESS_MODELS_PHASE, support);
+    final T result = generationTimer.time(phase, action);
+    generationTimer.snapshotMemory(phase);
+    return result;
+  }
+
+  private record FromModelContext(
+      @NonNull ExtendedCodegenModel model, @NonNull Schema schema, OpenAPI spec) {}
+
+  private record EnumVarsContext(
+      @NonNull List<Map<String, Object>> enumVars, @NonNull String dataType) {}
+
+  private record ModelIndexContext(
+      @NonNull CodegenModelIndex index,
+      @NonNull Map<String, ModelsMap> allModelMaps,
+      @NonNull AtomicReference<ExtractedEnumModels> extractedEnumModels) {}
+
+  private record OperationsContext(
+      @NonNull List<CodegenOperation> operations,
+      @NonNull Map<String, CodegenModel> allModelsClassMap) {}
 }
@@ -0,0 +1,13 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass;
+
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * A single named fix that the codegen applies at one of its stages. The name is what the pass is
+ * timed under in the generation report, and what it is disabled by.
+ *
+ * @param name the name of the pass, unique across all stages.
+ * @param action the pass itself, applied to whatever the stage is working on.
+ */
+public record CodegenPass<C>(@NonNull String name, @NonNull Consumer<C> action) {}
@@ -0,0 +1,72 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the passes of the codegen, timing each one and skipping the ones that have been disabled.
+ *
+ * <p>Disabling a pass is meant for specs that are known not to need it, and for narrowing down
+ * which pass causes a problem. Most passes exist because the generated code doesn't compile without
+ * them for some specs, so there are no guarantees about the output once one is disabled.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CodegenPassRunner {
+  @NonNull private final GenerationTimer generationTimer;
+  @NonNull private final Set<String> disabledPasses;
+
+  /**
+   * Make sure every disabled pass exists, so that a typo doesn't silently leave the pass enabled.
+   *
+   * @param passNames the names of every pass the codegen has.
+   */
+  public void validate(@NonNull final Collection<String> passNames) {
+    final Set<String> unknownPasses = new TreeSet<>(disabledPasses);
+    unknownPasses.removeAll(passNames);
+    if (!unknownPasses.isEmpty()) {
+      throw new IllegalArgumentException(
+          "Unknown passes to disable: %s. Available passes: %s"
+              .formatted(String.join(", ", unknownPasses), String.join(", ", passNames)));
+    }
+
+    if (!disabledPasses.isEmpty()) {
+      log.info("Disabled passes: {}", String.join(", ", new TreeSet<>(disabledPasses)));
+    }
+  }
+
+  public boolean isEnabled(@NonNull final String passName) {
+    return !disabledPasses.contains(passName);
+  }
+
+  /** Apply every enabled pass of the pipeline, in order. */
+  public <C> void run(@NonNull final CodegenPipeline<C> pipeline, @NonNull final C context) {
+    pipeline.passes().stream()
+        .filter(pass -> isEnabled(pass.name()))
+        .forEach(
+            pass ->
+                run(
+                    pipeline.stage(),
+                    pass.name(),
+                    pipeline.snapshotMemory(),
+                    () -> pass.action().accept(context)));
+  }
+
+  /** Time a single pass, which must already be known to be enabled. */
+  public void run(
+      @NonNull final String stage,
+      @NonNull final String passName,
+      final boolean snapshotMemory,
+      @NonNull final Runnable action) {
+    final String phase = GenerationTimer.phase(stage, passName);
+    generationTimer.run(phase, action::run);
+    if (snapshotMemory) {
+      generationTimer.snapshotMemory(phase);
+    }
+  }
+}
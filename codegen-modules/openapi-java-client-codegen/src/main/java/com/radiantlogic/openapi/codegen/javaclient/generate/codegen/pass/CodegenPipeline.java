@@ -0,0 +1,20 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass;
+
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * The passes that run at one stage of the codegen, in the order they are applied.
+ *
+ * @param stage the phase of the stage in the generation report, each pass is timed under it.
+ * @param snapshotMemory snapshot the memory after each pass. Only for stages that run once, since a
+ *     snapshot forces a garbage collection.
+ * @param passes the passes, in order.
+ */
+public record CodegenPipeline<C>(
+    @NonNull String stage, boolean snapshotMemory, @NonNull List<CodegenPass<C>> passes) {
+  @NonNull
+  public List<String> getPassNames() {
+    return passes.stream().map(CodegenPass::name).toList();
+  }
+}
@@ -0,0 +1,24 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass;
+
+/**
+ * The parts of the model data that a pass over all models can read or write. These are coarse on
+ * purpose, two passes only need to be ordered if they touch the same part.
+ */
+public enum ModelData {
+  /** The map of all models that is passed to postProcessAllModels. */
+  MODEL_MAPS,
+  /** The parent and children of each model. */
+  INHERITANCE,
+  /** The discriminator of each model. */
+  DISCRIMINATORS,
+  /** Whether each model is a valid union type. */
+  UNION_TYPES,
+  /** The type information of each model property. */
+  PROPERTIES,
+  /** The vendor extensions of each model. */
+  VENDOR_EXTENSIONS,
+  /** The enums that were extracted from the model properties into models of their own. */
+  EXTRACTED_ENUMS,
+  /** The models that are enums. */
+  ENUM_MODELS
+}
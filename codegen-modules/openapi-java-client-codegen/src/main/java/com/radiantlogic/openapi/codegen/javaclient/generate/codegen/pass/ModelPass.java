@@ -0,0 +1,31 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * A single pass over all models, along with the model data it reads and writes.
+ *
+ * @param name the name of the pass, used when it is timed and to disable it.
+ * @param reads the model data the pass reads.
+ * @param writes the model data the pass writes.
+ * @param action the pass itself, applied to the data shared by all the passes.
+ */
+public record ModelPass<C>(
+    @NonNull String name,
+    @NonNull Set<ModelData> reads,
+    @NonNull Set<ModelData> writes,
+    @NonNull Consumer<C> action) {
+
+  /**
+   * Two passes conflict if either one writes something the other reads or writes. Passes that
+   * conflict must run in the order they are declared, everything else can run at the same time.
+   */
+  public boolean conflictsWith(@NonNull final ModelPass<?> other) {
+    return !Collections.disjoint(writes, other.writes)
+        || !Collections.disjoint(writes, other.reads)
+        || !Collections.disjoint(reads, other.writes);
+  }
+}
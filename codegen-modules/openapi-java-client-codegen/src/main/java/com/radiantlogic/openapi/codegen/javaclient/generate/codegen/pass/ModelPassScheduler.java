@@ -0,0 +1,90 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs passes over all models on a ForkJoinPool, in an order decided by the model data each of them
+ * reads and writes.
+ *
+ * <p>A pass starts once every pass declared before it that it conflicts with has finished. Passes
+ * that conflict always run in the order they are declared, and passes that don't conflict touch
+ * separate data, so the result is the same as running all of them one at a time. Without a pool
+ * they are simply run one at a time, in the order they are declared.
+ */
+@RequiredArgsConstructor
+public class ModelPassScheduler {
+  /** Null if passes should run on the calling thread. */
+  private final ForkJoinPool pool;
+
+  /**
+   * Run all the passes, and wait for them to finish. If a pass fails the passes that depend on it
+   * are not run, but all the others still are, and the first failure in declared order is thrown
+   * once nothing is running.
+   *
+   * @param runner runs a single pass, so that the caller can wrap it with things like timing.
+   */
+  public <C> void run(
+      @NonNull final List<ModelPass<C>> passes, @NonNull final Consumer<ModelPass<C>> runner) {
+    if (pool == null) {
+      passes.forEach(runner);
+      return;
+    }
+
+    final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int index = 0; index < passes.size(); index++) {
+      final ModelPass<C> pass = passes.get(index);
+      final CompletableFuture<?>[] dependencies =
+          IntStream.range(0, index)
+              .filter(earlier -> passes.get(earlier).conflictsWith(pass))
+              .mapToObj(futures::get)
+              .toArray(CompletableFuture<?>[]::new);
+      futures.add(
+          CompletableFuture.allOf(dependencies).thenRunAsync(() -> runner.accept(pass), pool));
+    }
+    awaitAll(futures);
+  }
+
+  private static void awaitAll(@NonNull final List<CompletableFuture<Void>> futures) {
+    RuntimeException failure = null;
+    for (final CompletableFuture<Void> future : futures) {
+      try {
+        future.join();
+      } catch (final CompletionException ex) {
+        final RuntimeException cause = unwrap(ex);
+        if (failure == null) {
+          failure = cause;
+        } else if (failure != cause) {
+          // Passes that depend on a failed pass fail with the same exception
+          failure.addSuppressed(cause);
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @NonNull
+  private static RuntimeException unwrap(@NonNull final CompletionException ex) {
+    Throwable cause = ex;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return ex;
+  }
+}
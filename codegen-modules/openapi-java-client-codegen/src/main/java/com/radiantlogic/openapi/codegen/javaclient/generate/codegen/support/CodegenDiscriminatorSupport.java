@@ -1,7 +1,6 @@
 package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
 
-import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
-import java.util.Map;
+import com.radiantlogic.openapi.codegen.javaclient.exceptions.ModelNotFoundException;
 import lombok.NonNull;
 import org.openapitools.codegen.CodegenModel;
 
@@ -29,21 +28,27 @@ public class CodegenDiscriminatorSupport {
    * discriminated mappings. This adds a vendor extension property to all mapped models which is
    * then used by the customized template to correct this issue.
    */
-  public void fixAllDiscriminatorMappings(@NonNull final Map<String, CodegenModel> allModels) {
-    allModels.values().stream()
-        .filter(CodegenModelUtils::hasDiscriminatorChildren)
-        .forEach(model -> fixDiscriminatorMapping(model, allModels));
+  public void fixAllDiscriminatorMappings(@NonNull final CodegenModelIndex index) {
+    index
+        .getModelsWithDiscriminatorChildren()
+        .forEach(model -> fixDiscriminatorMapping(model, index));
   }
 
   private void fixDiscriminatorMapping(
-      @NonNull final CodegenModel codegenModel,
-      @NonNull final Map<String, CodegenModel> allModels) {
+      @NonNull final CodegenModel codegenModel, @NonNull final CodegenModelIndex index) {
     codegenModel
         .discriminator
         .getMappedModels()
         .forEach(
             mappedModel -> {
-              final CodegenModel childModel = allModels.get(mappedModel.getModelName());
+              final CodegenModel childModel =
+                  index
+                      .findModel(mappedModel.getModelName())
+                      .orElseThrow(
+                          () ->
+                              new ModelNotFoundException(
+                                  "Discriminator mapped model not found: %s"
+                                      .formatted(mappedModel.getModelName())));
               // This is a special extension used in the template to ensure the correct
               // mapping value in the JsonTypeName annotation
               childModel.vendorExtensions.put(
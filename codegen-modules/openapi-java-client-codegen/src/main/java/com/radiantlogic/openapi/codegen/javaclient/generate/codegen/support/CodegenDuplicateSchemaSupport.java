@@ -0,0 +1,240 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils.ComponentRef;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Large specs often contain many schemas with exactly the same structure, such as the inline
+ * response objects the generator moves into the components for every operation, or the same object
+ * copied under several names. Every one of them would otherwise become its own model and class, so
+ * each group of identical schemas is collapsed into the first one declared, and every reference to
+ * the others is pointed at it.
+ *
+ * <p>Schemas are identical when everything but their documentation is the same, with references
+ * compared by name. Merging schemas can make the schemas that reference them identical as well, so
+ * this is repeated until nothing changes.
+ *
+ * <p>The name of a schema matters for inheritance and discriminators, so schemas that have a
+ * discriminator, use allOf/oneOf/anyOf, are used in an allOf/oneOf/anyOf, or are in a discriminator
+ * mapping are never merged. Neither are schemas referenced from the $defs of a 3.1 schema, which
+ * the parser keeps as plain maps, so the references in them can't be rewritten.
+ */
+@Slf4j
+public class CodegenDuplicateSchemaSupport {
+  private static final String SCHEMA_REF_PREFIX = "#/components/schemas/";
+  private static final String SELF_REF = "#self";
+  private static final String REF = "$ref";
+  private static final String REQUIRED = "required";
+  private static final Set<String> DOCUMENTATION_KEYWORDS =
+      Set.of("description", "title", "example", "examples", "externalDocs", "$comment");
+  private static final Set<String> SCHEMA_KEYWORDS =
+      Set.of(
+          "items",
+          "additionalProperties",
+          "additionalItems",
+          "not",
+          "if",
+          "then",
+          "else",
+          "contains",
+          "propertyNames",
+          "unevaluatedItems",
+          "unevaluatedProperties",
+          "contentSchema");
+  private static final Set<String> SCHEMA_MAP_KEYWORDS =
+      Set.of("properties", "patternProperties", "dependentSchemas", "$defs");
+  private static final Set<String> SCHEMA_LIST_KEYWORDS =
+      Set.of("allOf", "oneOf", "anyOf", "prefixItems");
+
+  public void dedupeSchemas(@NonNull final OpenAPI openAPI) {
+    final Map<String, Schema> schemas =
+        Optional.ofNullable(openAPI.getComponents()).map(Components::getSchemas).orElse(null);
+    if (schemas == null || schemas.isEmpty()) {
+      return;
+    }
+
+    final int schemaCountBefore = schemas.size();
+    final ObjectMapper mapper =
+        openAPI.getSpecVersion() == SpecVersion.V31 ? Json31.mapper() : Json.mapper();
+    final Set<String> excluded = findExcludedSchemas(openAPI, schemas);
+    Map<String, String> duplicates = findDuplicates(schemas, excluded, mapper);
+    while (!duplicates.isEmpty()) {
+      schemas.keySet().removeAll(duplicates.keySet());
+      rewriteRefs(openAPI, duplicates);
+      duplicates = findDuplicates(schemas, excluded, mapper);
+    }
+    log.info(
+        "Removed duplicate schemas from specification. Schemas: {} of {} remaining",
+        schemas.size(),
+        schemaCountBefore);
+  }
+
+  @NonNull
+  private static Set<String> findExcludedSchemas(
+      @NonNull final OpenAPI openAPI, @NonNull final Map<String, Schema> schemas) {
+    final Set<String> excluded = new HashSet<>();
+    schemas.forEach(
+        (name, schema) -> {
+          if (schema.getDiscriminator() != null || isComposed(schema)) {
+            excluded.add(name);
+          }
+        });
+    OpenapiReferenceUtils.forEachSchema(
+        openAPI,
+        schema -> {
+          Stream.of(schema.getAllOf(), schema.getOneOf(), schema.getAnyOf())
+              .filter(Objects::nonNull)
+              .flatMap(List::stream)
+              .map(Schema::get$ref)
+              .map(OpenapiReferenceUtils::parseRef)
+              .flatMap(Optional::stream)
+              .filter(ComponentRef::isSchema)
+              .forEach(ref -> excluded.add(ref.name()));
+          Optional.ofNullable(schema.getDiscriminator())
+              .map(Discriminator::getMapping)
+              .map(Map::values)
+              .stream()
+              .flatMap(Collection::stream)
+              .map(OpenapiReferenceUtils::parseMappingRef)
+              .flatMap(Optional::stream)
+              .filter(ComponentRef::isSchema)
+              .forEach(ref -> excluded.add(ref.name()));
+          OpenapiReferenceUtils.findDefsRefs(schema).stream()
+              .map(OpenapiReferenceUtils::parseRef)
+              .flatMap(Optional::stream)
+              .filter(ComponentRef::isSchema)
+              .forEach(ref -> excluded.add(ref.name()));
+        });
+    return excluded;
+  }
+
+  private static boolean isComposed(@NonNull final Schema<?> schema) {
+    return schema.getAllOf() != null || schema.getOneOf() != null || schema.getAnyOf() != null;
+  }
+
+  /**
+   * @return the name of every duplicate schema, mapped to the name of the first schema with the
+   *     same structure, which is kept.
+   */
+  @NonNull
+  private static Map<String, String> findDuplicates(
+      @NonNull final Map<String, Schema> schemas,
+      @NonNull final Set<String> excluded,
+      @NonNull final ObjectMapper mapper) {
+    final Map<String, String> namesByStructure = new HashMap<>();
+    final Map<String, String> duplicates = new HashMap<>();
+    schemas.forEach(
+        (name, schema) -> {
+          if (excluded.contains(name)) {
+            return;
+          }
+          final String structure =
+              canonicalize(mapper.valueToTree(schema), SCHEMA_REF_PREFIX + name).toString();
+          final String kept = namesByStructure.putIfAbsent(structure, name);
+          if (kept != null) {
+            duplicates.put(name, kept);
+          }
+        });
+    return duplicates;
+  }
+
+  private static void rewriteRefs(
+      @NonNull final OpenAPI openAPI, @NonNull final Map<String, String> duplicates) {
+    OpenapiReferenceUtils.forEachSchema(
+        openAPI,
+        schema ->
+            OpenapiReferenceUtils.parseRef(schema.get$ref())
+                .filter(ComponentRef::isSchema)
+                .map(ref -> duplicates.get(ref.name()))
+                .ifPresent(kept -> schema.set$ref(SCHEMA_REF_PREFIX + kept)));
+  }
+
+  /**
+   * The schema with its documentation removed, the keys of every object sorted and the required
+   * properties sorted, so that its string form is the same for every schema with the same
+   * structure. A reference to the schema itself is replaced, so recursive schemas can match too.
+   */
+  @NonNull
+  private static JsonNode canonicalize(@NonNull final JsonNode schema, @NonNull final String self) {
+    if (!schema.isObject()) {
+      return schema;
+    }
+    final ObjectNode canonical = JsonNodeFactory.instance.objectNode();
+    for (final String keyword : sortedFieldNames(schema)) {
+      final JsonNode value = schema.get(keyword);
+      if (DOCUMENTATION_KEYWORDS.contains(keyword)) {
+        continue;
+      }
+      if (REF.equals(keyword) && self.equals(value.asText())) {
+        canonical.put(keyword, SELF_REF);
+      } else if (REQUIRED.equals(keyword) && value.isArray()) {
+        final ArrayNode required = canonical.putArray(keyword);
+        StreamSupport.stream(value.spliterator(), false)
+            .map(JsonNode::asText)
+            .sorted()
+            .forEach(required::add);
+      } else if (SCHEMA_KEYWORDS.contains(keyword)) {
+        canonical.set(keyword, canonicalize(value, self));
+      } else if (SCHEMA_MAP_KEYWORDS.contains(keyword) && value.isObject()) {
+        final ObjectNode schemasByName = canonical.putObject(keyword);
+        sortedFieldNames(value)
+            .forEach(name -> schemasByName.set(name, canonicalize(value.get(name), self)));
+      } else if (SCHEMA_LIST_KEYWORDS.contains(keyword) && value.isArray()) {
+        final ArrayNode schemaList = canonical.putArray(keyword);
+        value.forEach(item -> schemaList.add(canonicalize(item, self)));
+      } else {
+        canonical.set(keyword, sortKeys(value));
+      }
+    }
+    return canonical;
+  }
+
+  /** Literal values, like enums and defaults, are kept as they are apart from their key order. */
+  @NonNull
+  private static JsonNode sortKeys(@NonNull final JsonNode value) {
+    if (value.isObject()) {
+      final ObjectNode sorted = JsonNodeFactory.instance.objectNode();
+      sortedFieldNames(value).forEach(name -> sorted.set(name, sortKeys(value.get(name))));
+      return sorted;
+    }
+    if (value.isArray()) {
+      final ArrayNode sorted = JsonNodeFactory.instance.arrayNode();
+      value.forEach(item -> sorted.add(sortKeys(item)));
+      return sorted;
+    }
+    return value;
+  }
+
+  @NonNull
+  private static SortedSet<String> sortedFieldNames(@NonNull final JsonNode node) {
+    final SortedSet<String> names = new TreeSet<>();
+    node.fieldNames().forEachRemaining(names::add);
+    return names;
+  }
+}
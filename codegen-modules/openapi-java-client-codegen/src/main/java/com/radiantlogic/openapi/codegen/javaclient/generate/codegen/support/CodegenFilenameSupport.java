@@ -2,16 +2,19 @@ package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
 
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenConstants;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
-import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.apache.commons.io.FilenameUtils;
 import org.openapitools.codegen.CodegenModel;
 import org.openapitools.codegen.model.ModelsMap;
-import org.openapitools.codegen.utils.ModelUtils;
 
 /**
  * There is an issue where anonymous schemas will be automatically assigned names by
@@ -22,97 +25,137 @@ import org.openapitools.codegen.utils.ModelUtils;
  *
  * <p>This identifies and adds a suffix to names that will clash when being written out, so that
  * they are safe and everything will be written correctly.
+ *
+ * <p>Specs with many anonymous schemas can have a lot of clashes, so the models importing each
+ * class are indexed the first time one is found rather than searched for on every clash.
  */
 public class CodegenFilenameSupport {
 
   public void fixProblematicKeysForFilenames(
       @NonNull final Map<String, ModelsMap> allModelMaps,
       @NonNull final BiFunction<String, String, String> modelFilename) {
-    final Map<String, ModelsMap> fixedModelMaps =
-        allModelMaps.entrySet().stream()
-            .map(entry -> createFilenameModelsMap(entry, modelFilename))
-            .reduce(
-                new HashMap<>(),
-                (acc, singleEntryMap) ->
-                    reduceFilenameModelsMaps(acc, singleEntryMap, allModelMaps))
-            .values()
-            .stream()
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    final Set<String> fileBaseNames = new HashSet<>();
+    final Map<String, String> renamedKeys = new HashMap<>();
+    Map<String, Set<ModelsMap>> importingModels = null;
+    for (final Map.Entry<String, ModelsMap> entry : allModelMaps.entrySet()) {
+      final String fileBaseName = getFileBaseName(entry.getKey(), modelFilename);
+
+      // If this name is unique in the map, we don't need to do anything
+      if (fileBaseNames.add(fileBaseName)) {
+        continue;
+      }
+
+      if (importingModels == null) {
+        importingModels = indexImportingModels(allModelMaps);
+      }
+      final String suffix =
+          renameClashingModel(entry, fileBaseName, fileBaseNames, importingModels);
+      fileBaseNames.add(fileBaseName + suffix);
+      renamedKeys.put(entry.getKey(), entry.getKey() + suffix);
+    }
 
     // This is a tree map with a special comparator. Much better to do this modification than to
-    // return a new one, it'll be less brittle and more reliable
-    allModelMaps.clear();
-    allModelMaps.putAll(fixedModelMaps);
+    // return a new one, it'll be less brittle and more reliable. Only the renamed models are moved,
+    // every model is removed before any is added back in case a new key was an old one.
+    final Map<String, ModelsMap> renamedModelMaps = new HashMap<>();
+    renamedKeys.forEach(
+        (oldKey, newKey) -> renamedModelMaps.put(newKey, allModelMaps.remove(oldKey)));
+    allModelMaps.putAll(renamedModelMaps);
   }
 
+  /**
+   * Make the name of the model unique with a suffix, and fix the imports of every model that uses
+   * it.
+   *
+   * @return the suffix that was added.
+   */
   @NonNull
-  private static Map<String, Map.Entry<String, ModelsMap>> reduceFilenameModelsMaps(
-      @NonNull Map<String, Map.Entry<String, ModelsMap>> acc,
-      @NonNull Map<String, Map.Entry<String, ModelsMap>> singleEntryMap,
-      @NonNull final Map<String, ModelsMap> allModelMaps) {
-    final String fileBaseName = singleEntryMap.keySet().stream().findFirst().orElseThrow();
-    final Map.Entry<String, ModelsMap> entry = singleEntryMap.get(fileBaseName);
-
-    // If this name is unique in the map, we don't need to do anything
-    if (!acc.containsKey(fileBaseName)) {
-      acc.put(fileBaseName, entry);
-      return acc;
-    }
-
-    // If the name is not unique, we need to make it unique with a suffix
-    final CodegenModel model = ModelUtils.getModelByName(entry.getKey(), allModelMaps);
+  private static String renameClashingModel(
+      @NonNull final Map.Entry<String, ModelsMap> entry,
+      @NonNull final String fileBaseName,
+      @NonNull final Set<String> fileBaseNames,
+      @NonNull final Map<String, Set<ModelsMap>> importingModels) {
+    final CodegenModel model = CodegenModelUtils.extractModel(entry.getValue());
     int index = 0;
     String suffix = "";
-    while (acc.containsKey(fileBaseName + suffix)) {
+    while (fileBaseNames.contains(fileBaseName + suffix)) {
       index++;
       suffix = "V%d".formatted(index);
     }
-    final String newFileBaseName = fileBaseName + suffix;
-    final String newKey = entry.getKey() + suffix;
     final String oldClassName = model.classname;
     model.classname = model.classname + suffix;
     model.classFilename = model.classFilename + suffix;
     model.dataType = model.dataType + suffix;
 
-    allModelMaps.values().stream()
-        .map(CodegenModelUtils::extractModel)
-        .filter(
-            otherModel -> otherModel.imports != null && otherModel.imports.contains(oldClassName))
-        .forEach(otherModel -> fixImports(model, otherModel, oldClassName, allModelMaps));
+    final Set<ModelsMap> modelsImportingOld = importingModels.remove(oldClassName);
+    if (modelsImportingOld != null) {
+      modelsImportingOld.forEach(otherModelsMap -> fixImports(model, otherModelsMap, oldClassName));
+      importingModels
+          .computeIfAbsent(model.classname, key -> newIdentitySet())
+          .addAll(modelsImportingOld);
+    }
+    return suffix;
+  }
 
-    acc.put(newFileBaseName, Map.entry(newKey, entry.getValue()));
-    return acc;
+  /**
+   * The models that import each class name, so that they can be found when the class is renamed.
+   * They are kept as their models maps, so their imports can be fixed without looking them up in
+   * the sorted map of all models.
+   */
+  @NonNull
+  private static Map<String, Set<ModelsMap>> indexImportingModels(
+      @NonNull final Map<String, ModelsMap> allModelMaps) {
+    final Map<String, Set<ModelsMap>> importingModels = new HashMap<>();
+    allModelMaps
+        .values()
+        .forEach(
+            modelsMap ->
+                Optional.ofNullable(CodegenModelUtils.extractModel(modelsMap).imports)
+                    .ifPresent(
+                        imports ->
+                            imports.forEach(
+                                className ->
+                                    importingModels
+                                        .computeIfAbsent(className, key -> newIdentitySet())
+                                        .add(modelsMap))));
+    return importingModels;
+  }
+
+  /** Models are mutable and have expensive equality, so they are tracked by identity. */
+  @NonNull
+  private static Set<ModelsMap> newIdentitySet() {
+    return Collections.newSetFromMap(new IdentityHashMap<>());
   }
 
   private static void fixImports(
       @NonNull final CodegenModel model,
-      @NonNull final CodegenModel otherModel,
-      @NonNull final String oldClassName,
-      @NonNull final Map<String, ModelsMap> allModelMaps) {
+      @NonNull final ModelsMap otherModelsMap,
+      @NonNull final String oldClassName) {
+    final CodegenModel otherModel = CodegenModelUtils.extractModel(otherModelsMap);
     otherModel.imports.remove(oldClassName);
     otherModel.imports.add(model.classname);
 
-    ((List<Map<String, String>>)
-            allModelMaps.get(otherModel.name).get(CodegenConstants.IMPORTS_KEY))
+    final String oldImportSuffix = ".%s".formatted(oldClassName);
+    ((List<Map<String, String>>) otherModelsMap.get(CodegenConstants.IMPORTS_KEY))
         .forEach(
             importMap -> {
               final String importValue = importMap.get(CodegenConstants.IMPORT_KEY);
-              if (importValue.endsWith(".%s".formatted(oldClassName))) {
+              if (importValue.endsWith(oldImportSuffix)) {
                 final String newImportValue =
-                    importValue.replaceAll(
-                        "\\.%s$".formatted(oldClassName), ".%s".formatted(model.classname));
+                    "%s.%s"
+                        .formatted(
+                            importValue.substring(
+                                0, importValue.length() - oldImportSuffix.length()),
+                            model.classname);
                 importMap.put(CodegenConstants.IMPORT_KEY, newImportValue);
               }
             });
   }
 
   @NonNull
-  private static Map<String, Map.Entry<String, ModelsMap>> createFilenameModelsMap(
-      @NonNull final Map.Entry<String, ModelsMap> entry,
-      @NonNull final BiFunction<String, String, String> modelFilename) {
-    final String fileName = modelFilename.apply(CodegenConstants.MODEL_TEMPLATE, entry.getKey());
-    final String fileBaseName = FilenameUtils.getBaseName(fileName).toLowerCase();
-
-    return Map.of(fileBaseName, entry);
+  private static String getFileBaseName(
+      @NonNull final String key, @NonNull final BiFunction<String, String, String> modelFilename) {
+    final String fileName = modelFilename.apply(CodegenConstants.MODEL_TEMPLATE, key);
+    return FilenameUtils.getBaseName(fileName).toLowerCase();
   }
 }
@@ -1,11 +1,9 @@
 package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
 
+import com.radiantlogic.openapi.codegen.javaclient.exceptions.ModelNotFoundException;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenEnumModelUtils;
-import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
 import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenPropertyUtils;
-import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Stream;
 import lombok.NonNull;
 import org.openapitools.codegen.CodegenModel;
@@ -25,17 +23,16 @@ import org.openapitools.codegen.CodegenProperty;
  * to ensure that the files are all created correctly.
  */
 public class CodegenInheritedEnumSupport {
-  public ExtractedEnumModels fixAndExtractInheritedEnums(
-      @NonNull final Map<String, CodegenModel> allModels) {
+  public ExtractedEnumModels fixAndExtractInheritedEnums(@NonNull final CodegenModelIndex index) {
 
     // The ordering here is important as subsequent passes through the models assume any enums that
     // meet the prior criteria have been removed
     final List<CodegenModel> enumsFromModelsWithParents =
-        fixAndExtractEnumsFromAllModelsWithParents(allModels.values());
+        fixAndExtractEnumsFromAllModelsWithParents(index);
     final List<CodegenModel> enumsFromDiscriminatorParentModels =
-        fixAndExtractEnumsFromAllDiscriminatedUnionModels(allModels);
+        fixAndExtractEnumsFromAllDiscriminatedUnionModels(index);
     final List<CodegenModel> enumsFromModelsWithNonDiscriminatorChildren =
-        fixAndExtractEnumsFromAllNonDiscriminatorModelsWithChildren(allModels.values());
+        fixAndExtractEnumsFromAllNonDiscriminatorModelsWithChildren(index);
 
     return new ExtractedEnumModels(
         enumsFromModelsWithParents,
@@ -50,27 +47,26 @@ public class CodegenInheritedEnumSupport {
    * model.
    */
   private static List<CodegenModel> fixAndExtractEnumsFromAllNonDiscriminatorModelsWithChildren(
-      @NonNull final Collection<CodegenModel> allModels) {
-    return allModels.stream()
-        .filter(CodegenModelUtils::hasNonDiscriminatorChildren)
-        .flatMap(model -> fixAndExtractEnumsFromNonDiscriminatorModelWithChildren(model, allModels))
+      @NonNull final CodegenModelIndex index) {
+    return index.getModelsWithNonDiscriminatorChildren().stream()
+        .flatMap(model -> fixAndExtractEnumsFromNonDiscriminatorModelWithChildren(model, index))
         .toList();
   }
 
   private static Stream<CodegenModel> fixAndExtractEnumsFromNonDiscriminatorModelWithChildren(
-      @NonNull final CodegenModel model, @NonNull final Collection<CodegenModel> allModels) {
+      @NonNull final CodegenModel model, @NonNull final CodegenModelIndex index) {
     return model.vars.stream()
         .filter(CodegenPropertyUtils::isEnumProperty)
         .map(
             var -> {
               setEnumRefProps(var);
               model.oneOf.forEach(
-                  childModelName -> {
-                    allModels.stream()
-                        .filter(m -> m.name.equals(childModelName))
-                        .findFirst()
-                        .ifPresent(childModel -> ensureChildModelHasNoInlineEnums(var, childModel));
-                  });
+                  childModelName ->
+                      index
+                          .findModelBySchemaName(childModelName)
+                          .ifPresent(
+                              childModel ->
+                                  ensureChildModelHasNoInlineEnums(var, childModel, index)));
               return CodegenEnumModelUtils.createEnumModelFromEnumProp(var);
             });
   }
@@ -82,15 +78,14 @@ public class CodegenInheritedEnumSupport {
    * have that property point to the extracted enum model.
    */
   private static List<CodegenModel> fixAndExtractEnumsFromAllDiscriminatedUnionModels(
-      @NonNull final Map<String, CodegenModel> allModels) {
-    return allModels.values().stream()
-        .filter(CodegenModelUtils::hasDiscriminatorChildren)
-        .flatMap(model -> fixAndExtractEnumsFromDiscriminatedUnionModel(model, allModels))
+      @NonNull final CodegenModelIndex index) {
+    return index.getModelsWithDiscriminatorChildren().stream()
+        .flatMap(model -> fixAndExtractEnumsFromDiscriminatedUnionModel(model, index))
         .toList();
   }
 
   private static Stream<CodegenModel> fixAndExtractEnumsFromDiscriminatedUnionModel(
-      @NonNull final CodegenModel model, @NonNull final Map<String, CodegenModel> allModels) {
+      @NonNull final CodegenModel model, @NonNull final CodegenModelIndex index) {
     return model.vars.stream()
         .filter(CodegenPropertyUtils::isEnumProperty)
         .map(
@@ -101,8 +96,15 @@ public class CodegenInheritedEnumSupport {
                   .getMappedModels()
                   .forEach(
                       mappedModel -> {
-                        final CodegenModel childModel = allModels.get(mappedModel.getModelName());
-                        ensureChildModelHasNoInlineEnums(var, childModel);
+                        final CodegenModel childModel =
+                            index
+                                .findModel(mappedModel.getModelName())
+                                .orElseThrow(
+                                    () ->
+                                        new ModelNotFoundException(
+                                            "Discriminator mapped model not found: %s"
+                                                .formatted(mappedModel.getModelName())));
+                        ensureChildModelHasNoInlineEnums(var, childModel, index);
                       });
               return CodegenEnumModelUtils.createEnumModelFromEnumProp(var);
             });
@@ -114,21 +116,20 @@ public class CodegenInheritedEnumSupport {
    * parent and child will have that property point to the extracted enum model.
    */
   private static List<CodegenModel> fixAndExtractEnumsFromAllModelsWithParents(
-      @NonNull final Collection<CodegenModel> allModels) {
-    return allModels.stream()
-        .filter(model -> model.parentModel != null)
-        .flatMap(CodegenInheritedEnumSupport::fixAndExtractEnumsFromModelWithParent)
+      @NonNull final CodegenModelIndex index) {
+    return index.getModelsWithParents().stream()
+        .flatMap(model -> fixAndExtractEnumsFromModelWithParent(model, index))
         .toList();
   }
 
   private static Stream<CodegenModel> fixAndExtractEnumsFromModelWithParent(
-      @NonNull final CodegenModel model) {
+      @NonNull final CodegenModel model, @NonNull final CodegenModelIndex index) {
     return model.parentModel.vars.stream()
         .filter(CodegenPropertyUtils::isEnumProperty)
         .peek(
             var -> {
               setEnumRefProps(var);
-              ensureChildModelHasNoInlineEnums(var, model);
+              ensureChildModelHasNoInlineEnums(var, model, index);
             })
         .map(CodegenEnumModelUtils::createEnumModelFromEnumProp);
   }
@@ -140,11 +141,11 @@ public class CodegenInheritedEnumSupport {
   }
 
   private static void ensureChildModelHasNoInlineEnums(
-      @NonNull final CodegenProperty parentEnumProperty, @NonNull final CodegenModel childModel) {
-    childModel.vars.stream()
-        .filter(
-            childVar -> CodegenPropertyUtils.isSamePropertyInChild(parentEnumProperty, childVar))
-        .findFirst()
+      @NonNull final CodegenProperty parentEnumProperty,
+      @NonNull final CodegenModel childModel,
+      @NonNull final CodegenModelIndex index) {
+    index
+        .findPropertyByBaseName(childModel, parentEnumProperty.baseName)
         .ifPresent(childVar -> ensureChildModelPropertyNotInnerEnum(parentEnumProperty, childVar));
   }
 
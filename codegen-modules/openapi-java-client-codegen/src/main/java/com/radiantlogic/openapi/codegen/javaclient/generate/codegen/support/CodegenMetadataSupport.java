@@ -4,11 +4,19 @@ import com.radiantlogic.openapi.codegen.javaclient.args.Args;
 import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
 
 /** Prepare metadata values needed by the codegen */
 public class CodegenMetadataSupport {
@@ -22,10 +30,51 @@ public class CodegenMetadataSupport {
     final String title = getOpenapiTitle(openAPI);
     final String version = getOpenapiVersion(openAPI);
 
-    final Path outputDir = CodegenPaths.OUTPUT_DIR.resolve(title).resolve(version);
+    final String artifactId = getArtifactId(title, args);
+
+    final Path outputDir = CodegenPaths.OUTPUT_DIR.resolve(artifactId).resolve(version);
     final String basePackage =
-        fixLeadingNumbers("%s.%s".formatted(args.groupId(), ensureValidPackageName(title)));
-    return new CodegenMetadata(outputDir, title, version, basePackage);
+        fixLeadingNumbers("%s.%s".formatted(args.groupId(), ensureValidPackageName(artifactId)));
+    return new CodegenMetadata(outputDir, artifactId, version, basePackage);
+  }
+
+  /**
+   * Part of a spec is a different artifact than the whole spec, or any other part of it, so it gets
+   * its own artifactId, output directory and package unless an artifactId was given. The included
+   * tags are added to the title as they are, and the included paths as a hash, since they rarely
+   * make a readable name.
+   */
+  @NonNull
+  private static String getArtifactId(@NonNull final String title, @NonNull final Args args) {
+    if (args.artifactId() != null) {
+      return args.artifactId();
+    }
+
+    final List<String> parts = new ArrayList<>();
+    parts.add(title);
+    args.includeTags().stream()
+        .sorted()
+        .map(tag -> StringUtils.strip(tag.replaceAll("[^a-zA-Z0-9]+", "-"), "-"))
+        .filter(StringUtils::isNotEmpty)
+        .forEach(parts::add);
+    if (!args.includePaths().isEmpty()) {
+      parts.add("paths-%s".formatted(hash(args.includePaths())));
+    }
+    return String.join("-", parts);
+  }
+
+  @NonNull
+  private static String hash(@NonNull final Set<String> values) {
+    try {
+      final byte[] digest =
+          MessageDigest.getInstance("SHA-256")
+              .digest(
+                  String.join("\n", values.stream().sorted().toList())
+                      .getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest).substring(0, 8);
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
   }
 
   private static String getOpenapiTitle(@NonNull final OpenAPI openAPI) {
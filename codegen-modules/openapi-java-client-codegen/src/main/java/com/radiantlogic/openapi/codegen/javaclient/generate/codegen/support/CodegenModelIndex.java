@@ -0,0 +1,205 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.models.ExtendedCodegenModel;
+import com.radiantlogic.openapi.codegen.javaclient.generate.models.UnionType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+
+/**
+ * Lookups over all models that the post-processing passes share, so that each pass does not have to
+ * scan every model to find the ones it needs. Finding a model by name, class name or parent,
+ * finding a property of a model, and classifying unions are all constant time.
+ *
+ * <p>The index is built once the models have their final names and inheritance, and does not see
+ * changes to either made after that. The models and properties themselves are not copied, so
+ * changes to their other fields are visible through the index.
+ */
+public class CodegenModelIndex {
+  private static final Function<CodegenProperty, String> BASE_NAME = property -> property.baseName;
+  private static final Function<CodegenProperty, String> NAME = property -> property.name;
+
+  private final List<CodegenModel> models;
+  private final Map<String, CodegenModel> modelsByName;
+  private final Map<String, CodegenModel> modelsBySchemaName;
+  private final Map<String, CodegenModel> modelsByClassname;
+  private final Map<CodegenModel, List<CodegenModel>> childrenByParent;
+  private final Map<CodegenModel, UnionType> unionTypes;
+  private final Map<CodegenModel, Map<String, CodegenProperty>> propertiesByBaseName;
+  private final Map<CodegenModel, Map<String, CodegenProperty>> propertiesByName;
+  private final List<CodegenModel> modelsWithParents;
+  private final List<CodegenModel> modelsWithDiscriminatorChildren;
+  private final List<CodegenModel> modelsWithNonDiscriminatorChildren;
+
+  public CodegenModelIndex(@NonNull final Map<String, CodegenModel> allModels) {
+    final Map<String, CodegenModel> bySchemaName = new HashMap<>();
+    final Map<String, CodegenModel> byClassname = new HashMap<>();
+    final Map<CodegenModel, List<CodegenModel>> children = new IdentityHashMap<>();
+    final Map<CodegenModel, UnionType> types = new IdentityHashMap<>();
+    final Map<CodegenModel, Map<String, CodegenProperty>> byBaseName = new IdentityHashMap<>();
+    final Map<CodegenModel, Map<String, CodegenProperty>> byPropertyName = new IdentityHashMap<>();
+    final List<CodegenModel> withParents = new ArrayList<>();
+    final List<CodegenModel> withDiscriminatorChildren = new ArrayList<>();
+    final List<CodegenModel> withNonDiscriminatorChildren = new ArrayList<>();
+
+    allModels
+        .values()
+        .forEach(
+            model -> {
+              bySchemaName.putIfAbsent(model.name, model);
+              if (model.classname != null
+                  && byClassname.putIfAbsent(model.classname, model) != null) {
+                throw new IllegalStateException(
+                    "Multiple models have the same class name: %s".formatted(model.classname));
+              }
+
+              if (model.parentModel != null) {
+                withParents.add(model);
+                children.computeIfAbsent(model.parentModel, key -> new ArrayList<>()).add(model);
+              }
+
+              if (CodegenModelUtils.hasDiscriminatorChildren(model)) {
+                withDiscriminatorChildren.add(model);
+              }
+              // Only extended models can be classified, asking about any other model is an error
+              if (model instanceof ExtendedCodegenModel extendedModel) {
+                types.put(model, extendedModel.getUnionType());
+                if (CodegenModelUtils.hasNonDiscriminatorChildren(model)) {
+                  withNonDiscriminatorChildren.add(model);
+                }
+              }
+
+              byBaseName.put(model, indexProperties(model.vars, BASE_NAME));
+              byPropertyName.put(model, indexProperties(model.vars, NAME));
+            });
+
+    this.models = List.copyOf(allModels.values());
+    this.modelsByName = Collections.unmodifiableMap(new LinkedHashMap<>(allModels));
+    this.modelsBySchemaName = bySchemaName;
+    this.modelsByClassname = Collections.unmodifiableMap(byClassname);
+    this.childrenByParent = children;
+    this.unionTypes = types;
+    this.propertiesByBaseName = byBaseName;
+    this.propertiesByName = byPropertyName;
+    this.modelsWithParents = Collections.unmodifiableList(withParents);
+    this.modelsWithDiscriminatorChildren = Collections.unmodifiableList(withDiscriminatorChildren);
+    this.modelsWithNonDiscriminatorChildren =
+        Collections.unmodifiableList(withNonDiscriminatorChildren);
+  }
+
+  /** Index the properties of a model by a key, the first property with each key wins. */
+  @NonNull
+  private static Map<String, CodegenProperty> indexProperties(
+      final List<CodegenProperty> properties,
+      @NonNull final Function<CodegenProperty, String> getKey) {
+    final Map<String, CodegenProperty> index = new HashMap<>();
+    Optional.ofNullable(properties).stream()
+        .flatMap(Collection::stream)
+        .filter(property -> getKey.apply(property) != null)
+        .forEach(property -> index.putIfAbsent(getKey.apply(property), property));
+    return index;
+  }
+
+  /** All models by their model name, ie the keys of the models they were given as. */
+  @NonNull
+  public Map<String, CodegenModel> getModelsByName() {
+    return modelsByName;
+  }
+
+  @NonNull
+  public Map<String, CodegenModel> getModelsByClassname() {
+    return modelsByClassname;
+  }
+
+  /** Every model, in the order they were given. */
+  @NonNull
+  public List<CodegenModel> getModels() {
+    return models;
+  }
+
+  @NonNull
+  public Optional<CodegenModel> findModel(@NonNull final String name) {
+    return Optional.ofNullable(modelsByName.get(name));
+  }
+
+  /** Find a model by the name of its schema in the spec, the first one wins. */
+  @NonNull
+  public Optional<CodegenModel> findModelBySchemaName(@NonNull final String schemaName) {
+    return Optional.ofNullable(modelsBySchemaName.get(schemaName));
+  }
+
+  /** The models that directly extend this model. */
+  @NonNull
+  public List<CodegenModel> getChildren(@NonNull final CodegenModel parent) {
+    return Collections.unmodifiableList(childrenByParent.getOrDefault(parent, List.of()));
+  }
+
+  @NonNull
+  public List<CodegenModel> getModelsWithParents() {
+    return modelsWithParents;
+  }
+
+  /** Models with a discriminator that has a mapping. */
+  @NonNull
+  public List<CodegenModel> getModelsWithDiscriminatorChildren() {
+    return modelsWithDiscriminatorChildren;
+  }
+
+  /** Union models that either have no discriminator, or have one without a mapping. */
+  @NonNull
+  public List<CodegenModel> getModelsWithNonDiscriminatorChildren() {
+    return modelsWithNonDiscriminatorChildren;
+  }
+
+  @NonNull
+  public UnionType getUnionType(@NonNull final CodegenModel model) {
+    final UnionType unionType = unionTypes.get(model);
+    if (unionType == null) {
+      throw new IllegalArgumentException(
+          "Model is not an indexed ExtendedCodegenModel: %s".formatted(model.name));
+    }
+    return unionType;
+  }
+
+  public boolean isInvalidUnionType(@NonNull final CodegenModel model) {
+    return !getUnionType(model).isValid();
+  }
+
+  /** Find the first property of the model with this base name, ie the name used in the spec. */
+  @NonNull
+  public Optional<CodegenProperty> findPropertyByBaseName(
+      @NonNull final CodegenModel model, @NonNull final String baseName) {
+    return findProperty(propertiesByBaseName, model, BASE_NAME, baseName);
+  }
+
+  /** Find the first property of the model with this name, ie the name of the Java field. */
+  @NonNull
+  public Optional<CodegenProperty> findPropertyByName(
+      @NonNull final CodegenModel model, @NonNull final String name) {
+    return findProperty(propertiesByName, model, NAME, name);
+  }
+
+  /** Models outside the index, ie the parent of an indexed model, have their properties scanned. */
+  @NonNull
+  private static Optional<CodegenProperty> findProperty(
+      @NonNull final Map<CodegenModel, Map<String, CodegenProperty>> propertiesByModel,
+      @NonNull final CodegenModel model,
+      @NonNull final Function<CodegenProperty, String> getKey,
+      @NonNull final String key) {
+    final Map<String, CodegenProperty> properties =
+        Optional.ofNullable(propertiesByModel.get(model))
+            .orElseGet(() -> indexProperties(model.vars, getKey));
+    return Optional.ofNullable(properties.get(key));
+  }
+}
@@ -20,13 +20,13 @@ import org.openapitools.codegen.CodegenProperty;
  * lacking its mapping information is adjusted to use the Raw type instead.
  */
 public class CodegenRawTypeUsageSupport {
-  public void applyRawTypesToModelProperties(
-      @NonNull final Map<String, CodegenModel> modelClassMap) {
+  public void applyRawTypesToModelProperties(@NonNull final CodegenModelIndex index) {
+    final Map<String, CodegenModel> modelClassMap = index.getModelsByClassname();
     modelClassMap.values().stream()
         .flatMap(model -> model.vars.stream())
         .filter(prop -> Objects.nonNull(prop.complexType))
         .filter(prop -> modelClassMap.containsKey(prop.complexType))
-        .filter(prop -> CodegenModelUtils.isInvalidUnionType(modelClassMap.get(prop.complexType)))
+        .filter(prop -> index.isInvalidUnionType(modelClassMap.get(prop.complexType)))
         .forEach(CodegenRawTypeUsageSupport::convertPropertyToRawType);
   }
 
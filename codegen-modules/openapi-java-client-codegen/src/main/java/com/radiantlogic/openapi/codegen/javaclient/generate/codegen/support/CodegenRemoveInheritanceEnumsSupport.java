@@ -1,6 +1,13 @@
 package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import lombok.NonNull;
 import org.openapitools.codegen.CodegenModel;
 import org.openapitools.codegen.CodegenProperty;
@@ -14,34 +21,136 @@ import org.openapitools.codegen.CodegenProperty;
  * this problem are extensive. At some point, it's better to rip them out and achieve stability
  * rather than continue trying to correct every last use case.
  *
+ * <p>An enum is replaced by the nearest ancestor property with the same name that is not an enum.
+ * Parents are processed before their children, so an ancestor's property is final by the time its
+ * descendants look at it, and the search for it can stop at the first ancestor that has a property
+ * with that name. Ancestors without one are remembered per name, so deep hierarchies are only
+ * walked once per property name rather than once per model. A cycle in the hierarchy is an error.
+ *
  * <p>In the future, I'm sure more enhancements can be done to further close the gap and reduce the
  * need for this class.
  */
 public class CodegenRemoveInheritanceEnumsSupport {
-  public void removeInheritedEnums(@NonNull final Map<String, CodegenModel> allModels) {
-    allModels.values().forEach(model -> removeEnumIfNotEnumInParent(model, model.parentModel));
+  public void removeInheritedEnums(@NonNull final CodegenModelIndex index) {
+    final List<CodegenModel> models = index.getModelsWithParents();
+    // Every one of these is processed before any of its descendants
+    final Set<CodegenModel> processedModels = newIdentitySet(models.size());
+    processedModels.addAll(models);
+    final Map<CodegenModel, Map<String, Optional<CodegenProperty>>> nonEnumVarsByModel =
+        new IdentityHashMap<>();
+    getParentsFirst(models, processedModels)
+        .forEach(
+            model ->
+                model.vars.stream()
+                    .filter(var -> var.isEnum)
+                    .forEach(
+                        var ->
+                            findNonEnumVar(
+                                    model.parentModel,
+                                    var.name,
+                                    index,
+                                    processedModels,
+                                    nonEnumVarsByModel)
+                                .ifPresent(parentVar -> removeChildEnum(var, parentVar))));
+  }
+
+  /**
+   * Order the models so that every model comes after all of its ancestors. Ancestors that are not
+   * in the list are only walked through, they are not added to it.
+   */
+  @NonNull
+  private static List<CodegenModel> getParentsFirst(
+      @NonNull final List<CodegenModel> models, @NonNull final Set<CodegenModel> modelsToOrder) {
+    // The walk up the hierarchy that first reached each model, to tell a cycle from a model that
+    // was already ordered by an earlier walk
+    final Map<CodegenModel, Integer> walkByModel = new IdentityHashMap<>(models.size() * 2);
+    final List<CodegenModel> ordered = new ArrayList<>();
+
+    for (int walk = 0; walk < models.size(); walk++) {
+      final List<CodegenModel> hierarchy = new ArrayList<>();
+      CodegenModel current = models.get(walk);
+      while (current != null) {
+        final Integer previousWalk = walkByModel.putIfAbsent(current, walk);
+        if (previousWalk != null) {
+          if (previousWalk == walk) {
+            throw new IllegalStateException(
+                "Model inheritance is cyclic: %s".formatted(describeCycle(current)));
+          }
+          break;
+        }
+        hierarchy.add(current);
+        current = current.parentModel;
+      }
+
+      hierarchy.reversed().stream().filter(modelsToOrder::contains).forEach(ordered::add);
+    }
+    return ordered;
   }
 
-  private void removeEnumIfNotEnumInParent(
-      @NonNull final CodegenModel model, final CodegenModel parentModel) {
-    if (parentModel == null) {
-      return;
+  @NonNull
+  private static String describeCycle(@NonNull final CodegenModel start) {
+    final Set<CodegenModel> cycle = newIdentitySet(16);
+    final List<String> names = new ArrayList<>();
+    CodegenModel current = start;
+    while (current != null && cycle.add(current)) {
+      names.add(current.classname);
+      current = current.parentModel;
     }
+    names.add(start.classname);
+    return String.join(" -> ", names);
+  }
+
+  /**
+   * Find the property with this name on the model or the nearest ancestor that has it as something
+   * other than an enum.
+   *
+   * <p>A processed model that still has an enum with this name already had its ancestors searched
+   * for it and nothing was found, so the search can stop there. The result is remembered for each
+   * model that did not have the property at all, which are the ones that get walked through.
+   */
+  @NonNull
+  private static Optional<CodegenProperty> findNonEnumVar(
+      final CodegenModel model,
+      @NonNull final String name,
+      @NonNull final CodegenModelIndex index,
+      @NonNull final Set<CodegenModel> processedModels,
+      @NonNull final Map<CodegenModel, Map<String, Optional<CodegenProperty>>> nonEnumVarsByModel) {
+    final List<CodegenModel> walked = new ArrayList<>();
+    Optional<CodegenProperty> result = Optional.empty();
+    CodegenModel current = model;
+    while (current != null) {
+      final Optional<CodegenProperty> known =
+          nonEnumVarsByModel.getOrDefault(current, Map.of()).get(name);
+      if (known != null) {
+        result = known;
+        break;
+      }
 
-    model.vars.stream()
-        .filter(var -> var.isEnum)
-        .forEach(var -> removeEnumIfNotInParent(var, parentModel));
+      final Optional<CodegenProperty> var = index.findPropertyByName(current, name);
+      if (var.isPresent() && !var.get().isEnum) {
+        result = var;
+        break;
+      }
+      if (var.isPresent() && processedModels.contains(current)) {
+        break;
+      }
+
+      walked.add(current);
+      current = current.parentModel;
+    }
 
-    removeEnumIfNotEnumInParent(model, parentModel.parentModel);
+    final Optional<CodegenProperty> finalResult = result;
+    walked.forEach(
+        walkedModel ->
+            nonEnumVarsByModel
+                .computeIfAbsent(walkedModel, key -> new HashMap<>())
+                .put(name, finalResult));
+    return result;
   }
 
-  private void removeEnumIfNotInParent(
-      @NonNull final CodegenProperty var, @NonNull final CodegenModel parentModel) {
-    parentModel.vars.stream()
-        .filter(v -> v.name.equals(var.name))
-        .findFirst()
-        .filter(parentVar -> !parentVar.isEnum)
-        .ifPresent(parentVar -> removeChildEnum(var, parentVar));
+  @NonNull
+  private static Set<CodegenModel> newIdentitySet(final int expectedSize) {
+    return Collections.newSetFromMap(new IdentityHashMap<>(expectedSize));
   }
 
   private void removeChildEnum(final CodegenProperty childVar, final CodegenProperty parentVar) {
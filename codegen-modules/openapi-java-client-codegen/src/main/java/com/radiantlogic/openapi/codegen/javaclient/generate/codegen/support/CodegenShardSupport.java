@@ -0,0 +1,236 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils.ComponentRef;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.openapitools.codegen.CodegenDiscriminator;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.model.ModelsMap;
+
+/**
+ * Splits the generated code into one Maven module per tag, so that very large specs can be compiled
+ * in parallel and consumers can depend on only the tags they need.
+ *
+ * <p>Each tag's module holds its APIs and the models that only that tag uses. Everything else,
+ * models used by several tags or by none, goes into a common module that every tag module depends
+ * on. A model in a tag module may only reference models in the same module or the common module, so
+ * model usage is propagated through every type a generated model refers to until that holds.
+ */
+@Slf4j
+public class CodegenShardSupport {
+  public static final String COMMON_SHARD = "common";
+  private static final String DEFAULT_TAG = "default";
+
+  /**
+   * Stands in for the common module while usage is propagated. It cannot clash with a tag, because
+   * sanitized tags are never empty.
+   */
+  private static final String COMMON_MARKER = "";
+
+  private static final String IMPLEMENTS_EXTENSION = "x-implements";
+  private static final Pattern TYPE_NAME_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+  /**
+   * Find the schemas used by the operations of each tag. The tags are sanitized the same way the
+   * generator groups operations into APIs, and untagged operations fall under the default tag.
+   */
+  @NonNull
+  public Map<String, Set<String>> findSchemasByTag(
+      @NonNull final OpenAPI openAPI, @NonNull final UnaryOperator<String> sanitizeTag) {
+    final Map<String, List<PathItem>> pathItemsByTag = new TreeMap<>();
+    final Paths paths = Optional.ofNullable(openAPI.getPaths()).orElseGet(Paths::new);
+    for (final PathItem pathItem : paths.values()) {
+      pathItem
+          .readOperationsMap()
+          .forEach(
+              (method, operation) -> {
+                // Each operation is walked on its own, so other operations on the path do not count
+                final PathItem operationPathItem =
+                    new PathItem().parameters(pathItem.getParameters());
+                operationPathItem.operation(method, operation);
+                getTags(operation)
+                    .map(sanitizeTag)
+                    .forEach(
+                        tag ->
+                            pathItemsByTag
+                                .computeIfAbsent(tag, key -> new ArrayList<>())
+                                .add(operationPathItem));
+              });
+    }
+
+    final Map<String, Set<String>> schemasByTag = new TreeMap<>();
+    pathItemsByTag.forEach(
+        (tag, pathItems) ->
+            schemasByTag.put(
+                tag,
+                OpenapiReferenceUtils.findReachableComponents(openAPI, pathItems).stream()
+                    .filter(ComponentRef::isSchema)
+                    .map(ComponentRef::name)
+                    .collect(Collectors.toSet())));
+    return schemasByTag;
+  }
+
+  /**
+   * Decide which module each model is written to. Models used by exactly one tag, directly or
+   * through other models, go into that tag's module, everything else goes into the common module.
+   * Models nothing uses count as used by the common module, so the models they reference end up
+   * there as well.
+   */
+  @NonNull
+  public ShardLayout createLayout(
+      @NonNull final String artifactId,
+      @NonNull final Map<String, ModelsMap> allModelMaps,
+      @NonNull final Map<String, Set<String>> schemasByTag) {
+    final Map<String, CodegenModel> modelsByKey = new HashMap<>();
+    final Map<String, String> keysByClassname = new HashMap<>();
+    allModelMaps.forEach(
+        (key, modelsMap) -> {
+          final CodegenModel model = CodegenModelUtils.extractModel(modelsMap);
+          modelsByKey.put(key, model);
+          keysByClassname.put(model.classname, key);
+        });
+
+    final Map<String, Set<String>> shardsByKey = new HashMap<>();
+    modelsByKey.forEach(
+        (key, model) -> {
+          // Models no tag uses directly start with no shards, they may still be used by a model
+          // that has one
+          final Set<String> shards =
+              schemasByTag.entrySet().stream()
+                  .filter(entry -> entry.getValue().contains(model.name))
+                  .map(Map.Entry::getKey)
+                  .collect(Collectors.toCollection(HashSet::new));
+          shardsByKey.put(key, shards);
+        });
+    propagateShards(modelsByKey.keySet(), modelsByKey, keysByClassname, shardsByKey);
+
+    // Models nothing uses are in the common module, so everything they reference must be too
+    final List<String> unusedKeys =
+        shardsByKey.entrySet().stream()
+            .filter(entry -> entry.getValue().isEmpty())
+            .map(Map.Entry::getKey)
+            .toList();
+    unusedKeys.forEach(unusedKey -> shardsByKey.get(unusedKey).add(COMMON_MARKER));
+    propagateShards(unusedKeys, modelsByKey, keysByClassname, shardsByKey);
+
+    final Map<String, String> modelShards =
+        shardsByKey.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> toShard(entry.getValue())));
+    final ShardLayout layout =
+        new ShardLayout(artifactId, new TreeSet<>(schemasByTag.keySet()), modelShards);
+    log.info(
+        "Sharding output into {} tag modules, {} of {} models are in the common module",
+        layout.tags().size(),
+        modelShards.values().stream().filter(COMMON_SHARD::equals).count(),
+        modelShards.size());
+    return layout;
+  }
+
+  /** Add the shards of each model to every model it references, until nothing changes. */
+  private static void propagateShards(
+      @NonNull final Collection<String> startKeys,
+      @NonNull final Map<String, CodegenModel> modelsByKey,
+      @NonNull final Map<String, String> keysByClassname,
+      @NonNull final Map<String, Set<String>> shardsByKey) {
+    final Deque<String> queue = new ArrayDeque<>(startKeys);
+    String key;
+    while ((key = queue.poll()) != null) {
+      final Set<String> shards = shardsByKey.get(key);
+      getReferencedTypes(modelsByKey.get(key)).stream()
+          .map(keysByClassname::get)
+          .filter(Objects::nonNull)
+          .filter(referencedKey -> shardsByKey.get(referencedKey).addAll(shards))
+          .forEach(queue::add);
+    }
+  }
+
+  @NonNull
+  private static Stream<String> getTags(@NonNull final Operation operation) {
+    return Optional.ofNullable(operation.getTags())
+        .filter(tags -> !tags.isEmpty())
+        .orElse(List.of(DEFAULT_TAG))
+        .stream();
+  }
+
+  @NonNull
+  private static String toShard(@NonNull final Set<String> shards) {
+    if (shards.size() == 1 && !shards.contains(COMMON_MARKER)) {
+      return shards.iterator().next();
+    }
+    return COMMON_SHARD;
+  }
+
+  /**
+   * Every type name the generated class for the model could refer to. This is deliberately broad,
+   * anything that is not a model is simply ignored.
+   */
+  @NonNull
+  private static Set<String> getReferencedTypes(@NonNull final CodegenModel model) {
+    final Set<String> types = new HashSet<>();
+    Optional.ofNullable(model.imports).ifPresent(types::addAll);
+    Optional.ofNullable(model.parent).ifPresent(types::add);
+    Optional.ofNullable(model.interfaces).ifPresent(types::addAll);
+    Optional.ofNullable(model.oneOf).ifPresent(types::addAll);
+    Optional.ofNullable(model.anyOf).ifPresent(types::addAll);
+    Optional.ofNullable(model.discriminator).map(CodegenDiscriminator::getMappedModels).stream()
+        .flatMap(Collection::stream)
+        .map(CodegenDiscriminator.MappedModel::getModelName)
+        .forEach(types::add);
+    Optional.ofNullable(model.vendorExtensions)
+        .map(extensions -> extensions.get(IMPLEMENTS_EXTENSION))
+        .filter(Collection.class::isInstance)
+        .map(Collection.class::cast)
+        .ifPresent(implemented -> implemented.forEach(type -> addTypeNames(types, type)));
+    Stream.of(model.vars, model.allVars)
+        .filter(Objects::nonNull)
+        .flatMap(List::stream)
+        .forEach(property -> addPropertyTypes(types, property));
+    return types;
+  }
+
+  private static void addPropertyTypes(
+      @NonNull final Set<String> types, final CodegenProperty property) {
+    if (property == null) {
+      return;
+    }
+    addTypeNames(types, property.dataType);
+    addTypeNames(types, property.datatypeWithEnum);
+    addTypeNames(types, property.complexType);
+    addPropertyTypes(types, property.items);
+  }
+
+  private static void addTypeNames(@NonNull final Set<String> types, final Object typeName) {
+    if (typeName == null) {
+      return;
+    }
+    final Matcher matcher = TYPE_NAME_PATTERN.matcher(typeName.toString());
+    while (matcher.find()) {
+      types.add(matcher.group());
+    }
+  }
+}
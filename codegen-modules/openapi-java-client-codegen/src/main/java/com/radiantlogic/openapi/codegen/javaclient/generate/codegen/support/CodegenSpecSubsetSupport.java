@@ -0,0 +1,107 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils.ComponentRef;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reduce a spec down to the operations selected by tag or path, and the components those operations
+ * use. This allows a client to be generated for a small part of a very large spec, without having
+ * to split the spec beforehand.
+ *
+ * <p>An operation is kept if it has any of the included tags, or if its path is included. A path
+ * ending in '*' includes every path that starts with what comes before it.
+ */
+@Slf4j
+public class CodegenSpecSubsetSupport {
+  private static final String PATH_WILDCARD = "*";
+
+  public void subsetSpec(
+      @NonNull final OpenAPI openAPI,
+      @NonNull final Set<String> includeTags,
+      @NonNull final Set<String> includePaths) {
+    if ((includeTags.isEmpty() && includePaths.isEmpty()) || openAPI.getPaths() == null) {
+      return;
+    }
+
+    final Paths paths = openAPI.getPaths();
+    final int pathCountBefore = paths.size();
+    paths
+        .entrySet()
+        .removeIf(
+            entry ->
+                !isPathIncluded(entry.getKey(), includePaths)
+                    && !retainTaggedOperations(entry.getValue(), includeTags));
+    if (paths.isEmpty()) {
+      throw new IllegalArgumentException(
+          "No operations in the OpenAPI specification match the included tags %s or paths %s"
+              .formatted(includeTags, includePaths));
+    }
+
+    Optional.ofNullable(openAPI.getTags())
+        .ifPresent(tags -> tags.removeIf(tag -> !isTagUsed(tag.getName(), paths.values())));
+
+    final Set<ComponentRef> reachable = OpenapiReferenceUtils.findReachableComponents(openAPI);
+    final int removedComponents = OpenapiReferenceUtils.retainComponents(openAPI, reachable);
+    log.info(
+        "Reduced specification to {} of {} paths, removed {} unused components",
+        paths.size(),
+        pathCountBefore,
+        removedComponents);
+  }
+
+  private static boolean isPathIncluded(
+      @NonNull final String path, @NonNull final Set<String> includePaths) {
+    return includePaths.stream()
+        .anyMatch(
+            includePath ->
+                includePath.endsWith(PATH_WILDCARD)
+                    ? path.startsWith(includePath.substring(0, includePath.length() - 1))
+                    : path.equals(includePath));
+  }
+
+  /**
+   * Remove the operations from the path that do not have any included tag.
+   *
+   * @return true if any operations remain on the path.
+   */
+  private static boolean retainTaggedOperations(
+      @NonNull final PathItem pathItem, @NonNull final Set<String> includeTags) {
+    if (includeTags.isEmpty()) {
+      return false;
+    }
+
+    pathItem.readOperationsMap().entrySet().stream()
+        .filter(entry -> !hasIncludedTag(entry.getValue(), includeTags))
+        .map(Map.Entry::getKey)
+        .toList()
+        .forEach(method -> pathItem.operation(method, null));
+    return !pathItem.readOperations().isEmpty();
+  }
+
+  private static boolean hasIncludedTag(
+      @NonNull final Operation operation, @NonNull final Set<String> includeTags) {
+    return Optional.ofNullable(operation.getTags()).orElse(List.of()).stream()
+        .anyMatch(includeTags::contains);
+  }
+
+  private static boolean isTagUsed(
+      final String tagName, @NonNull final Collection<PathItem> pathItems) {
+    return pathItems.stream()
+        .flatMap(pathItem -> pathItem.readOperations().stream())
+        .map(Operation::getTags)
+        .filter(Objects::nonNull)
+        .anyMatch(tags -> tags.contains(tagName));
+  }
+}
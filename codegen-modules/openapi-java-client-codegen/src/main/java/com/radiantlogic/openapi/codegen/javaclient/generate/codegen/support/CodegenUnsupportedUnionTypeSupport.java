@@ -5,9 +5,13 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import lombok.NonNull;
 import org.openapitools.codegen.CodegenModel;
@@ -24,8 +28,16 @@ import org.openapitools.codegen.utils.ModelUtils;
  * replacing them with a simple Object type. It does reduce precision in the generated code, but
  * it's an acceptable tradeoff at the moment to compensate for this problem. A more sophisticated
  * solution can be built in the future.
+ *
+ * <p>The same component schemas are referenced by the properties of many models, so the verdict for
+ * each schema ref is cached for the whole generation. An instance must therefore only be used with
+ * a single spec. The cache is safe to use from several threads converting models at once, and refs
+ * that loop back on themselves without ever reaching a real schema are treated as not being unions.
  */
 public class CodegenUnsupportedUnionTypeSupport {
+  private final Map<String, Boolean> incorrectlyFlattenedByRef = new ConcurrentHashMap<>();
+  private final LongAdder refCacheHits = new LongAdder();
+  private final LongAdder refCacheMisses = new LongAdder();
 
   public void fixUnsupportedUnionTypes(
       @NonNull final CodegenModel codegenModel,
@@ -68,16 +80,71 @@ public class CodegenUnsupportedUnionTypeSupport {
 
   private boolean isIncorrectlyFlattened(
       @NonNull final Schema<?> schema, @NonNull final OpenAPI openAPI) {
-    if (schema.getType() != null && schema.getType().equals("object")) {
+    if (isObject(schema)) {
       return false;
     }
 
     if (schema.get$ref() != null) {
-      final String schemaName = parseSchemaRef(schema.get$ref());
+      return isRefIncorrectlyFlattened(schema.get$ref(), openAPI);
+    }
+
+    return isUnsupportedUnion(schema);
+  }
+
+  /**
+   * Follow a chain of refs to the schema it ends at, and cache the verdict for every ref along the
+   * way. Threads racing on the same ref will compute the same verdict, so the first one stored
+   * wins.
+   */
+  private boolean isRefIncorrectlyFlattened(
+      @NonNull final String ref, @NonNull final OpenAPI openAPI) {
+    final Boolean cachedVerdict = incorrectlyFlattenedByRef.get(ref);
+    if (cachedVerdict != null) {
+      refCacheHits.increment();
+      return cachedVerdict;
+    }
+    refCacheMisses.increment();
+
+    final Set<String> visitedRefs = new LinkedHashSet<>();
+    String currentRef = ref;
+    Boolean verdict = null;
+    while (verdict == null) {
+      if (!visitedRefs.add(currentRef)) {
+        // A cycle of refs never reaches a schema that could be a union
+        verdict = false;
+        continue;
+      }
+
+      final Boolean currentVerdict = incorrectlyFlattenedByRef.get(currentRef);
+      if (currentVerdict != null) {
+        verdict = currentVerdict;
+        continue;
+      }
+
+      final String schemaName = parseSchemaRef(currentRef);
       final Schema<?> refSchema = ModelUtils.getSchema(openAPI, schemaName);
-      return isIncorrectlyFlattened(refSchema, openAPI);
+      if (refSchema == null) {
+        throw new IllegalStateException("Schema not found for ref: %s".formatted(currentRef));
+      }
+
+      if (!isObject(refSchema) && refSchema.get$ref() != null) {
+        currentRef = refSchema.get$ref();
+      } else {
+        verdict = !isObject(refSchema) && isUnsupportedUnion(refSchema);
+      }
     }
 
+    final boolean finalVerdict = verdict;
+    visitedRefs.forEach(
+        visitedRef -> incorrectlyFlattenedByRef.putIfAbsent(visitedRef, finalVerdict));
+    return finalVerdict;
+  }
+
+  private static boolean isObject(@NonNull final Schema<?> schema) {
+    return schema.getType() != null && schema.getType().equals("object");
+  }
+
+  private boolean isUnsupportedUnion(@NonNull final Schema<?> schema) {
     if (schema.getOneOf() == null && schema.getAnyOf() == null) {
       return false;
     }
@@ -87,6 +154,16 @@ public class CodegenUnsupportedUnionTypeSupport {
     return nonObjectOneOfCount > 0 || nonObjectAnyOfCount > 0;
   }
 
+  /** The number of times a schema ref was resolved from the cache. */
+  public long getRefCacheHits() {
+    return refCacheHits.sum();
+  }
+
+  /** The number of times a schema ref was not in the cache, and had to be resolved. */
+  public long getRefCacheMisses() {
+    return refCacheMisses.sum();
+  }
+
   // I dislike using raw types but openapi-generator uses them liberally which gives me no choice
   // due to compiler restrictions in some cases
   private long getNonObjectCount(final List<Schema> schemas) {
@@ -0,0 +1,40 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils;
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils.ComponentRef;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Many specs declare far more schemas than their operations ever use. Every one of them would
+ * otherwise become a model that goes through all the model processing and gets compiled into the
+ * client, so the ones that cannot be reached from any operation or webhook are removed up front.
+ *
+ * <p>Other unreachable components are removed as well, as they could still reference the removed
+ * schemas.
+ */
+@Slf4j
+public class CodegenUnusedSchemaSupport {
+  public void removeUnusedSchemas(@NonNull final OpenAPI openAPI) {
+    final int schemaCountBefore = getSchemaCount(openAPI);
+    final Set<ComponentRef> reachable = OpenapiReferenceUtils.findReachableComponents(openAPI);
+    final int removedComponents = OpenapiReferenceUtils.retainComponents(openAPI, reachable);
+    log.info(
+        "Removed unused components from specification. Schemas: {} of {} remaining, Components removed: {}",
+        getSchemaCount(openAPI),
+        schemaCountBefore,
+        removedComponents);
+  }
+
+  private static int getSchemaCount(@NonNull final OpenAPI openAPI) {
+    return Optional.ofNullable(openAPI.getComponents())
+        .map(Components::getSchemas)
+        .map(Map::size)
+        .orElse(0);
+  }
+}
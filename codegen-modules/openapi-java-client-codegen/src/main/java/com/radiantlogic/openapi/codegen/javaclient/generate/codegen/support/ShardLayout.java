@@ -0,0 +1,56 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import lombok.NonNull;
+
+/**
+ * Which Maven module each generated file belongs to when the output is sharded by tag.
+ *
+ * @param artifactId the artifactId of the whole client, which prefixes every module name.
+ * @param tags the sanitized tags that each get their own module.
+ * @param modelShards the tag, or the common shard, of each model keyed by model name.
+ */
+public record ShardLayout(
+    @NonNull String artifactId,
+    @NonNull SortedSet<String> tags,
+    @NonNull Map<String, String> modelShards) {
+  @NonNull
+  public String getCommonModule() {
+    return "%s-%s".formatted(artifactId, CodegenShardSupport.COMMON_SHARD);
+  }
+
+  @NonNull
+  public String getModelModule(@NonNull final String modelName) {
+    final String shard = modelShards.getOrDefault(modelName, CodegenShardSupport.COMMON_SHARD);
+    return shard.equals(CodegenShardSupport.COMMON_SHARD) ? getCommonModule() : getTagModule(shard);
+  }
+
+  @NonNull
+  public String getApiModule(@NonNull final String tag) {
+    return getTagModule(tag);
+  }
+
+  @NonNull
+  public List<String> getTagModules() {
+    return tags.stream().map(this::getTagModule).toList();
+  }
+
+  /**
+   * Module names are kebab case, ie the IssueTracker tag becomes artifact-issue-tracker. A tag that
+   * would clash with the common module gets a suffix.
+   */
+  @NonNull
+  private String getTagModule(@NonNull final String tag) {
+    final String kebabTag =
+        tag.replaceAll("([a-z0-9])([A-Z])", "$1-$2")
+            .replaceAll("[^A-Za-z0-9]+", "-")
+            .toLowerCase(Locale.ROOT);
+    if (kebabTag.equals(CodegenShardSupport.COMMON_SHARD)) {
+      return "%s-%s-api".formatted(artifactId, kebabTag);
+    }
+    return "%s-%s".formatted(artifactId, kebabTag);
+  }
+}
@@ -0,0 +1,462 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.links.Link;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Encoding;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Utilities for following $ref links between the parts of an OpenAPI spec, so that the components
+ * actually used by a set of paths can be found.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class OpenapiReferenceUtils {
+  private static final Pattern COMPONENT_REF_PATTERN =
+      Pattern.compile("^#/components/([^/]+)/(.+)$");
+  private static final String SCHEMAS = "schemas";
+  private static final String RESPONSES = "responses";
+  private static final String PARAMETERS = "parameters";
+  private static final String EXAMPLES = "examples";
+  private static final String REQUEST_BODIES = "requestBodies";
+  private static final String HEADERS = "headers";
+  private static final String LINKS = "links";
+  private static final String CALLBACKS = "callbacks";
+  private static final String PATH_ITEMS = "pathItems";
+  private static final String DEFS = "$defs";
+  private static final String REF = "$ref";
+
+  /** A reference to a single named component, ie #/components/schemas/Foo. */
+  public record ComponentRef(@NonNull String type, @NonNull String name) {
+    @NonNull
+    public static ComponentRef schema(@NonNull final String name) {
+      return new ComponentRef(SCHEMAS, name);
+    }
+
+    public boolean isSchema() {
+      return SCHEMAS.equals(type);
+    }
+  }
+
+  /** Find every component that is reachable from the paths and webhooks of the spec. */
+  @NonNull
+  public static Set<ComponentRef> findReachableComponents(@NonNull final OpenAPI openAPI) {
+    final List<PathItem> pathItems = new ArrayList<>();
+    pathItems.addAll(nullSafe(openAPI.getPaths()).values());
+    pathItems.addAll(nullSafe(openAPI.getWebhooks()).values());
+    return findReachableComponents(openAPI, pathItems);
+  }
+
+  /**
+   * Find every component that is reachable from the given path items, following $ref links
+   * transitively through all component types. Discriminator mappings are followed as well, as those
+   * are references even though they are not expressed as $ref.
+   *
+   * <p>When a schema with a discriminator is reachable, every schema that extends it via allOf is
+   * reachable too, even if it is not in the mapping. The generated parent type needs to know all of
+   * its children to deserialize them.
+   */
+  @NonNull
+  public static Set<ComponentRef> findReachableComponents(
+      @NonNull final OpenAPI openAPI, @NonNull final Collection<PathItem> pathItems) {
+    final ReferenceWalker walker = new ReferenceWalker(openAPI);
+    pathItems.forEach(walker::walkPathItem);
+    walker.walkQueue();
+    return walker.reachable;
+  }
+
+  /**
+   * Call the visitor once for every schema in the spec, whether it is inline or a component, and
+   * including the components that nothing references. A schema is visited before its $ref is
+   * followed, so the visitor may change the $ref.
+   */
+  public static void forEachSchema(
+      @NonNull final OpenAPI openAPI, @NonNull final Consumer<Schema<?>> visitor) {
+    final ReferenceWalker walker = new ReferenceWalker(openAPI, visitor);
+    nullSafe(openAPI.getPaths()).values().forEach(walker::walkPathItem);
+    nullSafe(openAPI.getWebhooks()).values().forEach(walker::walkPathItem);
+    walker.addAllComponents();
+    walker.walkQueue();
+  }
+
+  /**
+   * Remove every component that is not in the retained set. Security schemes are always kept,
+   * because they are referenced by name from security requirements rather than by $ref.
+   *
+   * @return the number of components that were removed.
+   */
+  public static int retainComponents(
+      @NonNull final OpenAPI openAPI, @NonNull final Set<ComponentRef> retained) {
+    final Components components = openAPI.getComponents();
+    if (components == null) {
+      return 0;
+    }
+
+    return retain(components.getSchemas(), SCHEMAS, retained)
+        + retain(components.getResponses(), RESPONSES, retained)
+        + retain(components.getParameters(), PARAMETERS, retained)
+        + retain(components.getExamples(), EXAMPLES, retained)
+        + retain(components.getRequestBodies(), REQUEST_BODIES, retained)
+        + retain(components.getHeaders(), HEADERS, retained)
+        + retain(components.getLinks(), LINKS, retained)
+        + retain(components.getCallbacks(), CALLBACKS, retained)
+        + retain(components.getPathItems(), PATH_ITEMS, retained);
+  }
+
+  /** Parse a local component reference. References to other documents are not supported. */
+  @NonNull
+  public static Optional<ComponentRef> parseRef(final String ref) {
+    return Optional.ofNullable(ref)
+        .map(COMPONENT_REF_PATTERN::matcher)
+        .filter(Matcher::matches)
+        .map(matcher -> new ComponentRef(matcher.group(1), matcher.group(2)));
+  }
+
+  /**
+   * Discriminator mapping values are either a full schema reference or just the name of a schema.
+   */
+  @NonNull
+  public static Optional<ComponentRef> parseMappingRef(final String mappingRef) {
+    if (mappingRef == null || mappingRef.isBlank()) {
+      return Optional.empty();
+    }
+    if (!mappingRef.contains("/") && !mappingRef.contains("#")) {
+      return Optional.of(ComponentRef.schema(mappingRef));
+    }
+    return parseRef(mappingRef);
+  }
+
+  private static int retain(
+      final Map<String, ?> componentsOfType,
+      @NonNull final String type,
+      @NonNull final Set<ComponentRef> retained) {
+    if (componentsOfType == null) {
+      return 0;
+    }
+    final int sizeBefore = componentsOfType.size();
+    componentsOfType.keySet().removeIf(name -> !retained.contains(new ComponentRef(type, name)));
+    return sizeBefore - componentsOfType.size();
+  }
+
+  /**
+   * Walks the spec breadth first. Components are queued when first referenced and only walked once,
+   * and inline objects are tracked by identity, so cyclic specs terminate.
+   */
+  private static class ReferenceWalker {
+    private final Components components;
+    private final Consumer<Schema<?>> schemaVisitor;
+    private final Set<ComponentRef> reachable = new HashSet<>();
+    private final Deque<ComponentRef> queue = new ArrayDeque<>();
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Map<String, List<String>> allOfChildren;
+
+    ReferenceWalker(@NonNull final OpenAPI openAPI) {
+      this(openAPI, schema -> {});
+    }
+
+    ReferenceWalker(
+        @NonNull final OpenAPI openAPI, @NonNull final Consumer<Schema<?>> schemaVisitor) {
+      this.components = Optional.ofNullable(openAPI.getComponents()).orElseGet(Components::new);
+      this.schemaVisitor = schemaVisitor;
+    }
+
+    void addAllComponents() {
+      addAll(components.getSchemas(), SCHEMAS);
+      addAll(components.getResponses(), RESPONSES);
+      addAll(components.getParameters(), PARAMETERS);
+      addAll(components.getExamples(), EXAMPLES);
+      addAll(components.getRequestBodies(), REQUEST_BODIES);
+      addAll(components.getHeaders(), HEADERS);
+      addAll(components.getLinks(), LINKS);
+      addAll(components.getCallbacks(), CALLBACKS);
+      addAll(components.getPathItems(), PATH_ITEMS);
+    }
+
+    private void addAll(final Map<String, ?> componentsOfType, @NonNull final String type) {
+      nullSafe(componentsOfType)
+          .keySet()
+          .forEach(name -> addComponent(new ComponentRef(type, name)));
+    }
+
+    void walkQueue() {
+      ComponentRef ref;
+      while ((ref = queue.poll()) != null) {
+        walkComponent(ref);
+      }
+    }
+
+    private void addRef(final String ref) {
+      parseRef(ref).ifPresent(this::addComponent);
+    }
+
+    private void addComponent(@NonNull final ComponentRef ref) {
+      if (reachable.add(ref)) {
+        queue.add(ref);
+      }
+    }
+
+    private boolean firstVisit(final Object value) {
+      return value != null && visited.add(value);
+    }
+
+    private void walkComponent(@NonNull final ComponentRef ref) {
+      switch (ref.type()) {
+        case SCHEMAS -> walkComponentSchema(ref);
+        case RESPONSES -> walkResponse(get(Components::getResponses, ref));
+        case PARAMETERS -> walkParameter(get(Components::getParameters, ref));
+        case EXAMPLES -> walkExample(get(Components::getExamples, ref));
+        case REQUEST_BODIES -> walkRequestBody(get(Components::getRequestBodies, ref));
+        case HEADERS -> walkHeader(get(Components::getHeaders, ref));
+        case LINKS -> walkLink(get(Components::getLinks, ref));
+        case CALLBACKS -> walkCallback(get(Components::getCallbacks, ref));
+        case PATH_ITEMS -> walkPathItem(get(Components::getPathItems, ref));
+        default -> {
+          // Not a type that can be referenced
+        }
+      }
+    }
+
+    private <T> T get(
+        @NonNull final Function<Components, Map<String, T>> getter,
+        @NonNull final ComponentRef ref) {
+      return Optional.ofNullable(getter.apply(components))
+          .map(map -> map.get(ref.name()))
+          .orElse(null);
+    }
+
+    private void walkComponentSchema(@NonNull final ComponentRef ref) {
+      final Schema<?> schema = get(Components::getSchemas, ref);
+      walkSchema(schema);
+      if (schema != null && schema.getDiscriminator() != null) {
+        getAllOfChildren()
+            .getOrDefault(ref.name(), List.of())
+            .forEach(child -> addComponent(ComponentRef.schema(child)));
+      }
+    }
+
+    /** Only built if a discriminator is encountered, as it requires a pass over every schema. */
+    @NonNull
+    private Map<String, List<String>> getAllOfChildren() {
+      if (allOfChildren == null) {
+        allOfChildren = new HashMap<>();
+        for (final Map.Entry<String, Schema> entry : nullSafe(components.getSchemas()).entrySet()) {
+          final Schema<?> schema = entry.getValue();
+          nullSafe(schema.getAllOf()).stream()
+              .map(Schema::get$ref)
+              .map(OpenapiReferenceUtils::parseRef)
+              .flatMap(Optional::stream)
+              .filter(parent -> parent.type().equals(SCHEMAS))
+              .forEach(
+                  parent ->
+                      allOfChildren
+                          .computeIfAbsent(parent.name(), key -> new ArrayList<>())
+                          .add(entry.getKey()));
+        }
+      }
+      return allOfChildren;
+    }
+
+    void walkPathItem(final PathItem pathItem) {
+      if (!firstVisit(pathItem)) {
+        return;
+      }
+      addRef(pathItem.get$ref());
+      nullSafe(pathItem.getParameters()).forEach(this::walkParameter);
+      pathItem.readOperations().forEach(this::walkOperation);
+    }
+
+    private void walkOperation(final Operation operation) {
+      if (!firstVisit(operation)) {
+        return;
+      }
+      nullSafe(operation.getParameters()).forEach(this::walkParameter);
+      walkRequestBody(operation.getRequestBody());
+      nullSafe(operation.getResponses()).values().forEach(this::walkResponse);
+      nullSafe(operation.getCallbacks()).values().forEach(this::walkCallback);
+    }
+
+    private void walkCallback(final Callback callback) {
+      if (!firstVisit(callback)) {
+        return;
+      }
+      addRef(callback.get$ref());
+      callback.values().forEach(this::walkPathItem);
+    }
+
+    private void walkParameter(final Parameter parameter) {
+      if (!firstVisit(parameter)) {
+        return;
+      }
+      addRef(parameter.get$ref());
+      walkSchema(parameter.getSchema());
+      walkContent(parameter.getContent());
+      nullSafe(parameter.getExamples()).values().forEach(this::walkExample);
+    }
+
+    private void walkRequestBody(final RequestBody requestBody) {
+      if (!firstVisit(requestBody)) {
+        return;
+      }
+      addRef(requestBody.get$ref());
+      walkContent(requestBody.getContent());
+    }
+
+    private void walkResponse(final ApiResponse response) {
+      if (!firstVisit(response)) {
+        return;
+      }
+      addRef(response.get$ref());
+      walkContent(response.getContent());
+      nullSafe(response.getHeaders()).values().forEach(this::walkHeader);
+      nullSafe(response.getLinks()).values().forEach(this::walkLink);
+    }
+
+    private void walkHeader(final Header header) {
+      if (!firstVisit(header)) {
+        return;
+      }
+      addRef(header.get$ref());
+      walkSchema(header.getSchema());
+      walkContent(header.getContent());
+      nullSafe(header.getExamples()).values().forEach(this::walkExample);
+    }
+
+    private void walkExample(final Example example) {
+      if (firstVisit(example)) {
+        addRef(example.get$ref());
+      }
+    }
+
+    private void walkLink(final Link link) {
+      if (!firstVisit(link)) {
+        return;
+      }
+      addRef(link.get$ref());
+      nullSafe(link.getHeaders()).values().forEach(this::walkHeader);
+    }
+
+    private void walkContent(final Content content) {
+      nullSafe(content).values().forEach(this::walkMediaType);
+    }
+
+    private void walkMediaType(final MediaType mediaType) {
+      if (!firstVisit(mediaType)) {
+        return;
+      }
+      walkSchema(mediaType.getSchema());
+      nullSafe(mediaType.getExamples()).values().forEach(this::walkExample);
+      nullSafe(mediaType.getEncoding()).values().stream()
+          .map(Encoding::getHeaders)
+          .map(OpenapiReferenceUtils::nullSafe)
+          .flatMap(headers -> headers.values().stream())
+          .forEach(this::walkHeader);
+    }
+
+    private void walkSchema(final Schema<?> schema) {
+      if (!firstVisit(schema)) {
+        return;
+      }
+      schemaVisitor.accept(schema);
+      addRef(schema.get$ref());
+      nullSafe(schema.getProperties()).values().forEach(this::walkSchema);
+      nullSafe(schema.getPatternProperties()).values().forEach(this::walkSchema);
+      nullSafe(schema.getAllOf()).forEach(this::walkSchema);
+      nullSafe(schema.getOneOf()).forEach(this::walkSchema);
+      nullSafe(schema.getAnyOf()).forEach(this::walkSchema);
+      nullSafe(schema.getPrefixItems()).forEach(this::walkSchema);
+      nullSafe(schema.getDependentSchemas()).values().forEach(this::walkSchema);
+      walkSchema(schema.getItems());
+      walkSchema(schema.getNot());
+      walkSchema(schema.getIf());
+      walkSchema(schema.getThen());
+      walkSchema(schema.getElse());
+      walkSchema(schema.getContains());
+      walkSchema(schema.getPropertyNames());
+      walkSchema(schema.getAdditionalItems());
+      walkSchema(schema.getUnevaluatedItems());
+      walkSchema(schema.getUnevaluatedProperties());
+      walkSchema(schema.getContentSchema());
+      if (schema.getAdditionalProperties() instanceof Schema<?> additionalProperties) {
+        walkSchema(additionalProperties);
+      }
+      findDefsRefs(schema).forEach(this::addRef);
+      Optional.ofNullable(schema.getDiscriminator())
+          .map(Discriminator::getMapping)
+          .map(Map::values)
+          .stream()
+          .flatMap(Collection::stream)
+          .map(OpenapiReferenceUtils::parseMappingRef)
+          .flatMap(Optional::stream)
+          .forEach(this::addComponent);
+    }
+  }
+
+  /**
+   * The parser has no model for the $defs of a 3.1 schema and keeps them in its extensions as plain
+   * maps, so the references in them can only be found by searching those maps.
+   */
+  @NonNull
+  public static List<String> findDefsRefs(@NonNull final Schema<?> schema) {
+    final List<String> refs = new ArrayList<>();
+    Optional.ofNullable(schema.getExtensions())
+        .map(extensions -> extensions.get(DEFS))
+        .ifPresent(defs -> collectRawRefs(defs, refs));
+    return refs;
+  }
+
+  private static void collectRawRefs(final Object value, @NonNull final List<String> refs) {
+    if (value instanceof Map<?, ?> map) {
+      map.forEach(
+          (key, child) -> {
+            if (REF.equals(key) && child instanceof String ref) {
+              refs.add(ref);
+            } else {
+              collectRawRefs(child, refs);
+            }
+          });
+    } else if (value instanceof Collection<?> collection) {
+      collection.forEach(child -> collectRawRefs(child, refs));
+    }
+  }
+
+  @NonNull
+  private static <T> List<T> nullSafe(final List<T> list) {
+    return Objects.requireNonNullElse(list, List.of());
+  }
+
+  @NonNull
+  private static <K, V> Map<K, V> nullSafe(final Map<K, V> map) {
+    return Objects.requireNonNullElse(map, Map.of());
+  }
+}
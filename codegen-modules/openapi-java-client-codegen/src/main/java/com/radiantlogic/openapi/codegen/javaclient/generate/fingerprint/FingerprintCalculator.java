@@ -0,0 +1,150 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.fingerprint;
+
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OutputMode;
+import com.radiantlogic.openapi.codegen.javaclient.properties.Props;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Calculate a fingerprint of everything that goes into a generation. If two runs produce the same
+ * fingerprint then they would produce identical output, so the second one can be skipped.
+ *
+ * <p>The inputs are the raw bytes of the spec, the version of this generator, the args that affect
+ * the output, and the contents of the bundled templates. The templates are included so that a
+ * snapshot build with modified templates does not reuse output from an older build.
+ */
+@RequiredArgsConstructor
+public class FingerprintCalculator {
+  private static final String TEMPLATES_DIR = "templates";
+
+  /** The schemes of classpath resources that need their own file system to be read. */
+  private static final Set<String> ARCHIVE_SCHEMES = Set.of("jar", "resource");
+
+  @NonNull private final Props props;
+
+  @NonNull
+  public String calculate(@NonNull final byte[] specBytes, @NonNull final Args args) {
+    final MessageDigest digest = createDigest();
+    update(digest, specBytes);
+    update(digest, props.version());
+    update(digest, args.groupId());
+    update(digest, Objects.requireNonNullElse(args.artifactId(), ""));
+    update(digest, String.join(",", args.includeTags().stream().sorted().toList()));
+    update(digest, String.join(",", args.includePaths().stream().sorted().toList()));
+    update(digest, String.valueOf(args.pruneUnusedSchemas()));
+    update(digest, String.valueOf(args.dedupeSchemas()));
+    update(digest, String.valueOf(args.shardByTag()));
+    // Overwriting and incremental output write the same files, only a zip is different
+    update(digest, String.valueOf(args.outputMode() == OutputMode.ZIP));
+    update(digest, String.join(",", args.disabledPasses().stream().sorted().toList()));
+    getTemplates()
+        .forEach(
+            template -> {
+              update(digest, template.name());
+              update(digest, template.content());
+            });
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /** Each value is length-prefixed so that adjacent values cannot run into each other. */
+  private static void update(@NonNull final MessageDigest digest, @NonNull final byte[] value) {
+    digest.update(
+        new byte[] {
+          (byte) (value.length >>> 24),
+          (byte) (value.length >>> 16),
+          (byte) (value.length >>> 8),
+          (byte) value.length
+        });
+    digest.update(value);
+  }
+
+  private static void update(@NonNull final MessageDigest digest, @NonNull final String value) {
+    update(digest, value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @NonNull
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  /**
+   * The templates are read from the classpath, which is a plain directory during development, a jar
+   * once packaged, and the embedded resources of a native image, so all of them need to be
+   * supported. They are sorted by name to keep the fingerprint stable.
+   */
+  @NonNull
+  private List<Template> getTemplates() {
+    final URL templatesUrl = getClass().getClassLoader().getResource(TEMPLATES_DIR);
+    if (templatesUrl == null) {
+      throw new IllegalStateException("Unable to find templates on classpath");
+    }
+
+    try {
+      final URI templatesUri = templatesUrl.toURI();
+      if (ARCHIVE_SCHEMES.contains(templatesUri.getScheme())) {
+        return readTemplates(
+            getArchiveFileSystem(templatesUri).getPath("/%s".formatted(TEMPLATES_DIR)));
+      }
+      return readTemplates(Path.of(templatesUri));
+    } catch (final IOException | URISyntaxException ex) {
+      throw new IllegalStateException("Unable to read templates from classpath", ex);
+    }
+  }
+
+  @NonNull
+  private static FileSystem getArchiveFileSystem(@NonNull final URI templatesUri)
+      throws IOException {
+    try {
+      return FileSystems.newFileSystem(templatesUri, Map.of());
+    } catch (final FileSystemAlreadyExistsException ex) {
+      return FileSystems.getFileSystem(templatesUri);
+    }
+  }
+
+  @NonNull
+  private static List<Template> readTemplates(@NonNull final Path templatesDir) throws IOException {
+    try (Stream<Path> paths = Files.walk(templatesDir)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .sorted()
+          .map(path -> readTemplate(templatesDir, path))
+          .toList();
+    }
+  }
+
+  @NonNull
+  private static Template readTemplate(
+      @NonNull final Path templatesDir, @NonNull final Path templatePath) {
+    try {
+      return new Template(
+          templatesDir.relativize(templatePath).toString(), Files.readAllBytes(templatePath));
+    } catch (final IOException ex) {
+      throw new IllegalStateException("Unable to read template: %s".formatted(templatePath), ex);
+    }
+  }
+
+  private record Template(@NonNull String name, @NonNull byte[] content) {}
+}
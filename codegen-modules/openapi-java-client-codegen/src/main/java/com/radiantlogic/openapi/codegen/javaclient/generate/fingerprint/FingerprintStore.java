@@ -0,0 +1,97 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.fingerprint;
+
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persist fingerprints of completed generations so that unchanged specs can be skipped.
+ *
+ * <p>The fingerprint itself is stored inside the generated output directory, and is cleared before
+ * every generation starts, so a generation that fails part way through can never leave a matching
+ * fingerprint behind. The output directory is derived from the title and version in the spec, which
+ * are only known after the expensive parse, so an index keyed by fingerprint is also kept in the
+ * root output directory to find it without parsing.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FingerprintStore {
+  private static final String FINGERPRINT_FILE = "fingerprint";
+  private static final String INDEX_DIR = "fingerprints";
+
+  @NonNull private final Path rootOutputDir;
+
+  public FingerprintStore() {
+    this(CodegenPaths.OUTPUT_DIR);
+  }
+
+  /**
+   * Find the output directory of a previous generation with this fingerprint, provided it is still
+   * present and complete.
+   */
+  @NonNull
+  public Optional<Path> findUpToDateOutput(@NonNull final String fingerprint) {
+    final Path indexFile = getIndexFile(fingerprint);
+    if (!Files.exists(indexFile)) {
+      return Optional.empty();
+    }
+
+    final Path outputDir = Path.of(readString(indexFile));
+    final Path fingerprintFile = getFingerprintFile(outputDir);
+    if (!Files.exists(fingerprintFile) || !fingerprint.equals(readString(fingerprintFile))) {
+      log.debug("Fingerprint index is stale for output directory: {}", outputDir);
+      return Optional.empty();
+    }
+    return Optional.of(outputDir);
+  }
+
+  /** Record the fingerprint of a completed generation. */
+  public void save(@NonNull final String fingerprint, @NonNull final Path outputDir) {
+    writeString(getFingerprintFile(outputDir), fingerprint);
+    writeString(getIndexFile(fingerprint), outputDir.toAbsolutePath().toString());
+  }
+
+  /** Remove the fingerprint of an output directory that is about to be regenerated. */
+  public void clear(@NonNull final Path outputDir) {
+    try {
+      Files.deleteIfExists(getFingerprintFile(outputDir));
+    } catch (final IOException ex) {
+      throw new IllegalStateException(
+          "Unable to clear fingerprint for output directory: %s".formatted(outputDir), ex);
+    }
+  }
+
+  @NonNull
+  private Path getIndexFile(@NonNull final String fingerprint) {
+    return rootOutputDir.resolve(CodegenPaths.METADATA_DIR).resolve(INDEX_DIR).resolve(fingerprint);
+  }
+
+  @NonNull
+  private static Path getFingerprintFile(@NonNull final Path outputDir) {
+    return outputDir.resolve(CodegenPaths.METADATA_DIR).resolve(FINGERPRINT_FILE);
+  }
+
+  @NonNull
+  private static String readString(@NonNull final Path path) {
+    try {
+      return Files.readString(path, StandardCharsets.UTF_8).strip();
+    } catch (final IOException ex) {
+      throw new IllegalStateException("Unable to read fingerprint file: %s".formatted(path), ex);
+    }
+  }
+
+  private static void writeString(@NonNull final Path path, @NonNull final String value) {
+    try {
+      Files.createDirectories(path.getParent());
+      Files.writeString(path, value, StandardCharsets.UTF_8);
+    } catch (final IOException ex) {
+      throw new IllegalStateException("Unable to write fingerprint file: %s".formatted(path), ex);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
+import com.samskivert.mustache.Mustache;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+
+/**
+ * Renders templates like the default MustacheEngineAdapter, but takes the compiled templates from a
+ * CompiledTemplateCache shared with other generations instead of compiling them for every file.
+ *
+ * <p>A cached template is reused as long as its content is unchanged. Partials are compiled once
+ * per cached template and are not part of its content, so if the templates are read from a
+ * directory rather than a jar, a change to any file in that directory also compiles every template
+ * again.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CachingMustacheEngineAdapter extends MustacheEngineAdapter {
+  private static final String PARENT_CONTEXT_KEY = "MUSTACHE_PARENT_CONTEXT";
+
+  /**
+   * Cached templates outlive the generation that compiled them, so they must not hold on to its
+   * TemplatingExecutor. Instead, partials are loaded through the one rendering on the current
+   * thread.
+   */
+  private static final ThreadLocal<Rendering> CURRENT_RENDERING = new ThreadLocal<>();
+
+  private static final Mustache.TemplateLoader PARTIAL_LOADER =
+      name -> {
+        final Rendering rendering = CURRENT_RENDERING.get();
+        return rendering.adapter().findTemplate(rendering.executor(), name);
+      };
+
+  @NonNull private final CompiledTemplateCache templateCache;
+  @NonNull private final CodegenConfig config;
+  @NonNull private final GenerationTimer generationTimer;
+
+  /** Only known once the codegen has been initialized, so it is resolved on first use. */
+  private String templateDirVersion;
+
+  @Override
+  public String compileTemplate(
+      @NonNull final TemplatingExecutor executor,
+      @NonNull final Map<String, Object> bundle,
+      @NonNull final String templateFile)
+      throws IOException {
+    final String contents = executor.getFullTemplateContents(templateFile);
+    final Object parentContext =
+        Optional.ofNullable(bundle.get(PARENT_CONTEXT_KEY))
+            .orElseGet(
+                () -> {
+                  log.warn(
+                      "{} not found. super.processOpts needs to be called in processOpts()",
+                      PARENT_CONTEXT_KEY);
+                  return new Object();
+                });
+
+    final Rendering previous = CURRENT_RENDERING.get();
+    CURRENT_RENDERING.set(new Rendering(this, executor));
+    try {
+      final CompiledTemplateCache.Lookup lookup =
+          templateCache.get(
+              getTemplateSource(),
+              templateFile,
+              "%s:%s".formatted(hash(contents), getTemplateDirVersion()),
+              () -> getCompiler().withLoader(PARTIAL_LOADER).defaultValue("").compile(contents));
+      generationTimer.count(
+          SinkTemplateProcessor.RENDER_PHASE,
+          lookup.cached() ? "cachedTemplates" : "compiledTemplates",
+          1);
+
+      final StringWriter writer = new StringWriter();
+      lookup.template().execute(bundle, parentContext, writer);
+      return writer.toString();
+    } finally {
+      CURRENT_RENDERING.set(previous);
+    }
+  }
+
+  /** Everything that decides which file a template path resolves to. */
+  @NonNull
+  private String getTemplateSource() {
+    return "%s|%s|%s"
+        .formatted(config.templateDir(), config.embeddedTemplateDir(), config.getLibrary());
+  }
+
+  @NonNull
+  private synchronized String getTemplateDirVersion() {
+    if (templateDirVersion == null) {
+      templateDirVersion = findTemplateDir().map(CachingMustacheEngineAdapter::hashDir).orElse("");
+    }
+    return templateDirVersion;
+  }
+
+  /**
+   * The template dir is either a directory on disk, or on the classpath. Templates in a jar cannot
+   * change while the JVM is running, so those are not considered.
+   */
+  @NonNull
+  private Optional<Path> findTemplateDir() {
+    final Path templateDir = Path.of(config.templateDir());
+    if (Files.isDirectory(templateDir)) {
+      return Optional.of(templateDir);
+    }
+
+    final URL templateDirUrl = getClass().getClassLoader().getResource(config.templateDir());
+    if (templateDirUrl == null || !"file".equals(templateDirUrl.getProtocol())) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Path.of(templateDirUrl.toURI()));
+    } catch (final URISyntaxException ex) {
+      throw new IllegalStateException("Invalid template dir: %s".formatted(templateDirUrl), ex);
+    }
+  }
+
+  /** The name, size and modification time of every file is enough to notice a change. */
+  @NonNull
+  private static String hashDir(@NonNull final Path templateDir) {
+    try (Stream<Path> paths = Files.walk(templateDir)) {
+      final String files =
+          paths
+              .filter(Files::isRegularFile)
+              .sorted()
+              .map(path -> describeFile(templateDir, path))
+              .reduce("", String::concat);
+      return hash(files);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException("Unable to read template dir: %s".formatted(templateDir), ex);
+    }
+  }
+
+  @NonNull
+  private static String describeFile(@NonNull final Path templateDir, @NonNull final Path path) {
+    try {
+      return "%s:%d:%d%n"
+          .formatted(
+              templateDir.relativize(path),
+              Files.size(path),
+              Files.getLastModifiedTime(path).toMillis());
+    } catch (final IOException ex) {
+      throw new UncheckedIOException("Unable to read template: %s".formatted(path), ex);
+    }
+  }
+
+  @NonNull
+  private static String hash(@NonNull final String value) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  private record Rendering(
+      @NonNull CachingMustacheEngineAdapter adapter, @NonNull TemplatingExecutor executor) {}
+}
@@ -0,0 +1,63 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import com.samskivert.mustache.Template;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Compiled Mustache templates, shared by every generation in the JVM so that a batch or the daemon
+ * only compiles each template once rather than once per spec.
+ *
+ * <p>A template is cached by where templates are looked up from and its path. Each entry also
+ * records the version of the template it was compiled from, and a lookup with a different version
+ * compiles the template again and replaces the entry.
+ */
+public class CompiledTemplateCache {
+  private final Map<TemplateKey, CachedTemplate> templates = new ConcurrentHashMap<>();
+
+  /**
+   * Get the compiled template, compiling it if it isn't cached or was cached for another version.
+   *
+   * @param templateSource where the template was looked up from, the same path from different
+   *     sources is cached separately.
+   * @param templateFile the path of the template.
+   * @param version identifies the content of the template and of every partial it may include.
+   * @param compiler compiles the template when needed.
+   */
+  @NonNull
+  public Lookup get(
+      @NonNull final String templateSource,
+      @NonNull final String templateFile,
+      @NonNull final String version,
+      @NonNull final Supplier<Template> compiler) {
+    final AtomicBoolean compiled = new AtomicBoolean();
+    final CachedTemplate cached =
+        templates.compute(
+            new TemplateKey(templateSource, templateFile),
+            (key, existing) -> {
+              if (existing != null && existing.version().equals(version)) {
+                return existing;
+              }
+              compiled.set(true);
+              return new CachedTemplate(version, compiler.get());
+            });
+    return new Lookup(cached.template(), !compiled.get());
+  }
+
+  public int size() {
+    return templates.size();
+  }
+
+  /**
+   * @param template the compiled template.
+   * @param cached true if the template was already compiled by an earlier lookup.
+   */
+  public record Lookup(@NonNull Template template, boolean cached) {}
+
+  private record TemplateKey(@NonNull String templateSource, @NonNull String templateFile) {}
+
+  private record CachedTemplate(@NonNull String version, @NonNull Template template) {}
+}
@@ -0,0 +1,11 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+/**
+ * The phases of the DefaultGenerator that file output cares about. Each one is signalled right
+ * before it starts, models are the first phase so they have no signal of their own.
+ */
+public enum GenerationPhase {
+  APIS,
+  WEBHOOKS,
+  COMPLETE
+}
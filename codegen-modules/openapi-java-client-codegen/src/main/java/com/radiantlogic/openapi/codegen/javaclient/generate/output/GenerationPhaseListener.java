@@ -0,0 +1,9 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import lombok.NonNull;
+
+/** Implemented by a TemplateProcessor that needs to know when the generator changes phase. */
+@FunctionalInterface
+public interface GenerationPhaseListener {
+  void onPhase(@NonNull GenerationPhase phase);
+}
@@ -0,0 +1,128 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes only the files whose content has actually changed, leaving everything else untouched so
+ * that its mtime is preserved and downstream incremental compilation only picks up real changes.
+ *
+ * <p>Files produced by the previous generation are tracked via the FILES metadata that
+ * openapi-generator writes. Anything listed there that is not produced again is deleted, anything
+ * else in the output directory (ie, a maven target directory) is left alone.
+ */
+@Slf4j
+public class IncrementalOutputSink implements OutputSink {
+  private static final String FILES_METADATA = ".openapi-generator/FILES";
+  private static final Set<String> PRESERVED_FILES = Set.of(".openapi-generator-ignore");
+
+  @NonNull private final Path outputDir;
+  @NonNull private final List<String> previousFiles;
+  private final Set<Path> producedFiles = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger writtenCount = new AtomicInteger();
+  private final AtomicInteger unchangedCount = new AtomicInteger();
+
+  /**
+   * Must be created before the generation starts, so the previous FILES metadata is still intact.
+   */
+  public IncrementalOutputSink(@NonNull final Path outputDir) {
+    this.outputDir = outputDir.toAbsolutePath().normalize();
+    this.previousFiles = readPreviousFiles(this.outputDir);
+  }
+
+  @Override
+  @NonNull
+  public Path write(@NonNull final Path target, @NonNull final byte[] content) throws IOException {
+    final Path absoluteTarget = target.toAbsolutePath().normalize();
+    producedFiles.add(absoluteTarget);
+
+    if (isUnchanged(absoluteTarget, content)) {
+      log.debug("Skipping unchanged file {}", absoluteTarget);
+      unchangedCount.incrementAndGet();
+      return absoluteTarget;
+    }
+
+    log.debug("Writing changed file {}", absoluteTarget);
+    Files.createDirectories(absoluteTarget.getParent());
+    Files.write(absoluteTarget, content);
+    writtenCount.incrementAndGet();
+    return absoluteTarget;
+  }
+
+  @Override
+  public void finish() throws IOException {
+    int deletedCount = 0;
+    for (final String previousFile : previousFiles) {
+      if (isPreserved(previousFile)) {
+        continue;
+      }
+
+      final Path path = outputDir.resolve(previousFile).normalize();
+      if (path.startsWith(outputDir) && !producedFiles.contains(path) && Files.exists(path)) {
+        log.debug("Deleting file that is no longer generated {}", path);
+        Files.delete(path);
+        deleteEmptyParents(path.getParent());
+        deletedCount++;
+      }
+    }
+
+    log.info(
+        "Incremental output complete. Written: {}, Unchanged: {}, Deleted: {}",
+        writtenCount.get(),
+        unchangedCount.get(),
+        deletedCount);
+  }
+
+  /** The size is compared first, so the content only needs to be read if the size matches. */
+  private static boolean isUnchanged(@NonNull final Path target, @NonNull final byte[] content)
+      throws IOException {
+    return Files.isRegularFile(target)
+        && Files.size(target) == content.length
+        && Arrays.equals(Files.readAllBytes(target), content);
+  }
+
+  private static boolean isPreserved(@NonNull final String relativePath) {
+    return PRESERVED_FILES.contains(relativePath)
+        || relativePath.startsWith("%s/".formatted(CodegenPaths.METADATA_DIR));
+  }
+
+  private void deleteEmptyParents(final Path dir) throws IOException {
+    Path current = dir;
+    while (current != null && !current.equals(outputDir) && current.startsWith(outputDir)) {
+      try (var children = Files.list(current)) {
+        if (children.findAny().isPresent()) {
+          return;
+        }
+      }
+      Files.delete(current);
+      current = current.getParent();
+    }
+  }
+
+  @NonNull
+  private static List<String> readPreviousFiles(@NonNull final Path outputDir) {
+    final Path filesMetadata = outputDir.resolve(FILES_METADATA);
+    if (!Files.exists(filesMetadata)) {
+      return List.of();
+    }
+
+    try {
+      return Files.readAllLines(filesMetadata).stream()
+          .map(String::strip)
+          .filter(line -> !line.isEmpty())
+          .toList();
+    } catch (final IOException ex) {
+      throw new IllegalStateException(
+          "Unable to read previous generation metadata: %s".formatted(filesMetadata), ex);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+
+/** How the generated code is written to the output directory. */
+public enum OutputMode {
+  /** Delete the output directory and write every file from scratch. */
+  OVERWRITE,
+  /**
+   * Keep the output directory, only write files whose content has changed, and delete files that
+   * are no longer produced. Unchanged files keep their mtime, so incremental compilation works.
+   */
+  INCREMENTAL,
+  /**
+   * Delete the output directory and write every file into a single zip in it, rather than a
+   * directory tree.
+   */
+  ZIP;
+
+  @NonNull
+  public String getArgValue() {
+    return name().toLowerCase();
+  }
+
+  @NonNull
+  public static OutputMode fromArgValue(@NonNull final String value) {
+    return Arrays.stream(values())
+        .filter(mode -> mode.getArgValue().equals(value.toLowerCase()))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    "Invalid output mode: %s. Valid values are: %s"
+                        .formatted(value, getArgValues())));
+  }
+
+  @NonNull
+  public static String getArgValues() {
+    return Arrays.stream(values()).map(OutputMode::getArgValue).collect(Collectors.joining(", "));
+  }
+}
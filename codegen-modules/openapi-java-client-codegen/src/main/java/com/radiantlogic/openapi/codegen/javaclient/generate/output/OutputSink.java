@@ -0,0 +1,25 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import lombok.NonNull;
+
+/**
+ * The destination for rendered files. The generator renders every file into memory first and then
+ * hands the bytes to the sink, which decides how they actually get persisted.
+ *
+ * <p>Implementations must be thread safe, files may be written concurrently.
+ */
+public interface OutputSink {
+  /**
+   * Persist the content for the target file.
+   *
+   * @return the path of the file in the output directory, which the generator records in its FILES
+   *     metadata.
+   */
+  @NonNull
+  Path write(@NonNull Path target, @NonNull byte[] content) throws IOException;
+
+  /** Called once after the generator has written every file. */
+  void finish() throws IOException;
+}
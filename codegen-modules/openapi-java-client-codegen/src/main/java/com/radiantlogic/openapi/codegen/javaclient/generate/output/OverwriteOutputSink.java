@@ -0,0 +1,21 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.NonNull;
+
+/** Writes every file unconditionally, the output directory is expected to have been wiped. */
+public class OverwriteOutputSink implements OutputSink {
+  @Override
+  @NonNull
+  public Path write(@NonNull final Path target, @NonNull final byte[] content) throws IOException {
+    final Path absoluteTarget = target.toAbsolutePath().normalize();
+    Files.createDirectories(absoluteTarget.getParent());
+    Files.write(absoluteTarget, content);
+    return absoluteTarget;
+  }
+
+  @Override
+  public void finish() {}
+}
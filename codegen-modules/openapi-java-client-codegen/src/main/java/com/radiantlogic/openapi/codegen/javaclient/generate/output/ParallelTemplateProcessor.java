@@ -0,0 +1,114 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openapitools.codegen.api.TemplateProcessor;
+
+/**
+ * Renders the model and API templates on a ForkJoinPool, rather than one at a time on the
+ * generator's thread.
+ *
+ * <p>The generator prepares the data for every file serially, exactly as it normally would, and
+ * only the rendering and writing of each file is handed off. The target file is returned
+ * immediately so the generator can keep going. Rendering only reads the data, and everything
+ * rendered is identical to the serial output.
+ *
+ * <p>The model phase begins after postProcessAllModels has finished, and all models are complete
+ * before the API phase begins to process operations. All APIs are complete before any later phase,
+ * which is rendered serially because the supporting file bundle is built from the same data.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ParallelTemplateProcessor implements TemplateProcessor, GenerationPhaseListener {
+  @NonNull private final TemplateProcessor delegate;
+  @NonNull private final ForkJoinPool pool;
+  private final Queue<ForkJoinTask<File>> pending = new ConcurrentLinkedQueue<>();
+  private volatile boolean parallel = true;
+
+  @Override
+  public File write(
+      @NonNull final Map<String, Object> data,
+      @NonNull final String template,
+      @NonNull final File target)
+      throws IOException {
+    if (!parallel) {
+      return delegate.write(data, template, target);
+    }
+
+    pending.add(
+        pool.submit(
+            () -> {
+              try {
+                return delegate.write(data, template, target);
+              } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                    "Failed to render %s to %s".formatted(template, target), ex);
+              }
+            }));
+    return target;
+  }
+
+  @Override
+  public File writeToFile(@NonNull final String filename, @NonNull final byte[] contents)
+      throws IOException {
+    return delegate.writeToFile(filename, contents);
+  }
+
+  @Override
+  public void ignore(final Path path, final String context) {
+    delegate.ignore(path, context);
+  }
+
+  @Override
+  public void skip(final Path path, final String context) {
+    delegate.skip(path, context);
+  }
+
+  @Override
+  public void error(final Path path, final String context) {
+    delegate.error(path, context);
+  }
+
+  @Override
+  public void onPhase(@NonNull final GenerationPhase phase) {
+    log.debug("Waiting for pending renders before phase {}", phase);
+    awaitPending();
+    if (phase != GenerationPhase.APIS) {
+      parallel = false;
+    }
+  }
+
+  /**
+   * Wait for every render to finish. All of them are waited on even if one fails, so that nothing
+   * is still writing once the failure is thrown.
+   */
+  private void awaitPending() {
+    RuntimeException failure = null;
+    ForkJoinTask<File> task;
+    while ((task = pending.poll()) != null) {
+      try {
+        task.join();
+      } catch (final RuntimeException ex) {
+        if (failure == null) {
+          failure = ex;
+        } else {
+          failure.addSuppressed(ex);
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+}
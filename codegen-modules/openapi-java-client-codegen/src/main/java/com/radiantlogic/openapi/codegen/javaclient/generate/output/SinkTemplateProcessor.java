@@ -0,0 +1,107 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.api.TemplateProcessor;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.templating.TemplateNotFoundException;
+
+/**
+ * Replaces the file writing of the default TemplateManager. Templates are still located and
+ * compiled by the TemplateManager, but the result is rendered into memory and then handed to an
+ * OutputSink rather than being written straight to disk.
+ *
+ * <p>Rendering is timed separately for each template, and may be happening on several threads.
+ */
+@RequiredArgsConstructor
+public class SinkTemplateProcessor implements TemplateProcessor {
+  public static final String RENDER_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "render");
+  public static final String WRITE_PHASE =
+      GenerationTimer.phase(GenerationTimer.GENERATE_PHASE, "write");
+
+  @NonNull private final TemplateManager templateManager;
+  @NonNull private final TemplatingEngineAdapter templatingEngine;
+  @NonNull private final OutputSink outputSink;
+  @NonNull private final GenerationTimer generationTimer;
+
+  @Override
+  public File write(
+      @NonNull final Map<String, Object> data,
+      @NonNull final String template,
+      @NonNull final File target)
+      throws IOException {
+    // Some templates are in subdirectories, which must not be mistaken for nested phases
+    final String templatePhase = GenerationTimer.phase(RENDER_PHASE, template.replace('/', '.'));
+    final byte[] contents =
+        generationTimer.time(
+            RENDER_PHASE, () -> generationTimer.time(templatePhase, () -> render(data, template)));
+    generationTimer.count(RENDER_PHASE, "files", 1);
+    generationTimer.count(templatePhase, "files", 1);
+    return writeToFile(target.getPath(), contents);
+  }
+
+  @Override
+  public File writeToFile(@NonNull final String filename, @NonNull final byte[] contents)
+      throws IOException {
+    final File file =
+        generationTimer.time(
+            WRITE_PHASE, () -> outputSink.write(Path.of(filename), contents).toFile());
+    generationTimer.count(WRITE_PHASE, "files", 1);
+    generationTimer.count(WRITE_PHASE, "bytes", contents.length);
+    return file;
+  }
+
+  @Override
+  public void ignore(final Path path, final String context) {
+    templateManager.ignore(path, context);
+  }
+
+  @Override
+  public void skip(final Path path, final String context) {
+    templateManager.skip(path, context);
+  }
+
+  @Override
+  public void error(final Path path, final String context) {
+    templateManager.error(path, context);
+  }
+
+  /**
+   * Mirrors TemplateManager.write, templates handled by the engine are compiled, everything else is
+   * copied as-is.
+   */
+  @NonNull
+  public byte[] render(@NonNull final Map<String, Object> data, @NonNull final String template)
+      throws IOException {
+    if (templatingEngine.handlesFile(template)) {
+      return templatingEngine
+          .compileTemplate(templateManager, data, template)
+          .getBytes(StandardCharsets.UTF_8);
+    }
+
+    try {
+      final String fullTemplatePath = templateManager.getFullTemplatePath(template).toString();
+      try (InputStream stream =
+          getClass()
+              .getClassLoader()
+              .getResourceAsStream(TemplateManager.getCPResourcePath(fullTemplatePath))) {
+        if (stream != null) {
+          return stream.readAllBytes();
+        }
+      }
+      return Files.readAllBytes(Path.of(fullTemplatePath));
+    } catch (final TemplateNotFoundException ex) {
+      return Files.readAllBytes(Path.of(template));
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes every file into a single zip in the output directory instead of a directory tree, so that
+ * a large client is one file on disk and deleting it is a single unlink. The zip has the same
+ * layout as the output directory would have, so it can be extracted and built as is.
+ *
+ * <p>The zip only gets its name once the generation finishes, so a generation that fails part way
+ * through never leaves a zip behind. Until then the content is held compressed in memory.
+ */
+@Slf4j
+public class ZipOutputSink implements OutputSink {
+  public static final String ZIP_FILE = "sources.zip";
+  private static final String PARTIAL_ZIP_FILE = "%s.partial".formatted(ZIP_FILE);
+  private static final String IGNORE_FILE = ".openapi-generator-ignore";
+
+  @NonNull private final Path outputDir;
+  @NonNull private final Path zipFile;
+  @NonNull private final Path partialZipFile;
+  @NonNull private final FileSystem zipFileSystem;
+  private final AtomicInteger writtenCount = new AtomicInteger();
+
+  /** Must be created after the output directory has been prepared. */
+  public ZipOutputSink(@NonNull final Path outputDir) {
+    this.outputDir = outputDir.toAbsolutePath().normalize();
+    this.zipFile = this.outputDir.resolve(ZIP_FILE);
+    this.partialZipFile = this.outputDir.resolve(PARTIAL_ZIP_FILE);
+    try {
+      this.zipFileSystem = FileSystems.newFileSystem(partialZipFile, Map.of("create", "true"));
+    } catch (final IOException ex) {
+      throw new IllegalStateException("Unable to create zip: %s".formatted(zipFile), ex);
+    }
+  }
+
+  /**
+   * @return the path the file would have in the output directory, which is where it is once the zip
+   *     is extracted there.
+   */
+  @Override
+  @NonNull
+  public Path write(@NonNull final Path target, @NonNull final byte[] content) throws IOException {
+    final Path absoluteTarget = target.toAbsolutePath().normalize();
+    writeEntry(toRelativePath(absoluteTarget), content);
+    return absoluteTarget;
+  }
+
+  /**
+   * The generator reads the ignore file from the output directory, so that is the only file written
+   * there. It is moved into the zip, and the directories the generator creates up front for the
+   * supporting files, which stay empty, are deleted.
+   */
+  @Override
+  public void finish() throws IOException {
+    final Path ignoreFile = outputDir.resolve(IGNORE_FILE);
+    if (Files.exists(ignoreFile)) {
+      writeEntry(IGNORE_FILE, Files.readAllBytes(ignoreFile));
+      Files.delete(ignoreFile);
+    }
+    zipFileSystem.close();
+    Files.move(partialZipFile, zipFile, StandardCopyOption.REPLACE_EXISTING);
+    deleteEmptyDirs();
+
+    log.info("Zip output complete. Written: {}, Zip: {}", writtenCount.get(), zipFile);
+  }
+
+  private void writeEntry(@NonNull final String relativePath, @NonNull final byte[] content)
+      throws IOException {
+    final Path entry = zipFileSystem.getPath(relativePath);
+    if (entry.getParent() != null) {
+      Files.createDirectories(entry.getParent());
+    }
+    Files.write(entry, content);
+    writtenCount.incrementAndGet();
+  }
+
+  /** Entries always use forward slashes, whatever the platform's separator is. */
+  @NonNull
+  private String toRelativePath(@NonNull final Path absoluteTarget) {
+    if (!absoluteTarget.startsWith(outputDir)) {
+      throw new IllegalArgumentException(
+          "Target is outside the output directory: %s".formatted(absoluteTarget));
+    }
+    return outputDir.relativize(absoluteTarget).toString().replace(File.separatorChar, '/');
+  }
+
+  private void deleteEmptyDirs() throws IOException {
+    final List<Path> dirs;
+    try (Stream<Path> paths = Files.walk(outputDir)) {
+      dirs =
+          paths
+              .filter(Files::isDirectory)
+              .filter(dir -> !dir.equals(outputDir))
+              .filter(dir -> !dir.startsWith(outputDir.resolve(CodegenPaths.METADATA_DIR)))
+              .sorted(Comparator.reverseOrder())
+              .toList();
+    }
+    for (final Path dir : dirs) {
+      try (Stream<Path> children = Files.list(dir)) {
+        if (children.findAny().isPresent()) {
+          continue;
+        }
+      }
+      Files.delete(dir);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * The performance report of a single generation, written next to its output.
+ *
+ * @param openapiUrl the specification that was generated.
+ * @param generatedAt when the generation finished, as an ISO-8601 instant.
+ * @param totalWallNanos the elapsed time of the whole generation.
+ * @param peakHeapBytes the peak heap of the whole generation, or null if memory is not being
+ *     profiled.
+ * @param maxHeapBytes the maximum heap size of the JVM, or null if memory is not being profiled.
+ * @param phases the timing of each phase, in the order they started.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GenerationReport(
+    @NonNull String openapiUrl,
+    @NonNull String generatedAt,
+    long totalWallNanos,
+    Long peakHeapBytes,
+    Long maxHeapBytes,
+    @NonNull List<PhaseTiming> phases) {}
@@ -0,0 +1,108 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write the generation report as JSON into the metadata directory of the output, so that it can be
+ * collected and compared between runs, and log it as a table. Memory is logged as a separate table
+ * when it was profiled.
+ */
+@Slf4j
+public class GenerationReportWriter {
+  public static final String REPORT_FILE = "generation-report.json";
+  private static final String ROW_FORMAT = "%n%-72s %8s %12s %12s  %s";
+  private static final String MEMORY_ROW_FORMAT = "%n%-72s %12s %12s %12s";
+  private static final double NANOS_PER_MILLI = 1_000_000D;
+  private static final double BYTES_PER_MEGABYTE = 1024D * 1024D;
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  @NonNull
+  public Path write(@NonNull final GenerationReport report, @NonNull final Path outputDir) {
+    final Path reportFile = outputDir.resolve(CodegenPaths.METADATA_DIR).resolve(REPORT_FILE);
+    try {
+      Files.createDirectories(reportFile.getParent());
+      objectMapper.writeValue(reportFile.toFile(), report);
+    } catch (final IOException ex) {
+      throw new IllegalStateException(
+          "Unable to write generation report: %s".formatted(reportFile), ex);
+    }
+    log.debug("Generation report written to {}", reportFile);
+    return reportFile;
+  }
+
+  public void logSummary(@NonNull final GenerationReport report) {
+    if (!log.isInfoEnabled()) {
+      return;
+    }
+
+    final StringBuilder table = new StringBuilder("Generation report for ");
+    table.append(report.openapiUrl());
+    table.append(ROW_FORMAT.formatted("Phase", "Calls", "Wall ms", "CPU ms", "Items"));
+    report
+        .phases()
+        .forEach(
+            timing ->
+                table.append(
+                    ROW_FORMAT.formatted(
+                        getIndentedName(timing),
+                        timing.invocations(),
+                        toMillis(timing.wallNanos()),
+                        toMillis(timing.cpuNanos()),
+                        timing.counts().entrySet().stream()
+                            .map(entry -> "%s=%d".formatted(entry.getKey(), entry.getValue()))
+                            .collect(Collectors.joining(", ")))));
+    table.append(ROW_FORMAT.formatted("total", "", toMillis(report.totalWallNanos()), "", ""));
+    log.info(table.toString());
+
+    if (report.peakHeapBytes() != null) {
+      logMemorySummary(report);
+    }
+  }
+
+  private void logMemorySummary(@NonNull final GenerationReport report) {
+    final StringBuilder table = new StringBuilder("Memory report for ");
+    table.append(report.openapiUrl());
+    table.append(MEMORY_ROW_FORMAT.formatted("Phase", "Alloc MB", "Peak MB", "Live MB"));
+    report
+        .phases()
+        .forEach(
+            timing ->
+                table.append(
+                    MEMORY_ROW_FORMAT.formatted(
+                        getIndentedName(timing),
+                        toMegabytes(timing.allocatedBytes()),
+                        toMegabytes(timing.peakHeapBytes()),
+                        toMegabytes(timing.liveSetBytes()))));
+    table.append(MEMORY_ROW_FORMAT.formatted("total", "", toMegabytes(report.peakHeapBytes()), ""));
+    table.append("%nMax heap: %s MB".formatted(toMegabytes(report.maxHeapBytes())));
+    log.info(table.toString());
+  }
+
+  @NonNull
+  private static String getIndentedName(@NonNull final PhaseTiming timing) {
+    final String phase = timing.phase();
+    final String name = phase.substring(phase.lastIndexOf('/') + 1);
+    return "  ".repeat(timing.depth()) + name;
+  }
+
+  @NonNull
+  private static String toMegabytes(final Long bytes) {
+    return bytes != null ? String.format(Locale.ROOT, "%.1f", bytes / BYTES_PER_MEGABYTE) : "";
+  }
+
+  @NonNull
+  private static String toMillis(final long nanos) {
+    return String.format(Locale.ROOT, "%.1f", nanos / NANOS_PER_MILLI);
+  }
+}
@@ -0,0 +1,235 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.report;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.NonNull;
+
+/**
+ * Records the wall time, CPU time and item counts of each phase of a generation.
+ *
+ * <p>Phases are identified by their full path, with '/' separating a phase from the phase it runs
+ * inside of, ie generate/postProcessAllModels. A phase that runs many times, like fromModel, is
+ * accumulated into a single entry. Phases can be timed from any thread, work done on several
+ * threads at once is summed, so the wall time of a parallel phase can exceed the elapsed time.
+ *
+ * <p>CPU time is only counted for the thread that runs the phase. Work a phase hands off to other
+ * threads is not included unless those threads time it themselves.
+ *
+ * <p>With a MemoryProfiler, the bytes allocated by each phase are also counted the same way as CPU
+ * time, and memory snapshots can be taken once a phase is complete. A snapshot forces a full GC, so
+ * its time is left out of every phase it is taken inside of on the same thread.
+ */
+public class GenerationTimer {
+  public static final String FETCH_PHASE = "fetch";
+  public static final String PARSE_PHASE = "parse";
+  public static final String INIT_PHASE = "init";
+  public static final String GENERATE_PHASE = "generate";
+  public static final String VERIFY_PHASE = "verify";
+
+  private static final String PHASE_SEPARATOR = "/";
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private final long startNanos = System.nanoTime();
+
+  /** Null if memory is not being profiled. */
+  private final MemoryProfiler memoryProfiler;
+
+  /** The time spent taking memory snapshots on each thread so far. */
+  private final ThreadLocal<SnapshotTime> snapshotTime = ThreadLocal.withInitial(SnapshotTime::new);
+
+  /** In the order each phase was first started. */
+  private final Map<String, PhaseAccumulator> phases = new LinkedHashMap<>();
+
+  public GenerationTimer() {
+    this(null);
+  }
+
+  public GenerationTimer(final MemoryProfiler memoryProfiler) {
+    this.memoryProfiler = memoryProfiler;
+  }
+
+  /** Join a phase to the phases it runs inside of. */
+  @NonNull
+  public static String phase(@NonNull final String... names) {
+    return String.join(PHASE_SEPARATOR, names);
+  }
+
+  public <E extends Exception> void run(
+      @NonNull final String phase, @NonNull final TimedRunnable<E> action) throws E {
+    time(
+        phase,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+
+  public <T, E extends Exception> T time(
+      @NonNull final String phase, @NonNull final TimedSupplier<T, E> action) throws E {
+    final PhaseAccumulator accumulator = getAccumulator(phase);
+    final SnapshotTime snapshots = snapshotTime.get();
+    final long startSnapshotWall = snapshots.wallNanos;
+    final long startSnapshotCpu = snapshots.cpuNanos;
+    final long startWall = System.nanoTime();
+    final long startCpu = getCurrentThreadCpuTime();
+    final long startAllocated = getCurrentThreadAllocatedBytes();
+    try {
+      return action.get();
+    } finally {
+      accumulator.add(
+          System.nanoTime() - startWall - (snapshots.wallNanos - startSnapshotWall),
+          getCurrentThreadCpuTime() - startCpu - (snapshots.cpuNanos - startSnapshotCpu),
+          startAllocated >= 0 ? getCurrentThreadAllocatedBytes() - startAllocated : -1);
+    }
+  }
+
+  /**
+   * Record the peak heap and live set of a phase that has just completed. This forces a full GC, so
+   * it is only done when memory is being profiled, and should not be done for phases that run many
+   * times.
+   */
+  public void snapshotMemory(@NonNull final String phase) {
+    if (memoryProfiler == null) {
+      return;
+    }
+    final long startWall = System.nanoTime();
+    final long startCpu = getCurrentThreadCpuTime();
+    final MemoryProfiler.MemorySnapshot snapshot = memoryProfiler.snapshot();
+    final SnapshotTime snapshots = snapshotTime.get();
+    snapshots.wallNanos += System.nanoTime() - startWall;
+    snapshots.cpuNanos += getCurrentThreadCpuTime() - startCpu;
+    getAccumulator(phase).setMemorySnapshot(snapshot);
+  }
+
+  /** Count items processed by a phase, ie the number of models or files. */
+  public void count(@NonNull final String phase, @NonNull final String item, final long count) {
+    getAccumulator(phase).count(item, count);
+  }
+
+  /** Create a report of every phase so far, the total is the time since this timer was created. */
+  @NonNull
+  public GenerationReport createReport(@NonNull final String openapiUrl) {
+    return new GenerationReport(
+        openapiUrl,
+        Instant.now().toString(),
+        System.nanoTime() - startNanos,
+        memoryProfiler != null ? memoryProfiler.getPeakHeapBytes() : null,
+        memoryProfiler != null ? memoryProfiler.getMaxHeapBytes() : null,
+        getPhaseTimings());
+  }
+
+  /**
+   * The timing of every phase, each one directly followed by the phases that run inside of it.
+   * Phases with the same parent are in the order they first started.
+   */
+  @NonNull
+  public synchronized List<PhaseTiming> getPhaseTimings() {
+    final Map<String, List<String>> childrenByParent = new LinkedHashMap<>();
+    phases
+        .keySet()
+        .forEach(
+            phase -> {
+              final int separatorIndex = phase.lastIndexOf(PHASE_SEPARATOR);
+              final String parent =
+                  separatorIndex >= 0 && phases.containsKey(phase.substring(0, separatorIndex))
+                      ? phase.substring(0, separatorIndex)
+                      : "";
+              childrenByParent.computeIfAbsent(parent, key -> new ArrayList<>()).add(phase);
+            });
+
+    final List<PhaseTiming> timings = new ArrayList<>();
+    addPhaseTimings(timings, childrenByParent, "");
+    return timings;
+  }
+
+  private void addPhaseTimings(
+      @NonNull final List<PhaseTiming> timings,
+      @NonNull final Map<String, List<String>> childrenByParent,
+      @NonNull final String parent) {
+    childrenByParent
+        .getOrDefault(parent, List.of())
+        .forEach(
+            phase -> {
+              timings.add(phases.get(phase).toPhaseTiming(phase));
+              addPhaseTimings(timings, childrenByParent, phase);
+            });
+  }
+
+  @NonNull
+  private synchronized PhaseAccumulator getAccumulator(@NonNull final String phase) {
+    return phases.computeIfAbsent(phase, key -> new PhaseAccumulator());
+  }
+
+  private long getCurrentThreadAllocatedBytes() {
+    return memoryProfiler != null ? memoryProfiler.getCurrentThreadAllocatedBytes() : -1;
+  }
+
+  private static long getCurrentThreadCpuTime() {
+    return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+        ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+        : 0;
+  }
+
+  @FunctionalInterface
+  public interface TimedRunnable<E extends Exception> {
+    void run() throws E;
+  }
+
+  @FunctionalInterface
+  public interface TimedSupplier<T, E extends Exception> {
+    T get() throws E;
+  }
+
+  /** Only ever used by the thread it belongs to. */
+  private static class SnapshotTime {
+    private long wallNanos;
+    private long cpuNanos;
+  }
+
+  private static class PhaseAccumulator {
+    private long invocations;
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes = -1;
+    private MemoryProfiler.MemorySnapshot memorySnapshot;
+    private final Map<String, Long> counts = new TreeMap<>();
+
+    /** A negative allocation means allocations are not being counted. */
+    synchronized void add(final long wall, final long cpu, final long allocated) {
+      invocations++;
+      wallNanos += wall;
+      cpuNanos += cpu;
+      if (allocated >= 0) {
+        allocatedBytes = Math.max(allocatedBytes, 0) + allocated;
+      }
+    }
+
+    synchronized void setMemorySnapshot(@NonNull final MemoryProfiler.MemorySnapshot snapshot) {
+      memorySnapshot = snapshot;
+    }
+
+    synchronized void count(@NonNull final String item, final long count) {
+      counts.merge(item, count, Long::sum);
+    }
+
+    @NonNull
+    synchronized PhaseTiming toPhaseTiming(@NonNull final String phase) {
+      return new PhaseTiming(
+          phase,
+          phase.split(PHASE_SEPARATOR).length - 1,
+          invocations,
+          wallNanos,
+          cpuNanos,
+          allocatedBytes >= 0 ? allocatedBytes : null,
+          memorySnapshot != null ? memorySnapshot.peakHeapBytes() : null,
+          memorySnapshot != null ? memorySnapshot.liveSetBytes() : null,
+          Map.copyOf(counts));
+    }
+  }
+}
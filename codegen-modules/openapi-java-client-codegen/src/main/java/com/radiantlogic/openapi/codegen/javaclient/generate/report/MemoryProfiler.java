@@ -0,0 +1,92 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.report;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures heap usage for the generation report, so container memory can be sized per spec.
+ *
+ * <p>Allocations are counted per thread by the JVM, which is cheap enough to do for every phase.
+ * The live set is the heap still in use after a full GC, so it is only measured at snapshots taken
+ * once a phase is complete. The peak heap of a snapshot is the highest usage since the previous
+ * snapshot. It is the sum of the peak of each heap pool, which may not all have peaked at the same
+ * moment, so it is an upper bound.
+ *
+ * <p>The heap, its peaks and the full GC are shared by the whole JVM, so the numbers only belong to
+ * a single generation if no other generation runs at the same time.
+ *
+ * <p>If explicit GC is disabled in the JVM, the live set is only the heap in use at the time.
+ */
+@Slf4j
+public class MemoryProfiler {
+  private final MemoryMXBean memoryMxBean = ManagementFactory.getMemoryMXBean();
+  private final List<MemoryPoolMXBean> heapPools =
+      ManagementFactory.getMemoryPoolMXBeans().stream()
+          .filter(pool -> pool.getType() == MemoryType.HEAP)
+          .filter(MemoryPoolMXBean::isValid)
+          .toList();
+
+  /** Null if the JVM cannot count allocations per thread. */
+  private final com.sun.management.ThreadMXBean threadMxBean = getAllocationThreadMxBean();
+
+  private long peakHeapBytes;
+
+  public MemoryProfiler() {
+    resetPeaks();
+  }
+
+  /** The bytes allocated by the current thread since it started, or -1 if unsupported. */
+  public long getCurrentThreadAllocatedBytes() {
+    return threadMxBean != null ? threadMxBean.getCurrentThreadAllocatedBytes() : -1;
+  }
+
+  /** Take a snapshot of the heap, which requires a full GC. */
+  @NonNull
+  public synchronized MemorySnapshot snapshot() {
+    final long peak = getPoolPeaks();
+    peakHeapBytes = Math.max(peakHeapBytes, peak);
+    memoryMxBean.gc();
+    final long liveSet = memoryMxBean.getHeapMemoryUsage().getUsed();
+    resetPeaks();
+    return new MemorySnapshot(peak, liveSet);
+  }
+
+  /** The highest heap usage since this profiler was created. */
+  public synchronized long getPeakHeapBytes() {
+    return Math.max(peakHeapBytes, getPoolPeaks());
+  }
+
+  /** The maximum the heap is allowed to grow to. */
+  public long getMaxHeapBytes() {
+    return Runtime.getRuntime().maxMemory();
+  }
+
+  private long getPoolPeaks() {
+    return heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+  }
+
+  private void resetPeaks() {
+    heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+  }
+
+  private static com.sun.management.ThreadMXBean getAllocationThreadMxBean() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+        && bean.isThreadAllocatedMemorySupported()) {
+      bean.setThreadAllocatedMemoryEnabled(true);
+      return bean;
+    }
+    log.warn("This JVM cannot count allocated bytes per thread, they will not be reported");
+    return null;
+  }
+
+  /**
+   * @param peakHeapBytes the highest heap usage since the previous snapshot.
+   * @param liveSetBytes the heap still in use after a full GC.
+   */
+  public record MemorySnapshot(long peakHeapBytes, long liveSetBytes) {}
+}
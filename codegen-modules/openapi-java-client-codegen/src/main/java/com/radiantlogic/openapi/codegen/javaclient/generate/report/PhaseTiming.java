@@ -0,0 +1,31 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+import lombok.NonNull;
+
+/**
+ * The accumulated timing of one phase of a generation.
+ *
+ * @param phase the full path of the phase, ie generate/postProcessAllModels.
+ * @param depth how many phases this one runs inside of.
+ * @param invocations how many times the phase ran.
+ * @param wallNanos the wall time of every invocation added together.
+ * @param cpuNanos the CPU time of the timed thread for every invocation added together.
+ * @param allocatedBytes the bytes allocated by the timed thread for every invocation added
+ *     together, or null if memory is not being profiled.
+ * @param peakHeapBytes the peak heap while the phase ran, or null if no snapshot was taken.
+ * @param liveSetBytes the heap still in use after the phase, or null if no snapshot was taken.
+ * @param counts the number of each kind of item the phase processed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PhaseTiming(
+    @NonNull String phase,
+    int depth,
+    long invocations,
+    long wallNanos,
+    long cpuNanos,
+    Long allocatedBytes,
+    Long peakHeapBytes,
+    Long liveSetBytes,
+    @NonNull Map<String, Long> counts) {}
@@ -0,0 +1,20 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.verify;
+
+import lombok.NonNull;
+
+/**
+ * A compile error in the generated code.
+ *
+ * @param file the source file relative to the root of the generated project, or empty if the error
+ *     is not about a particular file.
+ * @param line the line of the error, or -1 if it is not about a particular line.
+ * @param column the column of the error, or -1 if it is not about a particular column.
+ */
+public record CompileDiagnostic(
+    @NonNull String file, long line, long column, @NonNull String message) {
+  @Override
+  @NonNull
+  public String toString() {
+    return "%s:%d:%d: %s".formatted(file, line, column, message);
+  }
+}
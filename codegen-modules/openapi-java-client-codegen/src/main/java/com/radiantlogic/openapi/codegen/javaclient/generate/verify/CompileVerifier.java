@@ -0,0 +1,208 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compiles the generated code in-process with the JDK's compiler, to check that it compiles without
+ * forking a Maven build. The sources are read straight from the output, whether that is a directory
+ * or a zip, and the compiled classes are discarded rather than written anywhere.
+ *
+ * <p>Every src/main/java directory in the project is compiled together, so the modules of a client
+ * sharded by tag are verified in one go.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CompileVerifier {
+  private static final String SOURCE_DIR = "src/main/java/";
+  private static final String POM_FILE = "pom.xml";
+  private static final Pattern RELEASE_PATTERN = Pattern.compile("<release>(\\d+)</release>");
+  private static final String DEFAULT_RELEASE = "8";
+
+  @NonNull private final List<Path> classpath;
+
+  /**
+   * @param projectRoot the root of the generated project, which may be on any file system.
+   */
+  @NonNull
+  public VerificationResult verify(@NonNull final Path projectRoot) throws IOException {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IllegalStateException(
+          "No Java compiler is available, verifying the generated code requires a JDK");
+    }
+
+    final List<SourceFile> sources = findSources(projectRoot);
+    final String release = findRelease(projectRoot);
+    log.info(
+        "Compiling {} generated source files for Java {} to verify them", sources.size(), release);
+
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager standardFileManager =
+            compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8);
+        DiscardingFileManager fileManager = new DiscardingFileManager(standardFileManager)) {
+      standardFileManager.setLocationFromPaths(StandardLocation.CLASS_PATH, classpath);
+      final List<String> options =
+          List.of(
+              "--release",
+              release,
+              "-proc:none",
+              "-nowarn",
+              "-Xlint:-options",
+              "-Xmaxerrs",
+              "10000");
+      compiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+    }
+
+    final List<CompileDiagnostic> errors =
+        diagnostics.getDiagnostics().stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .map(CompileVerifier::toCompileDiagnostic)
+            .toList();
+    return new VerificationResult(sources.size(), errors);
+  }
+
+  @NonNull
+  private static List<SourceFile> findSources(@NonNull final Path projectRoot) throws IOException {
+    try (Stream<Path> paths = Files.walk(projectRoot)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .filter(
+              path -> path.getFileName().toString().endsWith(JavaFileObject.Kind.SOURCE.extension))
+          .map(path -> new SourceFile(path, toRelativePath(projectRoot, path)))
+          .filter(source -> isInSourceDir(source.relativePath()))
+          .sorted(Comparator.comparing(SourceFile::relativePath))
+          .toList();
+    }
+  }
+
+  /** Paths in a zip use forward slashes, so every path is compared that way. */
+  @NonNull
+  private static String toRelativePath(@NonNull final Path projectRoot, @NonNull final Path path) {
+    return projectRoot
+        .relativize(path)
+        .toString()
+        .replace(path.getFileSystem().getSeparator(), "/");
+  }
+
+  private static boolean isInSourceDir(@NonNull final String relativePath) {
+    return relativePath.startsWith(SOURCE_DIR)
+        || relativePath.contains("/%s".formatted(SOURCE_DIR));
+  }
+
+  /**
+   * The Java release is set by the compiler plugin in the generated poms. A sharded client has a
+   * pom for each module, which all use the same release.
+   */
+  @NonNull
+  private static String findRelease(@NonNull final Path projectRoot) throws IOException {
+    final List<Path> poms;
+    try (Stream<Path> paths = Files.walk(projectRoot)) {
+      poms = paths.filter(path -> path.endsWith(POM_FILE)).sorted().toList();
+    }
+    for (final Path pom : poms) {
+      final Matcher matcher = RELEASE_PATTERN.matcher(Files.readString(pom));
+      if (matcher.find()) {
+        return matcher.group(1);
+      }
+    }
+    return DEFAULT_RELEASE;
+  }
+
+  @NonNull
+  private static CompileDiagnostic toCompileDiagnostic(
+      @NonNull final Diagnostic<? extends JavaFileObject> diagnostic) {
+    final String file =
+        Optional.ofNullable(diagnostic.getSource()).map(JavaFileObject::getName).orElse("");
+    return new CompileDiagnostic(
+        file,
+        diagnostic.getLineNumber(),
+        diagnostic.getColumnNumber(),
+        diagnostic.getMessage(Locale.ROOT));
+  }
+
+  /** A source file that is read on demand by the compiler. */
+  private static class SourceFile extends SimpleJavaFileObject {
+    @NonNull private final Path path;
+    @NonNull private final String relativePath;
+
+    private SourceFile(@NonNull final Path path, @NonNull final String relativePath) {
+      super(toUri(relativePath), Kind.SOURCE);
+      this.path = path;
+      this.relativePath = relativePath;
+    }
+
+    @NonNull
+    private String relativePath() {
+      return relativePath;
+    }
+
+    @Override
+    public String getName() {
+      return relativePath;
+    }
+
+    @Override
+    public CharSequence getCharContent(final boolean ignoreEncodingErrors) throws IOException {
+      return Files.readString(path, StandardCharsets.UTF_8);
+    }
+
+    @NonNull
+    private static URI toUri(@NonNull final String relativePath) {
+      try {
+        return new URI("source", null, "/%s".formatted(relativePath), null);
+      } catch (final URISyntaxException ex) {
+        throw new IllegalArgumentException("Invalid source path: %s".formatted(relativePath), ex);
+      }
+    }
+  }
+
+  /** Hands the compiler an output for every class that throws away what is written to it. */
+  private static class DiscardingFileManager
+      extends ForwardingJavaFileManager<StandardJavaFileManager> {
+    private DiscardingFileManager(@NonNull final StandardJavaFileManager fileManager) {
+      super(fileManager);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(
+        final Location location,
+        final String className,
+        final JavaFileObject.Kind kind,
+        final FileObject sibling) {
+      final URI uri =
+          URI.create("discarded:///%s%s".formatted(className.replace('.', '/'), kind.extension));
+      return new SimpleJavaFileObject(uri, kind) {
+        @Override
+        public OutputStream openOutputStream() {
+          return OutputStream.nullOutputStream();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+
+/**
+ * The outcome of compiling the generated code.
+ *
+ * @param sourceFiles the number of source files that were compiled.
+ * @param errors every compile error, in the order the compiler reported them.
+ */
+public record VerificationResult(int sourceFiles, @NonNull List<CompileDiagnostic> errors) {
+  public boolean success() {
+    return errors.isEmpty();
+  }
+
+  /** The errors of each file, sorted by file. */
+  @NonNull
+  public Map<String, List<CompileDiagnostic>> getErrorsByFile() {
+    return errors.stream()
+        .collect(Collectors.groupingBy(CompileDiagnostic::file, TreeMap::new, Collectors.toList()));
+  }
+}
@@ -0,0 +1,206 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.verify;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support.CodegenShardSupport;
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+
+/**
+ * Resolves the classpath that the generated code compiles against from the dependencies in its pom,
+ * with Maven. Every generated pom has the same dependencies no matter the spec, so the classpath is
+ * cached on disk by a hash of them and Maven only needs to run the first time.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class VerifyClasspathResolver {
+  private static final String POM_FILE = "pom.xml";
+  private static final String CLASSPATH_FILE = "classpath.txt";
+  private static final String MAVEN_LOG_FILE = "maven.log";
+  private static final String MAVEN_COMMAND = SystemUtils.IS_OS_WINDOWS ? "mvn.cmd" : "mvn";
+  private static final Duration WAIT_FOR_MAVEN = Duration.ofMinutes(5);
+  private static final Pattern PROPERTIES_PATTERN =
+      Pattern.compile("<properties>.*?</properties>", Pattern.DOTALL);
+  private static final Pattern DEPENDENCIES_PATTERN =
+      Pattern.compile("<dependencies>.*?</dependencies>", Pattern.DOTALL);
+
+  /** Only the dependencies of the generated pom, so the hash is the same for every spec. */
+  private static final String DEPENDENCIES_POM =
+      """
+      <project xmlns="http://maven.apache.org/POM/4.0.0">
+          <modelVersion>4.0.0</modelVersion>
+          <groupId>com.radiantlogic.openapi.codegen</groupId>
+          <artifactId>verify-classpath</artifactId>
+          <version>1</version>
+          %s
+          %s
+      </project>
+      """;
+
+  @NonNull private final Path cacheDir;
+  private final Map<String, List<Path>> classpaths = new ConcurrentHashMap<>();
+
+  public VerifyClasspathResolver() {
+    this(CodegenPaths.OUTPUT_DIR.resolve(CodegenPaths.METADATA_DIR).resolve("verify-classpath"));
+  }
+
+  /**
+   * @param projectRoot the root of the generated project, which may be on any file system.
+   */
+  @NonNull
+  public List<Path> resolve(@NonNull final Path projectRoot) throws IOException {
+    final String dependenciesPom = createDependenciesPom(projectRoot);
+    final String key = hash(dependenciesPom);
+    return classpaths.computeIfAbsent(key, ignored -> readOrResolve(key, dependenciesPom));
+  }
+
+  /**
+   * A sharded client has a reactor pom at its root, and the dependencies are in the pom of the
+   * common module instead.
+   */
+  @NonNull
+  private static String createDependenciesPom(@NonNull final Path projectRoot) throws IOException {
+    final List<Path> candidates;
+    try (Stream<Path> modules = Files.list(projectRoot)) {
+      candidates =
+          Stream.concat(
+                  Stream.of(projectRoot.resolve(POM_FILE)),
+                  modules
+                      .filter(Files::isDirectory)
+                      .filter(
+                          module ->
+                              module
+                                  .getFileName()
+                                  .toString()
+                                  .endsWith("-%s".formatted(CodegenShardSupport.COMMON_SHARD)))
+                      .map(module -> module.resolve(POM_FILE)))
+              .filter(Files::exists)
+              .toList();
+    }
+
+    for (final Path pom : candidates) {
+      final String content = Files.readString(pom);
+      final Matcher dependencies = DEPENDENCIES_PATTERN.matcher(content);
+      if (dependencies.find()) {
+        final Matcher properties = PROPERTIES_PATTERN.matcher(content);
+        return DEPENDENCIES_POM.formatted(
+            properties.find() ? properties.group() : "", dependencies.group());
+      }
+    }
+    throw new IllegalStateException(
+        "Unable to find the dependencies of the generated code in: %s".formatted(projectRoot));
+  }
+
+  @NonNull
+  private List<Path> readOrResolve(@NonNull final String key, @NonNull final String pom) {
+    final Path keyDir = cacheDir.resolve(key);
+    final Path classpathFile = keyDir.resolve(CLASSPATH_FILE);
+    try {
+      final Optional<List<Path>> cached = readClasspath(classpathFile);
+      if (cached.isPresent()) {
+        log.debug("Using cached classpath for verification: {}", classpathFile);
+        return cached.get();
+      }
+
+      log.info("Resolving the classpath for verification with Maven, this is only done once");
+      Files.createDirectories(keyDir);
+      Files.writeString(keyDir.resolve(POM_FILE), pom);
+      runMaven(keyDir, classpathFile);
+      return readClasspath(classpathFile)
+          .orElseThrow(
+              () ->
+                  new IllegalStateException(
+                      "Maven did not resolve the classpath for verification: %s"
+                          .formatted(classpathFile)));
+    } catch (final IOException ex) {
+      throw new IllegalStateException(
+          "Unable to resolve the classpath for verification in: %s".formatted(keyDir), ex);
+    }
+  }
+
+  /** A cached classpath is only used while every entry on it still exists, ie in ~/.m2. */
+  @NonNull
+  private static Optional<List<Path>> readClasspath(@NonNull final Path classpathFile)
+      throws IOException {
+    if (!Files.exists(classpathFile)) {
+      return Optional.empty();
+    }
+    final List<Path> classpath =
+        Arrays.stream(Files.readString(classpathFile).strip().split(File.pathSeparator))
+            .filter(StringUtils::isNotBlank)
+            .map(Paths::get)
+            .toList();
+    return classpath.stream().allMatch(Files::exists) ? Optional.of(classpath) : Optional.empty();
+  }
+
+  /**
+   * The output goes to a log file rather than a pipe, since reading a pipe blocks until Maven exits
+   * and the timeout would never apply.
+   */
+  private static void runMaven(@NonNull final Path keyDir, @NonNull final Path classpathFile)
+      throws IOException {
+    final Path logFile = keyDir.resolve(MAVEN_LOG_FILE);
+    final Process process =
+        new ProcessBuilder(
+                MAVEN_COMMAND,
+                "-B",
+                "-q",
+                "-f",
+                keyDir.resolve(POM_FILE).toString(),
+                "dependency:build-classpath",
+                "-Dmdep.outputFile=%s".formatted(classpathFile))
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile())
+            .start();
+
+    try {
+      if (!process.waitFor(WAIT_FOR_MAVEN.toMillis(), TimeUnit.MILLISECONDS)) {
+        process.destroyForcibly();
+        throw new IllegalStateException(
+            "Timed out resolving the classpath with Maven, see: %s".formatted(logFile));
+      }
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      process.destroyForcibly();
+      throw new IllegalStateException("Interrupted resolving the classpath with Maven", ex);
+    }
+
+    if (process.exitValue() != 0) {
+      throw new IllegalStateException(
+          "Maven failed to resolve the classpath, exit code %d:%n%s"
+              .formatted(process.exitValue(), Files.readString(logFile)));
+    }
+  }
+
+  @NonNull
+  private static String hash(@NonNull final String value) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
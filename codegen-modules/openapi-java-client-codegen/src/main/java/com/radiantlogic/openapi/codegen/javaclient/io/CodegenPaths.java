@@ -7,4 +7,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class CodegenPaths {
   public static final Path OUTPUT_DIR = Path.of(System.getProperty("user.dir"), "output");
+
+  /**
+   * The name of the directory holding this codegen's own metadata, as opposed to generated code.
+   */
+  public static final String METADATA_DIR = ".openapi-codegen";
+
+  public static final Path SPEC_CACHE_DIR = OUTPUT_DIR.resolve(METADATA_DIR).resolve("spec-cache");
+
+  /** Holds the token a running daemon requires from its clients. */
+  public static final Path DAEMON_TOKEN_FILE =
+      OUTPUT_DIR.resolve(METADATA_DIR).resolve("daemon-token");
 }
@@ -0,0 +1,33 @@
+package com.radiantlogic.openapi.codegen.javaclient.io;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+
+/**
+ * Makes generations that write to the same output directory run one after another, ie daemon jobs
+ * for the same spec. Every generation clears and rewrites its output directory, so two at once
+ * would leave a mix of both behind.
+ *
+ * <p>A lock is kept for every output directory that was ever generated, there are only as many of
+ * them as there are distinct specs.
+ */
+public class OutputDirLocks {
+  private final Map<Path, Lock> locks = new ConcurrentHashMap<>();
+
+  /**
+   * Wait until no other generation is writing to the output directory.
+   *
+   * @return the lock that is now held, which must be unlocked once the generation is done.
+   */
+  @NonNull
+  public Lock lock(@NonNull final Path outputDir) {
+    final Lock lock =
+        locks.computeIfAbsent(outputDir.toAbsolutePath().normalize(), key -> new ReentrantLock());
+    lock.lock();
+    return lock;
+  }
+}
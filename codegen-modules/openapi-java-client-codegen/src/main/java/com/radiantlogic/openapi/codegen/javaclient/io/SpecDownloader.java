@@ -0,0 +1,259 @@
+package com.radiantlogic.openapi.codegen.javaclient.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Download remote OpenAPI specifications, with an optional on-disk cache keyed by URL.
+ *
+ * <p>The cache stores the body alongside the ETag and Last-Modified validators from the response.
+ * Later downloads send a conditional request, and a 304 response is served from disk without
+ * transferring the spec again. Responses are requested gzip compressed. Responses without any
+ * validators are not cached, as there would be no way to know if they are still valid.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SpecDownloader {
+  private static final Duration TIMEOUT = Duration.ofMinutes(2);
+  private static final HttpClient DEFAULT_HTTP_CLIENT =
+      HttpClient.newBuilder()
+          .followRedirects(HttpClient.Redirect.NORMAL)
+          .connectTimeout(TIMEOUT)
+          .build();
+  private static final String BODY_EXTENSION = ".body";
+  private static final String VALIDATORS_EXTENSION = ".properties";
+  private static final String ETAG_PROPERTY = "etag";
+  private static final String LAST_MODIFIED_PROPERTY = "lastModified";
+  private static final String URL_PROPERTY = "url";
+  private static final String BODY_HASH_PROPERTY = "bodySha256";
+
+  @NonNull private final HttpClient httpClient;
+
+  /** The directory to cache specs in, or null if caching is disabled. */
+  private final Path cacheDir;
+
+  public SpecDownloader(final Path cacheDir) {
+    this(DEFAULT_HTTP_CLIENT, cacheDir);
+  }
+
+  @NonNull
+  public byte[] download(@NonNull final URL url) throws IOException {
+    final String protocol = url.getProtocol().toLowerCase();
+    if (!protocol.equals("http") && !protocol.equals("https")) {
+      try (InputStream stream = url.openStream()) {
+        return stream.readAllBytes();
+      }
+    }
+
+    final Optional<CacheEntry> cacheEntry = readCacheEntry(url);
+    HttpResponse<byte[]> response = send(createRequest(url, cacheEntry));
+
+    if (response.statusCode() == 304 && cacheEntry.isPresent()) {
+      final Optional<byte[]> cachedBody = readCachedBody(cacheEntry.get());
+      if (cachedBody.isPresent()) {
+        log.info(
+            "OpenAPI specification not modified, using {} cached bytes for {}",
+            cachedBody.get().length,
+            url);
+        return cachedBody.get();
+      }
+      log.warn("Cached OpenAPI specification does not match its validators, downloading {}", url);
+      response = send(createRequest(url, Optional.empty()));
+    }
+
+    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+      throw new IOException(
+          "Failed to download OpenAPI specification %s, received status %d"
+              .formatted(url, response.statusCode()));
+    }
+
+    final byte[] body = decodeBody(response);
+    log.info(
+        "Downloaded OpenAPI specification {}, {} bytes transferred, {} bytes decoded",
+        url,
+        response.body().length,
+        body.length);
+    writeCacheEntry(url, response, body);
+    return body;
+  }
+
+  @NonNull
+  private static HttpRequest createRequest(
+      @NonNull final URL url, @NonNull final Optional<CacheEntry> cacheEntry) throws IOException {
+    try {
+      final HttpRequest.Builder builder =
+          HttpRequest.newBuilder(url.toURI())
+              .GET()
+              .timeout(TIMEOUT)
+              .header("Accept-Encoding", "gzip");
+      cacheEntry.ifPresent(
+          entry -> {
+            Optional.ofNullable(entry.etag())
+                .ifPresent(etag -> builder.header("If-None-Match", etag));
+            Optional.ofNullable(entry.lastModified())
+                .ifPresent(lastModified -> builder.header("If-Modified-Since", lastModified));
+          });
+      return builder.build();
+    } catch (final URISyntaxException ex) {
+      throw new IOException("Invalid OpenAPI specification URL: %s".formatted(url), ex);
+    }
+  }
+
+  @NonNull
+  private HttpResponse<byte[]> send(@NonNull final HttpRequest request) throws IOException {
+    try {
+      return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    } catch (final InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted downloading %s".formatted(request.uri()), ex);
+    }
+  }
+
+  @NonNull
+  private static byte[] decodeBody(@NonNull final HttpResponse<byte[]> response)
+      throws IOException {
+    final boolean gzipped =
+        response
+            .headers()
+            .firstValue("Content-Encoding")
+            .filter(encoding -> encoding.equalsIgnoreCase("gzip"))
+            .isPresent();
+    if (!gzipped) {
+      return response.body();
+    }
+
+    try (InputStream stream = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+      return stream.readAllBytes();
+    }
+  }
+
+  @NonNull
+  private Optional<CacheEntry> readCacheEntry(@NonNull final URL url) throws IOException {
+    if (cacheDir == null) {
+      return Optional.empty();
+    }
+
+    final String key = getCacheKey(url);
+    final Path bodyFile = cacheDir.resolve(key + BODY_EXTENSION);
+    final Path validatorsFile = cacheDir.resolve(key + VALIDATORS_EXTENSION);
+    if (!Files.exists(bodyFile) || !Files.exists(validatorsFile)) {
+      return Optional.empty();
+    }
+
+    final Properties validators = new Properties();
+    try (InputStream stream = Files.newInputStream(validatorsFile)) {
+      validators.load(stream);
+    }
+    return Optional.of(
+        new CacheEntry(
+            bodyFile,
+            validators.getProperty(BODY_HASH_PROPERTY),
+            validators.getProperty(ETAG_PROPERTY),
+            validators.getProperty(LAST_MODIFIED_PROPERTY)));
+  }
+
+  /** The cached body, unless it is gone or isn't the body its validators were written for. */
+  @NonNull
+  private static Optional<byte[]> readCachedBody(@NonNull final CacheEntry cacheEntry)
+      throws IOException {
+    final byte[] body;
+    try {
+      body = Files.readAllBytes(cacheEntry.bodyFile());
+    } catch (final NoSuchFileException ex) {
+      return Optional.empty();
+    }
+    return Optional.of(body).filter(bytes -> sha256(bytes).equals(cacheEntry.bodyHash()));
+  }
+
+  /**
+   * The body and the validators are each moved into place atomically, so a partially written file
+   * is never used. They are not moved together though, so a crash or a concurrent download between
+   * the two moves can pair a body with the validators of another response. The validators record
+   * the hash of their body for that reason, and a body that doesn't match is downloaded again.
+   */
+  private void writeCacheEntry(
+      @NonNull final URL url,
+      @NonNull final HttpResponse<byte[]> response,
+      @NonNull final byte[] body)
+      throws IOException {
+    if (cacheDir == null) {
+      return;
+    }
+
+    final Optional<String> etag = response.headers().firstValue("ETag");
+    final Optional<String> lastModified = response.headers().firstValue("Last-Modified");
+    if (etag.isEmpty() && lastModified.isEmpty()) {
+      log.debug("Response for {} has no validators, not caching it", url);
+      return;
+    }
+
+    final Properties validators = new Properties();
+    validators.setProperty(URL_PROPERTY, url.toString());
+    validators.setProperty(BODY_HASH_PROPERTY, sha256(body));
+    etag.ifPresent(value -> validators.setProperty(ETAG_PROPERTY, value));
+    lastModified.ifPresent(value -> validators.setProperty(LAST_MODIFIED_PROPERTY, value));
+
+    Files.createDirectories(cacheDir);
+    final String key = getCacheKey(url);
+    final Path tempBody = Files.createTempFile(cacheDir, key, BODY_EXTENSION);
+    Path tempValidators = null;
+    try {
+      Files.write(tempBody, body);
+      tempValidators = Files.createTempFile(cacheDir, key, VALIDATORS_EXTENSION);
+      try (OutputStream stream = Files.newOutputStream(tempValidators)) {
+        validators.store(stream, null);
+      }
+
+      Files.move(tempBody, cacheDir.resolve(key + BODY_EXTENSION), StandardCopyOption.ATOMIC_MOVE);
+      Files.move(
+          tempValidators,
+          cacheDir.resolve(key + VALIDATORS_EXTENSION),
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      // Only left behind if writing or moving them failed
+      Files.deleteIfExists(tempBody);
+      if (tempValidators != null) {
+        Files.deleteIfExists(tempValidators);
+      }
+    }
+  }
+
+  @NonNull
+  private static String getCacheKey(@NonNull final URL url) {
+    return sha256(url.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @NonNull
+  private static String sha256(@NonNull final byte[] value) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  private record CacheEntry(
+      @NonNull Path bodyFile, String bodyHash, String etag, String lastModified) {}
+}
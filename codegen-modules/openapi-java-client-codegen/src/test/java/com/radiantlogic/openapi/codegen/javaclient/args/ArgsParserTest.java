@@ -3,15 +3,24 @@ package com.radiantlogic.openapi.codegen.javaclient.args;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OutputMode;
 import com.radiantlogic.openapi.codegen.javaclient.properties.Props;
+import java.io.File;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class ArgsParserTest {
   final Props props = new Props("my-artifact", "1.0.0");
   private final ArgsParser argsParser = new ArgsParser(props);
 
+  @TempDir private Path tempDir;
+
   @Test
   @SneakyThrows
   void itShowsHelpMenu() {
@@ -60,4 +69,327 @@ public class ArgsParserTest {
         .hasMessage(
             "Missing required OpenAPI path argument. Please use the -h option to see usage instructions.");
   }
+
+  @Test
+  @SneakyThrows
+  void itRejectsMultiplePathsForSingleParse() {
+    final String[] args = {
+      "-p=http://localhost:8080/one.json", "-p=http://localhost:8080/two.json"
+    };
+    assertThatThrownBy(() -> argsParser.parse(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected exactly one OpenAPI path but received 2.");
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesBatchWithMultiplePaths() {
+    final String path1 = "http://localhost:8080/one.json";
+    final String path2 = "http://localhost:8080/two.json";
+    final String groupId = "org.something";
+    final String[] args = {
+      "-p=%s".formatted(path1), "-p=%s".formatted(path2), "-g=%s".formatted(groupId)
+    };
+    final BatchArgs parsedArgs = argsParser.parseBatch(args);
+    final BatchArgs expectedArgs =
+        new BatchArgs(
+            ProgramArgStatus.PROCEED,
+            List.of(
+                new Args(ProgramArgStatus.PROCEED, new URI(path1).toURL(), groupId),
+                new Args(ProgramArgStatus.PROCEED, new URI(path2).toURL(), groupId)),
+            ArgsParser.DEFAULT_BATCH_THREADS);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesBatchWithManifest() {
+    final Path spec = Files.createFile(tempDir.resolve("spec.yaml"));
+    final String url = "http://localhost:8080/two.json";
+    final Path manifest = tempDir.resolve("manifest.txt");
+    Files.writeString(
+        manifest,
+        """
+        # Specs to generate
+        spec.yaml
+
+        %s
+        """
+            .formatted(url));
+
+    final String[] args = {"-m=%s".formatted(manifest), "--batch-threads=3"};
+    final BatchArgs parsedArgs = argsParser.parseBatch(args);
+    final BatchArgs expectedArgs =
+        new BatchArgs(
+            ProgramArgStatus.PROCEED,
+            List.of(
+                new Args(
+                    ProgramArgStatus.PROCEED,
+                    new URI("%s%s".formatted(ArgsParser.FILE_PROTOCOL, spec)).toURL(),
+                    ArgsParser.DEFAULT_GROUP_ID),
+                new Args(
+                    ProgramArgStatus.PROCEED, new URI(url).toURL(), ArgsParser.DEFAULT_GROUP_ID)),
+            3);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  void itParsesBatchWithInvalidThreads() {
+    final String[] args = {"-p=http://localhost:8080/one.json", "--batch-threads=0"};
+    assertThatThrownBy(() -> argsParser.parseBatch(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Batch threads must be at least 1, received: 0");
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesArtifactId() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--artifact-id=github-actions"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withArtifactId("github-actions");
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  void itParsesInvalidArtifactId() {
+    final String[] args = {"-p=http://localhost:8080/openapi.json", "--artifact-id=../other"};
+    assertThatThrownBy(() -> argsParser.parse(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Invalid artifactId, only letters, digits, '.', '-' and '_' are allowed: ../other");
+  }
+
+  @Test
+  void itParsesBatchWithArtifactId() {
+    final String[] args = {
+      "-p=http://localhost:8080/one.json", "-p=http://localhost:8080/two.json", "--artifact-id=foo"
+    };
+    assertThatThrownBy(() -> argsParser.parseBatch(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("The artifactId can only be set when generating a single");
+  }
+
+  @Test
+  void itParsesBatchWithMemoryReport() {
+    final String[] args = {
+      "-p=http://localhost:8080/one.json",
+      "-p=http://localhost:8080/two.json",
+      "--memory-report",
+      "--batch-threads=2"
+    };
+    assertThatThrownBy(() -> argsParser.parseBatch(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("The memory report measures the heap of the whole JVM");
+
+    final String[] oneThreadArgs = {
+      "-p=http://localhost:8080/one.json",
+      "-p=http://localhost:8080/two.json",
+      "--memory-report",
+      "--batch-threads=1"
+    };
+    assertThat(argsParser.parseBatch(oneThreadArgs).specs())
+        .hasSize(2)
+        .allMatch(Args::memoryReport);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesForce() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--force"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withForce(true);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesOutputMode() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "-o=incremental"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withOutputMode(OutputMode.INCREMENTAL);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesVerify() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String classpath = String.join(File.pathSeparator, "/libs/a.jar", "", "/libs/b.jar");
+    final String[] args = {
+      "-p=%s".formatted(path), "--verify", "--verify-classpath=%s".formatted(classpath)
+    };
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withVerify(true)
+            .withVerifyClasspath(List.of(Path.of("/libs/a.jar"), Path.of("/libs/b.jar")));
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  void itParsesInvalidOutputMode() {
+    final String[] args = {"-p=http://localhost:8080/openapi.json", "-o=foo"};
+    assertThatThrownBy(() -> argsParser.parse(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid output mode: foo. Valid values are: overwrite, incremental, zip");
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesRenderThreads() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--render-threads=8"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withRenderThreads(8);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesPostProcessThreads() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--post-process-threads=4"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withPostProcessThreads(4);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesNoSpecCache() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--no-spec-cache"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withSpecCache(false);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesIncludeTagsAndPaths() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {
+      "-p=%s".formatted(path), "--include-tags=repos, issues,", "--include-paths=/users/*"
+    };
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withIncludeTags(Set.of("repos", "issues"))
+            .withIncludePaths(Set.of("/users/*"));
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesPruneUnusedSchemas() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--prune-unused-schemas"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withPruneUnusedSchemas(true);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesDedupeSchemas() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--dedupe-schemas"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withDedupeSchemas(true);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesShardByTag() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--shard-by-tag"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withShardByTag(true);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesMemoryReport() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {"-p=%s".formatted(path), "--memory-report"};
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withMemoryReport(true);
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  @SneakyThrows
+  void itParsesDisabledPasses() {
+    final String path = "http://localhost:8080/openapi.json";
+    final String[] args = {
+      "-p=%s".formatted(path),
+      "--disable-passes=CodegenFilenameSupport.fixProblematicKeysForFilenames, ,CodegenEnumValueOfSupport.fixValueOfInEnumVars"
+    };
+    final Args parsedArgs = argsParser.parse(args);
+    final Args expectedArgs =
+        new Args(ProgramArgStatus.PROCEED, new URI(path).toURL(), ArgsParser.DEFAULT_GROUP_ID)
+            .withDisabledPasses(
+                Set.of(
+                    "CodegenFilenameSupport.fixProblematicKeysForFilenames",
+                    "CodegenEnumValueOfSupport.fixValueOfInEnumVars"));
+    assertThat(parsedArgs).isEqualTo(expectedArgs);
+  }
+
+  @Test
+  void itParsesDaemon() {
+    final String[] args = {
+      "--daemon", "--daemon-port=9000", "--daemon-queue=5", "--batch-threads=2"
+    };
+    assertThat(argsParser.parseDaemon(args)).contains(new DaemonArgs(9000, 2, 5));
+  }
+
+  @Test
+  void itParsesDaemonWithDefaults() {
+    final String[] args = {"--daemon"};
+    assertThat(argsParser.parseDaemon(args))
+        .contains(
+            new DaemonArgs(
+                ArgsParser.DEFAULT_DAEMON_PORT,
+                ArgsParser.DEFAULT_BATCH_THREADS,
+                ArgsParser.DEFAULT_DAEMON_QUEUE));
+  }
+
+  @Test
+  void itDoesNotParseDaemonIfNotRequested() {
+    final String[] args = {"-p=http://localhost:8080/openapi.json"};
+    assertThat(argsParser.parseDaemon(args)).isEmpty();
+  }
+
+  @Test
+  void itParsesDaemonWithInvalidPort() {
+    final String[] args = {"--daemon", "--daemon-port=70000"};
+    assertThatThrownBy(() -> argsParser.parseDaemon(args))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Daemon port must be between 0 and 65535, received: 70000");
+  }
 }
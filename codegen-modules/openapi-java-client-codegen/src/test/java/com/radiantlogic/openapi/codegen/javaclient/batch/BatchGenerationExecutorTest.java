@@ -0,0 +1,118 @@
+package com.radiantlogic.openapi.codegen.javaclient.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.args.ArgsParser;
+import com.radiantlogic.openapi.codegen.javaclient.args.ProgramArgStatus;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+public class BatchGenerationExecutorTest {
+  @Test
+  void itReturnsResultsInOrderAndIsolatesFailures() {
+    final List<Args> specs = createSpecs(3);
+    final BatchGenerationExecutor executor =
+        new BatchGenerationExecutor(
+            2,
+            (args, claimOutputDir) -> {
+              if (args.openapiUrl().getPath().equals("/spec1.yaml")) {
+                throw new IllegalStateException("Bad spec");
+              }
+            });
+
+    final List<BatchResult> results = executor.generateAll(specs);
+
+    assertThat(results)
+        .extracting(BatchResult::openapiUrl)
+        .containsExactlyElementsOf(specs.stream().map(Args::openapiUrl).toList());
+    assertThat(results)
+        .extracting(BatchResult::status)
+        .containsExactly(BatchStatus.SUCCESS, BatchStatus.FAILED, BatchStatus.SUCCESS);
+    assertThat(results.get(1).errorMessage()).isEqualTo("Bad spec");
+  }
+
+  @Test
+  void itLimitsConcurrencyToThreadCount() {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+    final BatchGenerationExecutor executor =
+        new BatchGenerationExecutor(
+            2,
+            (args, claimOutputDir) -> {
+              final int current = running.incrementAndGet();
+              peak.accumulateAndGet(current, Math::max);
+              Thread.sleep(50);
+              running.decrementAndGet();
+            });
+
+    final List<BatchResult> results = executor.generateAll(createSpecs(6));
+
+    assertThat(results).extracting(BatchResult::status).containsOnly(BatchStatus.SUCCESS);
+    assertThat(peak.get()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  void itHandlesNoSpecs() {
+    final BatchGenerationExecutor executor =
+        new BatchGenerationExecutor(2, (args, claimOutputDir) -> {});
+    assertThat(executor.generateAll(List.of())).isEmpty();
+  }
+
+  @Test
+  void itFailsSpecsWithTheSameOutputDir() {
+    final BatchGenerationExecutor executor =
+        new BatchGenerationExecutor(
+            2,
+            (args, claimOutputDir) -> {
+              final String path = args.openapiUrl().getPath();
+              claimOutputDir.accept(Path.of("output", path.equals("/spec2.yaml") ? "b" : "a"));
+            });
+
+    final List<BatchResult> results = executor.generateAll(createSpecs(3));
+
+    assertThat(results)
+        .extracting(BatchResult::status)
+        .containsOnlyOnce(BatchStatus.FAILED)
+        .containsOnly(BatchStatus.SUCCESS, BatchStatus.FAILED);
+    assertThat(results.get(2).status()).isEqualTo(BatchStatus.SUCCESS);
+    assertThat(results)
+        .filteredOn(result -> result.status() == BatchStatus.FAILED)
+        .extracting(BatchResult::errorMessage)
+        .singleElement()
+        .asString()
+        .contains("same output directory");
+  }
+
+  @Test
+  void itRejectsTheSameSpecTwice() {
+    final BatchGenerationExecutor executor =
+        new BatchGenerationExecutor(2, (args, claimOutputDir) -> {});
+    final List<Args> specs = List.of(createSpec(0), createSpec(1), createSpec(0));
+
+    assertThatThrownBy(() -> executor.generateAll(specs))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("spec0.yaml");
+  }
+
+  @NonNull
+  private static List<Args> createSpecs(final int count) {
+    return IntStream.range(0, count).mapToObj(BatchGenerationExecutorTest::createSpec).toList();
+  }
+
+  @NonNull
+  @SneakyThrows
+  private static Args createSpec(final int index) {
+    return new Args(
+        ProgramArgStatus.PROCEED,
+        new URI("http://localhost:8080/spec%d.yaml".formatted(index)).toURL(),
+        ArgsParser.DEFAULT_GROUP_ID);
+  }
+}
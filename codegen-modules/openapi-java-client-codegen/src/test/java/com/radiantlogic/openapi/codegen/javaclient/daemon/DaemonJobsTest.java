@@ -0,0 +1,62 @@
+package com.radiantlogic.openapi.codegen.javaclient.daemon;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.args.ProgramArgStatus;
+import java.net.URI;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+public class DaemonJobsTest {
+  private final DaemonJobs jobs = new DaemonJobs(2);
+
+  @Test
+  void itDropsOldestFinishedJobsWhileOlderJobRuns() {
+    final DaemonJob running = createJob(false);
+    final DaemonJob first = createJob(true);
+    final DaemonJob second = createJob(true);
+    final DaemonJob third = createJob(true);
+
+    jobs.add(running);
+    jobs.add(first);
+    jobs.add(second);
+    jobs.add(third);
+
+    assertThat(jobs.get(running.getId())).contains(running);
+    assertThat(jobs.get(first.getId())).isEmpty();
+    assertThat(jobs.get(second.getId())).isEmpty();
+    assertThat(jobs.get(third.getId())).contains(third);
+  }
+
+  @Test
+  void itKeepsUnfinishedJobsBeyondTheMaximum() {
+    final DaemonJob first = createJob(false);
+    final DaemonJob second = createJob(false);
+    final DaemonJob third = createJob(false);
+
+    jobs.add(first);
+    jobs.add(second);
+    jobs.add(third);
+
+    assertThat(jobs.get(first.getId())).contains(first);
+    assertThat(jobs.get(second.getId())).contains(second);
+    assertThat(jobs.get(third.getId())).contains(third);
+  }
+
+  @SneakyThrows
+  private static DaemonJob createJob(final boolean done) {
+    final DaemonJob job =
+        new DaemonJob(
+            new Args(
+                ProgramArgStatus.PROCEED,
+                new URI("http://localhost/openapi.yaml").toURL(),
+                "com.foo"));
+    if (done) {
+      job.start();
+      job.succeed(Optional.empty());
+    }
+    return job;
+  }
+}
@@ -0,0 +1,301 @@
+package com.radiantlogic.openapi.codegen.javaclient.daemon;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.args.ArgsParser;
+import com.radiantlogic.openapi.codegen.javaclient.args.DaemonArgs;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationReport;
+import com.radiantlogic.openapi.codegen.javaclient.properties.Props;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GenerationDaemonTest {
+  private static final String SPEC_URL = "http://localhost:8080/openapi.json";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final HttpClient httpClient = HttpClient.newHttpClient();
+  private final Props props = new Props("my-artifact", "1.0.0");
+  private final Queue<Args> generated = new ConcurrentLinkedQueue<>();
+  @TempDir private Path tempDir;
+  private GenerationDaemon daemon;
+
+  @AfterEach
+  void closeDaemon() {
+    if (daemon != null) {
+      daemon.close();
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void itReportsHealth() {
+    startDaemon(1, 1, args -> Optional.empty());
+
+    final HttpResponse<String> response = get("/health");
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    final JsonNode body = objectMapper.readTree(response.body());
+    assertThat(body.get("status").asText()).isEqualTo("UP");
+    assertThat(body.get("version").asText()).isEqualTo("1.0.0");
+    assertThat(body.get("threads").asInt()).isEqualTo(1);
+  }
+
+  @Test
+  @SneakyThrows
+  void itGeneratesJobAndWaits() {
+    startDaemon(1, 1, args -> Optional.of(createReport(args)));
+
+    final HttpResponse<String> response =
+        post(
+            "/jobs?wait=true",
+            new JobRequest(SPEC_URL, "com.foo", List.of("--force", "--render-threads=2")));
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    final JsonNode body = objectMapper.readTree(response.body());
+    assertThat(body.get("status").asText()).isEqualTo("SUCCESS");
+    assertThat(body.get("openapiUrl").asText()).isEqualTo(SPEC_URL);
+    assertThat(body.get("durationMillis").isNumber()).isTrue();
+    assertThat(body.get("report").get("totalWallNanos").asLong()).isEqualTo(5);
+    assertThat(generated)
+        .singleElement()
+        .satisfies(
+            args -> {
+              assertThat(args.groupId()).isEqualTo("com.foo");
+              assertThat(args.force()).isTrue();
+              assertThat(args.renderThreads()).isEqualTo(2);
+            });
+  }
+
+  @Test
+  @SneakyThrows
+  void itWaitsAlongsideOtherQueryParameters() {
+    startDaemon(1, 1, args -> Optional.of(createReport(args)));
+
+    final HttpResponse<String> response =
+        post("/jobs?trace=1&wait=true", new JobRequest(SPEC_URL, null, null));
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(objectMapper.readTree(response.body()).get("status").asText()).isEqualTo("SUCCESS");
+  }
+
+  @Test
+  @SneakyThrows
+  void itReturnsJobStatus() {
+    final CountDownLatch release = new CountDownLatch(1);
+    startDaemon(
+        1,
+        1,
+        args -> {
+          release.await(10, TimeUnit.SECONDS);
+          throw new IllegalStateException("Bad spec");
+        });
+
+    final HttpResponse<String> submitted = post("/jobs", new JobRequest(SPEC_URL, null, null));
+    assertThat(submitted.statusCode()).isEqualTo(202);
+    final String id = objectMapper.readTree(submitted.body()).get("id").asText();
+
+    release.countDown();
+    JsonNode job = objectMapper.readTree(get("/jobs/%s".formatted(id)).body());
+    for (int attempt = 0;
+        attempt < 100 && !job.get("status").asText().equals("FAILED");
+        attempt++) {
+      Thread.sleep(50);
+      job = objectMapper.readTree(get("/jobs/%s".formatted(id)).body());
+    }
+    assertThat(job.get("status").asText()).isEqualTo("FAILED");
+    assertThat(job.get("errorMessage").asText()).isEqualTo("Bad spec");
+  }
+
+  @Test
+  @SneakyThrows
+  void itReportsSkippedJobs() {
+    startDaemon(1, 1, args -> Optional.empty());
+
+    final HttpResponse<String> response =
+        post("/jobs?wait=true", new JobRequest(SPEC_URL, null, null));
+
+    assertThat(objectMapper.readTree(response.body()).get("status").asText()).isEqualTo("SKIPPED");
+  }
+
+  @Test
+  @SneakyThrows
+  void itRejectsJobsOnceQueueIsFull() {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    startDaemon(
+        1,
+        1,
+        args -> {
+          started.countDown();
+          release.await(10, TimeUnit.SECONDS);
+          return Optional.empty();
+        });
+
+    try {
+      assertThat(post("/jobs", new JobRequest(SPEC_URL, null, null)).statusCode()).isEqualTo(202);
+      started.await(10, TimeUnit.SECONDS);
+      assertThat(post("/jobs", new JobRequest(SPEC_URL, null, null)).statusCode()).isEqualTo(202);
+      assertThat(post("/jobs", new JobRequest(SPEC_URL, null, null)).statusCode()).isEqualTo(503);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void itRejectsInvalidJobs() {
+    startDaemon(1, 1, args -> Optional.empty());
+
+    final HttpResponse<String> missingPath = post("/jobs", new JobRequest(null, null, null));
+    final HttpResponse<String> badOption =
+        post("/jobs", new JobRequest(SPEC_URL, null, List.of("--render-threads=0")));
+
+    assertThat(missingPath.statusCode()).isEqualTo(400);
+    assertThat(objectMapper.readTree(missingPath.body()).get("error").asText())
+        .isEqualTo("Invalid job request: A path is required");
+    assertThat(badOption.statusCode()).isEqualTo(400);
+    assertThat(generated).isEmpty();
+  }
+
+  @Test
+  @SneakyThrows
+  void itRejectsMemoryReportWithSeveralThreads() {
+    startDaemon(2, 1, args -> Optional.empty());
+
+    final HttpResponse<String> response =
+        post("/jobs", new JobRequest(SPEC_URL, null, List.of("--memory-report")));
+
+    assertThat(response.statusCode()).isEqualTo(400);
+    assertThat(generated).isEmpty();
+  }
+
+  @Test
+  @SneakyThrows
+  void itRejectsRequestsWithoutToken() {
+    startDaemon(1, 1, args -> Optional.empty());
+
+    final HttpResponse<String> wrongToken =
+        post("/jobs", new JobRequest(SPEC_URL, null, null), "application/json", "wrong");
+    final HttpResponse<String> noToken =
+        httpClient.send(
+            HttpRequest.newBuilder(createUri("/jobs/unknown")).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+
+    assertThat(wrongToken.statusCode()).isEqualTo(401);
+    assertThat(noToken.statusCode()).isEqualTo(401);
+    assertThat(generated).isEmpty();
+  }
+
+  @Test
+  @SneakyThrows
+  void itRejectsJobsThatAreNotJson() {
+    startDaemon(1, 1, args -> Optional.empty());
+
+    final HttpResponse<String> response =
+        post("/jobs", new JobRequest(SPEC_URL, null, null), "text/plain", readToken());
+
+    assertThat(response.statusCode()).isEqualTo(415);
+    assertThat(generated).isEmpty();
+  }
+
+  @Test
+  @SneakyThrows
+  void itDeletesTokenWhenClosed() {
+    startDaemon(1, 1, args -> Optional.empty());
+    assertThat(readToken()).hasSize(64);
+
+    daemon.close();
+
+    assertThat(tempDir.resolve("daemon-token")).doesNotExist();
+  }
+
+  @Test
+  @SneakyThrows
+  void itReturnsNotFoundForUnknownJob() {
+    startDaemon(1, 1, args -> Optional.empty());
+
+    assertThat(get("/jobs/unknown").statusCode()).isEqualTo(404);
+  }
+
+  @SneakyThrows
+  private void startDaemon(
+      final int threads,
+      final int queueCapacity,
+      @NonNull final GenerationDaemon.JobGenerator job) {
+    daemon =
+        new GenerationDaemon(
+            new DaemonArgs(0, threads, queueCapacity),
+            new ArgsParser(props),
+            props,
+            tempDir.resolve("daemon-token"),
+            args -> {
+              generated.add(args);
+              return job.generate(args);
+            });
+    daemon.start();
+  }
+
+  @NonNull
+  private static GenerationReport createReport(@NonNull final Args args) {
+    return new GenerationReport(
+        args.openapiUrl().toString(), "2025-01-01T00:00:00Z", 5, null, null, List.of());
+  }
+
+  @SneakyThrows
+  private HttpResponse<String> get(@NonNull final String path) {
+    return httpClient.send(
+        HttpRequest.newBuilder(createUri(path))
+            .header("Authorization", "Bearer %s".formatted(readToken()))
+            .GET()
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+  }
+
+  private HttpResponse<String> post(@NonNull final String path, @NonNull final JobRequest request) {
+    return post(path, request, "application/json", readToken());
+  }
+
+  @SneakyThrows
+  private HttpResponse<String> post(
+      @NonNull final String path,
+      @NonNull final JobRequest request,
+      @NonNull final String contentType,
+      @NonNull final String token) {
+    return httpClient.send(
+        HttpRequest.newBuilder(createUri(path))
+            .header("Content-Type", contentType)
+            .header("Authorization", "Bearer %s".formatted(token))
+            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+  }
+
+  @SneakyThrows
+  @NonNull
+  private String readToken() {
+    return Files.readString(tempDir.resolve("daemon-token"));
+  }
+
+  @NonNull
+  private URI createUri(@NonNull final String path) {
+    return URI.create("http://localhost:%d%s".formatted(daemon.getPort(), path));
+  }
+}
@@ -1,7 +1,11 @@
 package com.radiantlogic.openapi.codegen.javaclient.generate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.radiantlogic.openapi.codegen.javaclient.args.Args;
@@ -30,12 +34,17 @@ public class OpenapiParserTest {
 
   @Test
   @SneakyThrows
-  void itParsesOpenapi() {
-    final Path tempFile = tempDir.resolve("openapi.yaml");
-    Files.createFile(tempFile);
-    final Args args = new Args(ProgramArgStatus.PROCEED, tempFile.toUri().toURL(), "");
+  void itParsesLocalOpenapiInPlace() {
+    final Path specFile = tempDir.resolve("openapi.yaml");
+    Files.writeString(specFile, "openapi: 3.0.0");
+    final Args args = new Args(ProgramArgStatus.PROCEED, specFile.toUri().toURL(), "");
     final OpenapiParser parser =
-        new OpenapiParser(args, internalParser, () -> Files.createTempFile("openapi", ".yaml"));
+        new OpenapiParser(
+            args,
+            internalParser,
+            () -> {
+              throw new IllegalStateException("Local specs should not be copied to a temp file");
+            });
 
     final ArgumentCaptor<String> pathCaptor = ArgumentCaptor.forClass(String.class);
     final ArgumentCaptor<ParseOptions> parseOptionsArgumentCaptor =
@@ -49,8 +58,8 @@ public class OpenapiParserTest {
     final SwaggerParseResult result = new SwaggerParseResult();
     result.setOpenAPI(openAPI);
 
-    when(internalParser.readLocation(
-            isA(String.class), isA(List.class), parseOptionsArgumentCaptor.capture()))
+    when(internalParser.readContents(
+            eq("openapi: 3.0.0"), isA(List.class), parseOptionsArgumentCaptor.capture()))
         .thenReturn(result);
 
     final OpenAPI actual = parser.parse();
@@ -62,5 +71,6 @@ public class OpenapiParserTest {
     assertThat(parseOptionsArgumentCaptor.getValue())
         .usingRecursiveComparison()
         .isEqualTo(parseOptions);
+    verify(internalParser, never()).readLocation(any(), any(), any());
   }
 }
@@ -0,0 +1,72 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.GenerationTimer;
+import com.radiantlogic.openapi.codegen.javaclient.generate.report.PhaseTiming;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class CodegenPassRunnerTest {
+  private static final String STAGE = "generate/stage";
+
+  private final GenerationTimer generationTimer = new GenerationTimer();
+
+  @Test
+  void itRunsPassesInOrderAndTimesThem() {
+    final List<String> ran = new ArrayList<>();
+    final CodegenPassRunner runner = new CodegenPassRunner(generationTimer, Set.of());
+
+    runner.run(createPipeline(), ran);
+
+    assertThat(ran).containsExactly("one", "two", "three");
+    assertThat(generationTimer.getPhaseTimings())
+        .extracting(PhaseTiming::phase)
+        .containsSubsequence("generate/stage/one", "generate/stage/two", "generate/stage/three");
+  }
+
+  @Test
+  void itSkipsDisabledPasses() {
+    final List<String> ran = new ArrayList<>();
+    final CodegenPassRunner runner = new CodegenPassRunner(generationTimer, Set.of("two"));
+
+    runner.run(createPipeline(), ran);
+
+    assertThat(ran).containsExactly("one", "three");
+    assertThat(runner.isEnabled("one")).isTrue();
+    assertThat(runner.isEnabled("two")).isFalse();
+    assertThat(generationTimer.getPhaseTimings())
+        .extracting(PhaseTiming::phase)
+        .doesNotContain("generate/stage/two");
+  }
+
+  @Test
+  void itRejectsUnknownPasses() {
+    final CodegenPassRunner runner =
+        new CodegenPassRunner(generationTimer, Set.of("two", "four", "five"));
+
+    assertThatThrownBy(() -> runner.validate(createPipeline().getPassNames()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Unknown passes to disable: five, four. Available passes: one, two, three");
+  }
+
+  @Test
+  void itAcceptsKnownPasses() {
+    final CodegenPassRunner runner = new CodegenPassRunner(generationTimer, Set.of("two"));
+
+    runner.validate(createPipeline().getPassNames());
+  }
+
+  private static CodegenPipeline<List<String>> createPipeline() {
+    return new CodegenPipeline<>(
+        STAGE,
+        false,
+        List.of(
+            new CodegenPass<>("one", ran -> ran.add("one")),
+            new CodegenPass<>("two", ran -> ran.add("two")),
+            new CodegenPass<>("three", ran -> ran.add("three"))));
+  }
+}
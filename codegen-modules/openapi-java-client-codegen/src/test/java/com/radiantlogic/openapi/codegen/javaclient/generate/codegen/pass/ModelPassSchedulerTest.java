@@ -0,0 +1,135 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.pass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+public class ModelPassSchedulerTest {
+  @Test
+  void itRunsPassesInOrderWithoutPool() {
+    final Queue<String> ran = new ConcurrentLinkedQueue<>();
+    final List<ModelPass<Void>> passes =
+        List.of(
+            createPass("one", Set.of(), Set.of(ModelData.PROPERTIES), ran),
+            createPass("two", Set.of(), Set.of(ModelData.VENDOR_EXTENSIONS), ran),
+            createPass("three", Set.of(), Set.of(ModelData.MODEL_MAPS), ran));
+
+    new ModelPassScheduler(null).run(passes, pass -> pass.action().accept(null));
+
+    assertThat(ran).containsExactly("one", "two", "three");
+  }
+
+  @Test
+  void itRunsConflictingPassesInOrder() {
+    final Queue<String> ran = new ConcurrentLinkedQueue<>();
+    final List<ModelPass<Void>> passes =
+        List.of(
+            new ModelPass<Void>(
+                "write",
+                Set.of(),
+                Set.of(ModelData.PROPERTIES),
+                context -> {
+                  sleep();
+                  ran.add("write");
+                }),
+            createPass("read", Set.of(ModelData.PROPERTIES), Set.of(), ran),
+            createPass("readWrite", Set.of(), Set.of(ModelData.PROPERTIES), ran));
+
+    try (ForkJoinPool pool = new ForkJoinPool(4)) {
+      new ModelPassScheduler(pool).run(passes, pass -> pass.action().accept(null));
+    }
+
+    assertThat(ran).containsExactly("write", "read", "readWrite");
+  }
+
+  @Test
+  @SneakyThrows
+  void itRunsIndependentPassesConcurrently() {
+    final CyclicBarrier barrier = new CyclicBarrier(2);
+    final Consumer<Void> awaitOther = context -> await(barrier);
+    final List<ModelPass<Void>> passes =
+        List.of(
+            new ModelPass<Void>(
+                "one", Set.of(ModelData.INHERITANCE), Set.of(ModelData.PROPERTIES), awaitOther),
+            new ModelPass<Void>(
+                "two",
+                Set.of(ModelData.INHERITANCE),
+                Set.of(ModelData.VENDOR_EXTENSIONS),
+                awaitOther));
+
+    try (ForkJoinPool pool = new ForkJoinPool(2)) {
+      new ModelPassScheduler(pool).run(passes, pass -> pass.action().accept(null));
+    }
+
+    assertThat(barrier.isBroken()).isFalse();
+  }
+
+  @Test
+  void itThrowsFirstFailureAndSkipsDependentPasses() {
+    final Queue<String> ran = new ConcurrentLinkedQueue<>();
+    final List<ModelPass<Void>> passes =
+        List.of(
+            new ModelPass<Void>(
+                "fail",
+                Set.of(),
+                Set.of(ModelData.PROPERTIES),
+                context -> {
+                  throw new IllegalStateException("Failed");
+                }),
+            createPass("dependent", Set.of(ModelData.PROPERTIES), Set.of(), ran),
+            createPass("independent", Set.of(), Set.of(ModelData.VENDOR_EXTENSIONS), ran));
+
+    try (ForkJoinPool pool = new ForkJoinPool(2)) {
+      final ModelPassScheduler scheduler = new ModelPassScheduler(pool);
+      assertThatThrownBy(() -> scheduler.run(passes, pass -> pass.action().accept(null)))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("Failed")
+          .hasNoSuppressedExceptions();
+    }
+
+    assertThat(ran).containsExactly("independent");
+  }
+
+  @Test
+  void itDetectsConflicts() {
+    final ModelPass<Void> write = createPass("write", Set.of(), Set.of(ModelData.PROPERTIES), null);
+    final ModelPass<Void> read = createPass("read", Set.of(ModelData.PROPERTIES), Set.of(), null);
+    final ModelPass<Void> otherRead =
+        createPass("otherRead", Set.of(ModelData.PROPERTIES), Set.of(), null);
+
+    assertThat(write.conflictsWith(read)).isTrue();
+    assertThat(read.conflictsWith(write)).isTrue();
+    assertThat(write.conflictsWith(write)).isTrue();
+    assertThat(read.conflictsWith(otherRead)).isFalse();
+  }
+
+  @NonNull
+  private static ModelPass<Void> createPass(
+      @NonNull final String name,
+      @NonNull final Set<ModelData> reads,
+      @NonNull final Set<ModelData> writes,
+      final Queue<String> ran) {
+    return new ModelPass<Void>(name, reads, writes, context -> ran.add(name));
+  }
+
+  @SneakyThrows
+  private static void sleep() {
+    Thread.sleep(100);
+  }
+
+  @SneakyThrows
+  private static void await(@NonNull final CyclicBarrier barrier) {
+    barrier.await(10, TimeUnit.SECONDS);
+  }
+}
@@ -93,7 +93,7 @@ public class CodegenDiscriminatorSupportTest {
             childModel2.classname, childModel2);
 
     // Act
-    codegenDiscriminatorSupport.fixAllDiscriminatorMappings(allModels);
+    codegenDiscriminatorSupport.fixAllDiscriminatorMappings(new CodegenModelIndex(allModels));
 
     // Assert
     assertThat(childModel1.vendorExtensions).containsEntry("x-discriminator-mapping-value", "one");
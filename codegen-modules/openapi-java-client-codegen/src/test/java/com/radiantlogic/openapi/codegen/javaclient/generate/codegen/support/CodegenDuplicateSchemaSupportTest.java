@@ -0,0 +1,258 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class CodegenDuplicateSchemaSupportTest {
+  private static final String SPEC =
+      """
+      openapi: 3.0.3
+      info:
+        title: Test
+        version: 1.0.0
+      paths:
+        /pets:
+          get:
+            responses:
+              '200':
+                description: OK
+                content:
+                  application/json:
+                    schema:
+                      type: array
+                      items:
+                        $ref: '#/components/schemas/PetResponse'
+          post:
+            requestBody:
+              content:
+                application/json:
+                  schema:
+                    $ref: '#/components/schemas/PetCopy'
+            responses:
+              '204':
+                description: Created
+      components:
+        schemas:
+          Pet:
+            type: object
+            description: A pet.
+            required: [name, id]
+            properties:
+              id:
+                type: integer
+              name:
+                type: string
+              owner:
+                $ref: '#/components/schemas/Owner'
+          PetCopy:
+            type: object
+            description: The same pet, documented differently.
+            required: [id, name]
+            properties:
+              name:
+                type: string
+                example: Rex
+              id:
+                type: integer
+              owner:
+                $ref: '#/components/schemas/OwnerCopy'
+          PetResponse:
+            type: object
+            properties:
+              pet:
+                $ref: '#/components/schemas/PetCopy'
+          Owner:
+            type: object
+            properties:
+              name:
+                type: string
+          OwnerCopy:
+            type: object
+            title: Owner copy
+            properties:
+              name:
+                type: string
+          NotAnOwner:
+            type: object
+            required: [name]
+            properties:
+              name:
+                type: string
+          Node:
+            type: object
+            properties:
+              next:
+                $ref: '#/components/schemas/Node'
+          OtherNode:
+            type: object
+            properties:
+              next:
+                $ref: '#/components/schemas/OtherNode'
+          Color:
+            type: string
+            enum: [red, green]
+          OtherColor:
+            type: string
+            enum: [red, green]
+          ReorderedColor:
+            type: string
+            enum: [green, red]
+      """;
+
+  private static final String INHERITANCE_SPEC =
+      """
+      openapi: 3.0.3
+      info:
+        title: Test
+        version: 1.0.0
+      paths: {}
+      components:
+        schemas:
+          Pet:
+            type: object
+            discriminator:
+              propertyName: type
+              mapping:
+                dog: '#/components/schemas/Dog'
+            properties:
+              type:
+                type: string
+          Dog:
+            type: object
+            properties:
+              type:
+                type: string
+          Cat:
+            allOf:
+              - $ref: '#/components/schemas/Pet'
+          Fish:
+            allOf:
+              - $ref: '#/components/schemas/Pet'
+          Small:
+            type: object
+            properties:
+              size:
+                type: integer
+          Tiny:
+            type: object
+            properties:
+              size:
+                type: integer
+          Size:
+            oneOf:
+              - $ref: '#/components/schemas/Small'
+              - $ref: '#/components/schemas/Tiny'
+          Big:
+            type: object
+            properties:
+              size:
+                type: integer
+          Large:
+            type: object
+            properties:
+              size:
+                type: integer
+      """;
+
+  private static final String JSON_SCHEMA_SPEC =
+      """
+      openapi: 3.1.0
+      info:
+        title: Test
+        version: 1.0.0
+      paths: {}
+      components:
+        schemas:
+          Pet:
+            type: object
+            propertyNames:
+              $ref: '#/components/schemas/NameCopy'
+            if:
+              $ref: '#/components/schemas/ConditionCopy'
+            $defs:
+              Owner:
+                $ref: '#/components/schemas/OwnerCopy'
+          Name:
+            type: string
+            pattern: '^[a-z]+$'
+          NameCopy:
+            type: string
+            pattern: '^[a-z]+$'
+          Condition:
+            type: object
+            required: [id]
+          ConditionCopy:
+            type: object
+            required: [id]
+          Owner:
+            type: object
+            required: [name]
+          OwnerCopy:
+            type: object
+            required: [name]
+      """;
+
+  private final CodegenDuplicateSchemaSupport codegenDuplicateSchemaSupport =
+      new CodegenDuplicateSchemaSupport();
+
+  @Test
+  void itMergesIdenticalSchemasAndRewritesReferences() {
+    final OpenAPI openAPI = new OpenAPIParser().readContents(SPEC, null, null).getOpenAPI();
+
+    codegenDuplicateSchemaSupport.dedupeSchemas(openAPI);
+
+    final Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+    assertThat(schemas)
+        .containsOnlyKeys(
+            "Pet", "PetResponse", "Owner", "NotAnOwner", "Node", "Color", "ReorderedColor");
+    assertThat(getPropertyRef(schemas.get("PetResponse"), "pet"))
+        .isEqualTo("#/components/schemas/Pet");
+    assertThat(
+            openAPI
+                .getPaths()
+                .get("/pets")
+                .getPost()
+                .getRequestBody()
+                .getContent()
+                .get("application/json")
+                .getSchema()
+                .get$ref())
+        .isEqualTo("#/components/schemas/Pet");
+    assertThat(getPropertyRef(schemas.get("Node"), "next")).isEqualTo("#/components/schemas/Node");
+  }
+
+  @Test
+  void itDoesNotMergeSchemasWhoseNamesMatterForInheritance() {
+    final OpenAPI openAPI =
+        new OpenAPIParser().readContents(INHERITANCE_SPEC, null, null).getOpenAPI();
+
+    codegenDuplicateSchemaSupport.dedupeSchemas(openAPI);
+
+    assertThat(openAPI.getComponents().getSchemas())
+        .containsOnlyKeys("Pet", "Dog", "Cat", "Fish", "Small", "Tiny", "Size", "Big");
+  }
+
+  @Test
+  void itRewritesReferencesInJsonSchemaKeywords() {
+    final OpenAPI openAPI =
+        new OpenAPIParser().readContents(JSON_SCHEMA_SPEC, null, null).getOpenAPI();
+
+    codegenDuplicateSchemaSupport.dedupeSchemas(openAPI);
+
+    final Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+    assertThat(schemas).containsOnlyKeys("Pet", "Name", "Condition", "Owner", "OwnerCopy");
+    assertThat(schemas.get("Pet").getPropertyNames().get$ref())
+        .isEqualTo("#/components/schemas/Name");
+    assertThat(schemas.get("Pet").getIf().get$ref()).isEqualTo("#/components/schemas/Condition");
+  }
+
+  private static String getPropertyRef(final Schema<?> schema, final String property) {
+    final Schema<?> propertySchema = schema.getProperties().get(property);
+    return propertySchema.get$ref();
+  }
+}
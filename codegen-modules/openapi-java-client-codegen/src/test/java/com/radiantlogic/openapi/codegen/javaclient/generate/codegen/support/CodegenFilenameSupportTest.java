@@ -7,8 +7,10 @@ import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.Codege
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.junit.jupiter.api.Test;
 import org.openapitools.codegen.CodegenModel;
@@ -93,6 +95,64 @@ public class CodegenFilenameSupportTest {
     assertThat(resultModel1.imports).hasSize(1).contains("MODELV1");
   }
 
+  @Test
+  void itFixesImportsOfModelsThatAreAlsoRenamed() {
+    final CodegenModel model1 = createCodegenModel("model", "Model");
+    final CodegenModel model2 = createCodegenModel("MODEL", "MODEL");
+    final CodegenModel model3 = createCodegenModel("MOdel", "MOdel");
+    final CodegenModel model4 = createCodegenModel("Other", "Other");
+    model2.imports.add("MOdel");
+    model3.imports.add("MODEL");
+    model4.imports.add("MODEL");
+    model4.imports.add("MOdel");
+
+    final Map<String, ModelsMap> allModelMaps = new LinkedHashMap<>();
+    allModelMaps.put("model", createModelsMapWithImports(model1));
+    allModelMaps.put("MODEL", createModelsMapWithImports(model2));
+    allModelMaps.put("MOdel", createModelsMapWithImports(model3));
+    allModelMaps.put("Other", createModelsMapWithImports(model4));
+
+    final CodegenFilenameSupport support = new CodegenFilenameSupport();
+    support.fixProblematicKeysForFilenames(allModelMaps, this::modelFilename);
+
+    assertThat(allModelMaps).containsOnlyKeys("model", "MODELV1", "MOdelV2", "Other");
+    assertThat(model2.classname).isEqualTo("MODELV1");
+    assertThat(model3.classname).isEqualTo("MOdelV2");
+
+    assertThat(model2.imports).containsExactly("MOdelV2");
+    assertThat(model3.imports).containsExactly("MODELV1");
+    assertThat(model4.imports).containsExactlyInAnyOrder("MODELV1", "MOdelV2");
+    assertThat(getImportValues(allModelMaps.get("MODELV1")))
+        .containsExactly("com.radiantlogic.MOdelV2");
+    assertThat(getImportValues(allModelMaps.get("MOdelV2")))
+        .containsExactly("com.radiantlogic.MODELV1");
+    assertThat(getImportValues(allModelMaps.get("Other")))
+        .containsExactlyInAnyOrder("com.radiantlogic.MODELV1", "com.radiantlogic.MOdelV2");
+  }
+
+  @NonNull
+  private ModelsMap createModelsMapWithImports(@NonNull final CodegenModel codegenModel) {
+    final ModelsMap modelsMap = createModelsMap(codegenModel);
+    final List<Map<String, String>> imports =
+        codegenModel.imports.stream()
+            .map(
+                className -> {
+                  final Map<String, String> importMap = new HashMap<>();
+                  importMap.put(
+                      CodegenConstants.IMPORT_KEY, "com.radiantlogic.%s".formatted(className));
+                  return importMap;
+                })
+            .collect(Collectors.toCollection(ArrayList::new));
+    modelsMap.put(CodegenConstants.IMPORTS_KEY, imports);
+    return modelsMap;
+  }
+
+  @NonNull
+  private List<String> getImportValues(@NonNull final ModelsMap modelsMap) {
+    return ((List<Map<String, String>>) modelsMap.get(CodegenConstants.IMPORTS_KEY))
+        .stream().map(importMap -> importMap.get(CodegenConstants.IMPORT_KEY)).toList();
+  }
+
   @NonNull
   private String modelFilename(
       @NonNull final String templateName, @NonNull final String modelName) {
@@ -64,7 +64,8 @@ public class CodegenInheritedEnumSupportTest {
 
       // Act
       final CodegenInheritedEnumSupport support = new CodegenInheritedEnumSupport();
-      final ExtractedEnumModels result = support.fixAndExtractInheritedEnums(allModels);
+      final ExtractedEnumModels result =
+          support.fixAndExtractInheritedEnums(new CodegenModelIndex(allModels));
 
       // Assert
       assertThat(result.enumsFromModelsWithParents()).hasSize(1);
@@ -150,7 +151,8 @@ public class CodegenInheritedEnumSupportTest {
 
       // Act
       final CodegenInheritedEnumSupport support = new CodegenInheritedEnumSupport();
-      final ExtractedEnumModels result = support.fixAndExtractInheritedEnums(allModels);
+      final ExtractedEnumModels result =
+          support.fixAndExtractInheritedEnums(new CodegenModelIndex(allModels));
 
       // Assert
       assertThat(result.enumsFromDiscriminatorParentModels()).hasSize(1);
@@ -221,7 +223,8 @@ public class CodegenInheritedEnumSupportTest {
 
       // Act
       final CodegenInheritedEnumSupport support = new CodegenInheritedEnumSupport();
-      final ExtractedEnumModels result = support.fixAndExtractInheritedEnums(allModels);
+      final ExtractedEnumModels result =
+          support.fixAndExtractInheritedEnums(new CodegenModelIndex(allModels));
 
       // Assert
       assertThat(result.enumsFromModelsWithNonDiscriminatorChildren()).hasSize(1);
@@ -8,6 +8,7 @@ import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import java.net.URI;
+import java.util.Set;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -82,6 +83,54 @@ public class CodegenMetadataSupportTest {
     assertThat(metadata).isEqualTo(expectedMetadata);
   }
 
+  @Test
+  void itGetsMetadataForPartOfASpec() {
+    final OpenAPI openAPI = createOpenAPI();
+    openAPI.getInfo().setTitle("My Title");
+    openAPI.getInfo().setVersion("1.0.0");
+    final var metadata =
+        codegenMetadataSupport.getMetadata(
+            openAPI, args.withIncludeTags(Set.of("users", "pets & toys")));
+    final var expectedMetadata =
+        new CodegenMetadataSupport.CodegenMetadata(
+            CodegenPaths.OUTPUT_DIR.resolve("My-Title-pets-toys-users").resolve("1.0.0"),
+            "My-Title-pets-toys-users",
+            "1.0.0",
+            "com.something.mytitlepetstoysusers");
+    assertThat(metadata).isEqualTo(expectedMetadata);
+  }
+
+  @Test
+  void itGetsDifferentMetadataForDifferentPaths() {
+    final OpenAPI openAPI = createOpenAPI();
+    openAPI.getInfo().setTitle("MyTitle");
+    openAPI.getInfo().setVersion("1.0.0");
+    final var users =
+        codegenMetadataSupport.getMetadata(openAPI, args.withIncludePaths(Set.of("/users/*")));
+    final var pets =
+        codegenMetadataSupport.getMetadata(openAPI, args.withIncludePaths(Set.of("/pets/*")));
+    assertThat(users.artifactId()).startsWith("MyTitle-paths-");
+    assertThat(pets.artifactId()).startsWith("MyTitle-paths-").isNotEqualTo(users.artifactId());
+    assertThat(pets.outputDir()).isNotEqualTo(users.outputDir());
+  }
+
+  @Test
+  void itGetsMetadataWithArtifactId() {
+    final OpenAPI openAPI = createOpenAPI();
+    openAPI.getInfo().setTitle("MyTitle");
+    openAPI.getInfo().setVersion("1.0.0");
+    final var metadata =
+        codegenMetadataSupport.getMetadata(
+            openAPI, args.withArtifactId("my-client").withIncludeTags(Set.of("users")));
+    final var expectedMetadata =
+        new CodegenMetadataSupport.CodegenMetadata(
+            CodegenPaths.OUTPUT_DIR.resolve("my-client").resolve("1.0.0"),
+            "my-client",
+            "1.0.0",
+            "com.something.myclient");
+    assertThat(metadata).isEqualTo(expectedMetadata);
+  }
+
   private OpenAPI createOpenAPI() {
     final OpenAPI openAPI = new OpenAPI();
     openAPI.setInfo(new Info());
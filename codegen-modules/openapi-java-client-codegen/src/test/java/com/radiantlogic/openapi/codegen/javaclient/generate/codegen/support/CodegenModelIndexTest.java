@@ -0,0 +1,96 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.models.ExtendedCodegenModel;
+import com.radiantlogic.openapi.codegen.javaclient.generate.models.UnionType;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.CodegenDiscriminator;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+
+public class CodegenModelIndexTest {
+  @Test
+  void itIndexesModels() {
+    final ExtendedCodegenModel parent = createModel("Parent");
+    parent.vars = List.of(createProperty("first_name", "firstName"));
+    final ExtendedCodegenModel child = createModel("Child");
+    child.parentModel = parent;
+    final ExtendedCodegenModel union = createModel("Union");
+    union.oneOf = Set.of("Child");
+    final ExtendedCodegenModel discriminatedUnion = createModel("DiscriminatedUnion");
+    discriminatedUnion.oneOf = Set.of("Child");
+    discriminatedUnion.discriminator = new CodegenDiscriminator();
+    discriminatedUnion.discriminator.setMappedModels(
+        Set.of(new CodegenDiscriminator.MappedModel("child", "Child", true)));
+    // The schema name of a model is not always its model name
+    final ExtendedCodegenModel renamed = createModel("renamed_model");
+    renamed.classname = "RenamedModel";
+
+    final Map<String, CodegenModel> allModels = new LinkedHashMap<>();
+    List.of(parent, child, union, discriminatedUnion).forEach(m -> allModels.put(m.name, m));
+    allModels.put("RenamedModel", renamed);
+
+    final CodegenModelIndex index = new CodegenModelIndex(allModels);
+
+    assertThat(index.getModels()).hasSize(5);
+    assertThat(index.findModel("RenamedModel")).contains(renamed);
+    assertThat(index.findModel("renamed_model")).isEmpty();
+    assertThat(index.findModelBySchemaName("renamed_model")).contains(renamed);
+    assertThat(index.getModelsByClassname()).containsEntry("RenamedModel", renamed);
+    assertThat(index.getChildren(parent)).containsExactly(child);
+    assertThat(index.getChildren(child)).isEmpty();
+    assertThat(index.getModelsWithParents()).containsExactly(child);
+    assertThat(index.getModelsWithDiscriminatorChildren()).containsExactly(discriminatedUnion);
+    assertThat(index.getModelsWithNonDiscriminatorChildren()).containsExactly(union);
+    assertThat(index.getUnionType(union)).isEqualTo(UnionType.UNION_NO_DISCRIMINATOR);
+    assertThat(index.isInvalidUnionType(union)).isTrue();
+    assertThat(index.isInvalidUnionType(discriminatedUnion)).isFalse();
+    assertThat(index.findPropertyByBaseName(parent, "first_name")).contains(parent.vars.getFirst());
+    assertThat(index.findPropertyByName(parent, "firstName")).contains(parent.vars.getFirst());
+    assertThat(index.findPropertyByName(child, "firstName")).isEmpty();
+  }
+
+  @Test
+  void itFindsPropertiesOfModelsOutsideTheIndex() {
+    final CodegenModel outside = new CodegenModel();
+    outside.name = "Outside";
+    outside.vars = List.of(createProperty("last_name", "lastName"));
+
+    final CodegenModelIndex index = new CodegenModelIndex(Map.of());
+
+    assertThat(index.findPropertyByName(outside, "lastName")).contains(outside.vars.getFirst());
+    assertThatThrownBy(() -> index.getUnionType(outside))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void itRejectsDuplicateClassnames() {
+    final ExtendedCodegenModel one = createModel("One");
+    one.classname = "Same";
+    final ExtendedCodegenModel two = createModel("Two");
+    two.classname = "Same";
+
+    assertThatThrownBy(() -> new CodegenModelIndex(Map.of("One", one, "Two", two)))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static ExtendedCodegenModel createModel(final String name) {
+    final ExtendedCodegenModel model = new ExtendedCodegenModel();
+    model.name = name;
+    model.classname = name;
+    return model;
+  }
+
+  private static CodegenProperty createProperty(final String baseName, final String name) {
+    final CodegenProperty property = new CodegenProperty();
+    property.baseName = baseName;
+    property.name = name;
+    return property;
+  }
+}
@@ -48,7 +48,7 @@ public class CodegenRawTypeUsageSupportTest {
 
     // When
     final CodegenRawTypeUsageSupport support = new CodegenRawTypeUsageSupport();
-    support.applyRawTypesToModelProperties(modelClassMap);
+    support.applyRawTypesToModelProperties(new CodegenModelIndex(modelClassMap));
 
     // Then
     // Verify that the property's type has been changed to use the Raw type
@@ -1,9 +1,12 @@
 package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.openapitools.codegen.CodegenModel;
@@ -32,7 +35,7 @@ public class CodegenRemoveInheritanceEnumsSupportTest {
     allModels.put("ChildModel", model);
 
     // Act
-    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(allModels);
+    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(new CodegenModelIndex(allModels));
 
     // Assert
     assertThat(enumProperty.isEnum).isTrue();
@@ -74,7 +77,7 @@ public class CodegenRemoveInheritanceEnumsSupportTest {
     allModels.put("ChildModel", childModel);
 
     // Act
-    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(allModels);
+    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(new CodegenModelIndex(allModels));
 
     // Assert
     assertThat(childEnumProperty.isEnum).isTrue();
@@ -116,7 +119,7 @@ public class CodegenRemoveInheritanceEnumsSupportTest {
     allModels.put("ChildModel", childModel);
 
     // Act
-    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(allModels);
+    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(new CodegenModelIndex(allModels));
 
     // Assert
     assertThat(childEnumProperty.isEnum).isFalse();
@@ -172,7 +175,7 @@ public class CodegenRemoveInheritanceEnumsSupportTest {
     allModels.put("ChildModel", childModel);
 
     // Act
-    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(allModels);
+    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(new CodegenModelIndex(allModels));
 
     // Assert
     // Both parent and child enums should be removed since grandparent has non-enum property
@@ -231,7 +234,7 @@ public class CodegenRemoveInheritanceEnumsSupportTest {
     allModels.put("ChildModel", childModel);
 
     // Act
-    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(allModels);
+    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(new CodegenModelIndex(allModels));
 
     // Assert
     // First property should remain enum since parent also has enum
@@ -242,4 +245,83 @@ public class CodegenRemoveInheritanceEnumsSupportTest {
     assertThat(childEnumProperty2.isEnum).isFalse();
     assertThat(childEnumProperty2.dataType).isEqualTo("String");
   }
+
+  @Test
+  void itHandlesDeepInheritance() {
+    // Arrange
+    final CodegenModel rootModel = new CodegenModel();
+    rootModel.classname = "Model0";
+    rootModel.vars = new ArrayList<>();
+
+    final CodegenProperty rootProperty = new CodegenProperty();
+    rootProperty.name = "status";
+    rootProperty.isEnum = false;
+    rootProperty.dataType = "String";
+    rootProperty.datatypeWithEnum = "String";
+    rootProperty.openApiType = "string";
+    rootModel.vars.add(rootProperty);
+
+    final List<CodegenModel> models = new ArrayList<>();
+    final List<CodegenProperty> enumProperties = new ArrayList<>();
+    CodegenModel parentModel = rootModel;
+    for (int index = 1; index <= 20_000; index++) {
+      final CodegenModel model = new CodegenModel();
+      model.classname = "Model%d".formatted(index);
+      model.parentModel = parentModel;
+      model.vars = new ArrayList<>();
+
+      final CodegenProperty enumProperty = new CodegenProperty();
+      enumProperty.name = "status";
+      enumProperty.isEnum = true;
+      enumProperty.dataType = "StatusEnum";
+      enumProperty.datatypeWithEnum = "StatusEnum";
+      enumProperty.openApiType = "string";
+      model.vars.add(enumProperty);
+      enumProperties.add(enumProperty);
+
+      models.add(model);
+      parentModel = model;
+    }
+
+    // Children first, so that no model has been processed by the time its children are seen
+    final Map<String, CodegenModel> allModels = new LinkedHashMap<>();
+    models.reversed().forEach(model -> allModels.put(model.classname, model));
+    allModels.put("Model0", rootModel);
+
+    // Act
+    codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(new CodegenModelIndex(allModels));
+
+    // Assert
+    assertThat(enumProperties)
+        .allSatisfy(
+            property -> {
+              assertThat(property.isEnum).isFalse();
+              assertThat(property.dataType).isEqualTo("String");
+            });
+  }
+
+  @Test
+  void itRejectsCyclicInheritance() {
+    // Arrange
+    final CodegenModel model1 = new CodegenModel();
+    model1.classname = "Model1";
+    model1.vars = new ArrayList<>();
+
+    final CodegenModel model2 = new CodegenModel();
+    model2.classname = "Model2";
+    model2.vars = new ArrayList<>();
+
+    model1.parentModel = model2;
+    model2.parentModel = model1;
+
+    final Map<String, CodegenModel> allModels = new LinkedHashMap<>();
+    allModels.put("Model1", model1);
+    allModels.put("Model2", model2);
+    final CodegenModelIndex index = new CodegenModelIndex(allModels);
+
+    // Act & Assert
+    assertThatThrownBy(() -> codegenRemoveInheritanceEnumsSupport.removeInheritedEnums(index))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Model inheritance is cyclic: Model1 -> Model2 -> Model1");
+  }
 }
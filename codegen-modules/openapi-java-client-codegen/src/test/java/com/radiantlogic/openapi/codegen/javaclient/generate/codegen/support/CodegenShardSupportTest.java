@@ -0,0 +1,174 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.CodegenModelUtils;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.model.ModelsMap;
+
+public class CodegenShardSupportTest {
+  private static final String SPEC =
+      """
+      openapi: 3.0.3
+      info:
+        title: Test
+        version: 1.0.0
+      paths:
+        /pets:
+          get:
+            tags:
+              - pet store
+            responses:
+              '200':
+                description: OK
+                content:
+                  application/json:
+                    schema:
+                      $ref: '#/components/schemas/Pet'
+        /owners:
+          get:
+            tags:
+              - owners
+            responses:
+              '200':
+                description: OK
+                content:
+                  application/json:
+                    schema:
+                      $ref: '#/components/schemas/Owner'
+          post:
+            responses:
+              '204':
+                description: Created
+      components:
+        schemas:
+          Pet:
+            type: object
+            properties:
+              tag:
+                $ref: '#/components/schemas/Tag'
+          Owner:
+            type: object
+            properties:
+              tag:
+                $ref: '#/components/schemas/Tag'
+          Tag:
+            type: object
+            properties:
+              name:
+                type: string
+      """;
+
+  @Test
+  void itFindsSchemasByTag() {
+    final OpenAPI openAPI = new OpenAPIParser().readContents(SPEC, null, null).getOpenAPI();
+
+    final Map<String, Set<String>> schemasByTag =
+        new CodegenShardSupport().findSchemasByTag(openAPI, tag -> tag.replace(" ", ""));
+
+    assertThat(schemasByTag)
+        .containsOnlyKeys("petstore", "owners", "default")
+        .containsEntry("petstore", Set.of("Pet", "Tag"))
+        .containsEntry("owners", Set.of("Owner", "Tag"))
+        .containsEntry("default", Set.of());
+  }
+
+  @Test
+  void itCreatesLayout() {
+    final CodegenModel pet = createModel("Pet");
+    final CodegenProperty petTags = createProperty("List<PetTag>", "PetTag");
+    petTags.items = createProperty("PetTag", "PetTag");
+    pet.vars = List.of(petTags);
+    final CodegenModel petTag = createModel("PetTag");
+    petTag.parent = "BaseTag";
+    final CodegenModel baseTag = createModel("BaseTag");
+    final CodegenModel owner = createModel("Owner");
+    owner.vars = List.of(createProperty("Address", "Address"));
+    final CodegenModel address = createModel("Address");
+    final CodegenModel unused = createModel("Unused");
+
+    final Map<String, ModelsMap> allModelMaps = new HashMap<>();
+    List.of(pet, petTag, baseTag, owner, address, unused)
+        .forEach(
+            model ->
+                allModelMaps.put(
+                    model.name,
+                    CodegenModelUtils.wrapInModelsMap(new ModelsMap(), "com.example", model)));
+    final Map<String, Set<String>> schemasByTag =
+        Map.of(
+            "pets", Set.of("Pet"),
+            "owners", Set.of("Owner", "Address"),
+            "addresses", Set.of("Address"));
+
+    final ShardLayout layout =
+        new CodegenShardSupport().createLayout("client", allModelMaps, schemasByTag);
+
+    assertThat(layout.getCommonModule()).isEqualTo("client-common");
+    assertThat(layout.getTagModules())
+        .containsExactly("client-addresses", "client-owners", "client-pets");
+    assertThat(layout.getModelModule("Pet")).isEqualTo("client-pets");
+    assertThat(layout.getModelModule("PetTag")).isEqualTo("client-pets");
+    assertThat(layout.getModelModule("BaseTag")).isEqualTo("client-pets");
+    assertThat(layout.getModelModule("Owner")).isEqualTo("client-owners");
+    assertThat(layout.getModelModule("Address")).isEqualTo("client-common");
+    assertThat(layout.getModelModule("Unused")).isEqualTo("client-common");
+  }
+
+  @Test
+  void itPutsModelsReferencedByUntaggedModelsInTheCommonModule() {
+    final CodegenModel unused = createModel("Unused");
+    unused.vars = List.of(createProperty("Pet", "Pet"));
+    final CodegenModel pet = createModel("Pet");
+    pet.vars = List.of(createProperty("Tag", "Tag"));
+    final CodegenModel tag = createModel("Tag");
+
+    final Map<String, ModelsMap> allModelMaps = new HashMap<>();
+    List.of(unused, pet, tag)
+        .forEach(
+            model ->
+                allModelMaps.put(
+                    model.name,
+                    CodegenModelUtils.wrapInModelsMap(new ModelsMap(), "com.example", model)));
+    final Map<String, Set<String>> schemasByTag = Map.of("pets", Set.of("Pet"));
+
+    final ShardLayout layout =
+        new CodegenShardSupport().createLayout("client", allModelMaps, schemasByTag);
+
+    assertThat(layout.getModelModule("Unused")).isEqualTo("client-common");
+    assertThat(layout.getModelModule("Pet")).isEqualTo("client-common");
+    assertThat(layout.getModelModule("Tag")).isEqualTo("client-common");
+  }
+
+  @Test
+  void itNamesModulesInKebabCase() {
+    final ShardLayout layout =
+        new ShardLayout("client", new TreeSet<>(Set.of("IssueTracker", "Common")), Map.of());
+
+    assertThat(layout.getTagModules()).containsExactly("client-common-api", "client-issue-tracker");
+    assertThat(layout.getApiModule("IssueTracker")).isEqualTo("client-issue-tracker");
+    assertThat(layout.getModelModule("Unknown")).isEqualTo("client-common");
+  }
+
+  private static CodegenModel createModel(final String name) {
+    final CodegenModel model = new CodegenModel();
+    model.name = name;
+    model.classname = name;
+    return model;
+  }
+
+  private static CodegenProperty createProperty(final String dataType, final String complexType) {
+    final CodegenProperty property = new CodegenProperty();
+    property.dataType = dataType;
+    property.complexType = complexType;
+    return property;
+  }
+}
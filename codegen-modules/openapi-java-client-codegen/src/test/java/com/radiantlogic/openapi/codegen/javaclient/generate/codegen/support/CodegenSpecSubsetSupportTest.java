@@ -0,0 +1,169 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.tags.Tag;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class CodegenSpecSubsetSupportTest {
+  private static final String SPEC =
+      """
+      openapi: 3.0.0
+      info:
+        title: Test
+        version: 1.0.0
+      tags:
+        - name: repos
+        - name: issues
+      paths:
+        /repos:
+          get:
+            tags: [repos]
+            responses:
+              '200':
+                $ref: '#/components/responses/RepoList'
+          post:
+            tags: [admin]
+            requestBody:
+              $ref: '#/components/requestBodies/NewRepo'
+            responses:
+              '204':
+                description: Created
+        /repos/{id}:
+          get:
+            tags: [repos]
+            parameters:
+              - $ref: '#/components/parameters/Id'
+            responses:
+              '200':
+                description: OK
+                content:
+                  application/json:
+                    schema:
+                      $ref: '#/components/schemas/Repo'
+        /issues:
+          get:
+            tags: [issues]
+            responses:
+              '200':
+                description: OK
+                content:
+                  application/json:
+                    schema:
+                      $ref: '#/components/schemas/Issue'
+      components:
+        parameters:
+          Id:
+            name: id
+            in: path
+            required: true
+            schema:
+              type: string
+        requestBodies:
+          NewRepo:
+            content:
+              application/json:
+                schema:
+                  $ref: '#/components/schemas/NewRepo'
+        responses:
+          RepoList:
+            description: OK
+            content:
+              application/json:
+                schema:
+                  type: array
+                  items:
+                    $ref: '#/components/schemas/Repo'
+        schemas:
+          Repo:
+            type: object
+            properties:
+              owner:
+                $ref: '#/components/schemas/User'
+              parent:
+                $ref: '#/components/schemas/Repo'
+          User:
+            type: object
+            properties:
+              name:
+                type: string
+          NewRepo:
+            type: object
+            properties:
+              name:
+                type: string
+          Issue:
+            type: object
+            properties:
+              author:
+                $ref: '#/components/schemas/User'
+      """;
+
+  private final CodegenSpecSubsetSupport codegenSpecSubsetSupport = new CodegenSpecSubsetSupport();
+
+  @Test
+  void itDoesNothingWithoutIncludes() {
+    final OpenAPI openAPI = parse();
+
+    codegenSpecSubsetSupport.subsetSpec(openAPI, Set.of(), Set.of());
+
+    assertThat(openAPI.getPaths()).containsOnlyKeys("/repos", "/repos/{id}", "/issues");
+    assertThat(openAPI.getComponents().getSchemas()).hasSize(4);
+  }
+
+  @Test
+  void itKeepsOnlyTaggedOperationsAndTheirComponents() {
+    final OpenAPI openAPI = parse();
+
+    codegenSpecSubsetSupport.subsetSpec(openAPI, Set.of("repos"), Set.of());
+
+    assertThat(openAPI.getPaths()).containsOnlyKeys("/repos", "/repos/{id}");
+    assertThat(openAPI.getPaths().get("/repos").getGet()).isNotNull();
+    assertThat(openAPI.getPaths().get("/repos").getPost()).isNull();
+    assertThat(openAPI.getTags()).extracting(Tag::getName).containsExactly("repos");
+    assertThat(openAPI.getComponents().getSchemas()).containsOnlyKeys("Repo", "User");
+    assertThat(openAPI.getComponents().getResponses()).containsOnlyKeys("RepoList");
+    assertThat(openAPI.getComponents().getParameters()).containsOnlyKeys("Id");
+    assertThat(openAPI.getComponents().getRequestBodies()).isEmpty();
+  }
+
+  @Test
+  void itKeepsIncludedPathsWithAllOperations() {
+    final OpenAPI openAPI = parse();
+
+    codegenSpecSubsetSupport.subsetSpec(openAPI, Set.of(), Set.of("/repos"));
+
+    assertThat(openAPI.getPaths()).containsOnlyKeys("/repos");
+    assertThat(openAPI.getPaths().get("/repos").getPost()).isNotNull();
+    assertThat(openAPI.getComponents().getSchemas()).containsOnlyKeys("Repo", "User", "NewRepo");
+    assertThat(openAPI.getComponents().getRequestBodies()).containsOnlyKeys("NewRepo");
+    assertThat(openAPI.getComponents().getParameters()).isEmpty();
+  }
+
+  @Test
+  void itCombinesTagsAndWildcardPaths() {
+    final OpenAPI openAPI = parse();
+
+    codegenSpecSubsetSupport.subsetSpec(openAPI, Set.of("issues"), Set.of("/repos/*"));
+
+    assertThat(openAPI.getPaths()).containsOnlyKeys("/repos/{id}", "/issues");
+    assertThat(openAPI.getComponents().getSchemas()).containsOnlyKeys("Repo", "User", "Issue");
+  }
+
+  @Test
+  void itFailsWhenNothingMatches() {
+    final OpenAPI openAPI = parse();
+
+    assertThatThrownBy(() -> codegenSpecSubsetSupport.subsetSpec(openAPI, Set.of("nope"), Set.of()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("No operations in the OpenAPI specification match");
+  }
+
+  private static OpenAPI parse() {
+    return new OpenAPIParser().readContents(SPEC, null, null).getOpenAPI();
+  }
+}
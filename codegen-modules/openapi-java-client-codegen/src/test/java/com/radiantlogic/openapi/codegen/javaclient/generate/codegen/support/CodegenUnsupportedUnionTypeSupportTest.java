@@ -272,4 +272,52 @@ public class CodegenUnsupportedUnionTypeSupportTest {
     codegenUnsupportedUnionTypeSupport.fixUnsupportedUnionTypes(model, schema, openAPI);
     assertThat(model.getVars()).usingRecursiveComparison().isEqualTo(expectedProps);
   }
+
+  @Test
+  void itResolvesEachRefOnce() {
+    final CodegenModel model1 = new CodegenModel();
+    model1.setName(SCHEMA_HAS_PROPERTY_REF_INVALID_ONE_OF);
+    model1.setVars(new ArrayList<>(List.of(createProp(SCHEMA_INVALID_ONE_OF_REF))));
+    final CodegenModel model2 = new CodegenModel();
+    model2.setName(SCHEMA_HAS_PROPERTY_REF_INVALID_ONE_OF);
+    model2.setVars(new ArrayList<>(List.of(createProp(SCHEMA_INVALID_ONE_OF_REF))));
+    final List<CodegenProperty> expectedProps = List.of(createFixedProp(SCHEMA_INVALID_ONE_OF_REF));
+
+    final Schema<?> schema =
+        openAPI.getComponents().getSchemas().get(SCHEMA_HAS_PROPERTY_REF_INVALID_ONE_OF);
+
+    codegenUnsupportedUnionTypeSupport.fixUnsupportedUnionTypes(model1, schema, openAPI);
+    codegenUnsupportedUnionTypeSupport.fixUnsupportedUnionTypes(model2, schema, openAPI);
+    assertThat(model1.getVars()).usingRecursiveComparison().isEqualTo(expectedProps);
+    assertThat(model2.getVars()).usingRecursiveComparison().isEqualTo(expectedProps);
+    assertThat(codegenUnsupportedUnionTypeSupport.getRefCacheMisses()).isEqualTo(1);
+    assertThat(codegenUnsupportedUnionTypeSupport.getRefCacheHits()).isEqualTo(1);
+  }
+
+  @Test
+  void itHasRefCycle() {
+    final Schema<?> cycleSchema1 = new Schema<>();
+    cycleSchema1.setName("cycle1");
+    cycleSchema1.set$ref("#/components/schemas/cycle2");
+    final Schema<?> cycleSchema2 = new Schema<>();
+    cycleSchema2.setName("cycle2");
+    cycleSchema2.set$ref("#/components/schemas/cycle1");
+    final ObjectSchema hasCycleSchema = new ObjectSchema();
+    hasCycleSchema.setName("hasCycle");
+    hasCycleSchema.setProperties(toSchemaMap(cycleSchema1));
+
+    final OpenAPI cycleOpenAPI = new OpenAPI();
+    final Components components = new Components();
+    components.setSchemas(toSchemaMap(cycleSchema1, cycleSchema2, hasCycleSchema));
+    cycleOpenAPI.setComponents(components);
+
+    final List<CodegenProperty> expectedProps = List.of(createProp("cycle1"));
+    final CodegenModel model = new CodegenModel();
+    model.setName("hasCycle");
+    model.setVars(new ArrayList<>(List.of(createProp("cycle1"))));
+
+    codegenUnsupportedUnionTypeSupport.fixUnsupportedUnionTypes(
+        model, hasCycleSchema, cycleOpenAPI);
+    assertThat(model.getVars()).usingRecursiveComparison().isEqualTo(expectedProps);
+  }
 }
@@ -0,0 +1,110 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+
+public class CodegenUnusedSchemaSupportTest {
+  private static final String SPEC =
+      """
+      openapi: 3.1.0
+      info:
+        title: Test
+        version: 1.0.0
+      paths:
+        /pets:
+          get:
+            responses:
+              '200':
+                description: OK
+                content:
+                  application/json:
+                    schema:
+                      $ref: '#/components/schemas/Pet'
+        /owners:
+          post:
+            requestBody:
+              content:
+                application/json:
+                  schema:
+                    oneOf:
+                      - $ref: '#/components/schemas/Person'
+                      - $ref: '#/components/schemas/Company'
+            responses:
+              '204':
+                description: Created
+      webhooks:
+        newToy:
+          post:
+            requestBody:
+              content:
+                application/json:
+                  schema:
+                    $ref: '#/components/schemas/Toy'
+            responses:
+              '200':
+                description: OK
+      components:
+        responses:
+          UnusedResponse:
+            description: Unused
+            content:
+              application/json:
+                schema:
+                  $ref: '#/components/schemas/Unused'
+        schemas:
+          Pet:
+            type: object
+            discriminator:
+              propertyName: type
+              mapping:
+                fish: Fish
+            properties:
+              type:
+                type: string
+          Dog:
+            allOf:
+              - $ref: '#/components/schemas/Pet'
+              - type: object
+                properties:
+                  collar:
+                    $ref: '#/components/schemas/Collar'
+          Fish:
+            type: object
+            properties:
+              type:
+                type: string
+          Collar:
+            type: object
+          Person:
+            type: object
+          Company:
+            type: object
+          Toy:
+            type: object
+          Unused:
+            type: object
+            properties:
+              other:
+                $ref: '#/components/schemas/AlsoUnused'
+          AlsoUnused:
+            allOf:
+              - $ref: '#/components/schemas/Unused'
+      """;
+
+  private final CodegenUnusedSchemaSupport codegenUnusedSchemaSupport =
+      new CodegenUnusedSchemaSupport();
+
+  @Test
+  void itRemovesSchemasNotReachableFromOperations() {
+    final OpenAPI openAPI = new OpenAPIParser().readContents(SPEC, null, null).getOpenAPI();
+
+    codegenUnusedSchemaSupport.removeUnusedSchemas(openAPI);
+
+    assertThat(openAPI.getComponents().getSchemas())
+        .containsOnlyKeys("Pet", "Dog", "Fish", "Collar", "Person", "Company", "Toy");
+    assertThat(openAPI.getComponents().getResponses()).isEmpty();
+  }
+}
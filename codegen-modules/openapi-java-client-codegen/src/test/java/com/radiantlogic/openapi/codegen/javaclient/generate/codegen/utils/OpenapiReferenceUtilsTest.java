@@ -0,0 +1,189 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radiantlogic.openapi.codegen.javaclient.generate.codegen.utils.OpenapiReferenceUtils.ComponentRef;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class OpenapiReferenceUtilsTest {
+  @Test
+  void itParsesComponentRefs() {
+    assertThat(OpenapiReferenceUtils.parseRef("#/components/schemas/Foo"))
+        .contains(ComponentRef.schema("Foo"));
+    assertThat(OpenapiReferenceUtils.parseRef("#/components/parameters/Bar"))
+        .contains(new ComponentRef("parameters", "Bar"));
+    assertThat(OpenapiReferenceUtils.parseRef("other.yaml#/components/schemas/Foo")).isEmpty();
+    assertThat(OpenapiReferenceUtils.parseRef("Foo")).isEmpty();
+    assertThat(OpenapiReferenceUtils.parseMappingRef("Foo")).contains(ComponentRef.schema("Foo"));
+  }
+
+  @Test
+  void itFollowsCyclesAndDiscriminatorMappings() {
+    final Schema<?> pet =
+        new ObjectSchema()
+            .addProperty("friend", new Schema<>().$ref("#/components/schemas/Pet"))
+            .discriminator(
+                new Discriminator()
+                    .propertyName("type")
+                    .mapping(Map.of("dog", "Dog", "cat", "#/components/schemas/Cat")));
+    final Components components =
+        new Components()
+            .schemas(
+                Map.of(
+                    "Pet", pet,
+                    "Dog", new ObjectSchema(),
+                    "Cat", new ObjectSchema(),
+                    "Unused", new ObjectSchema()));
+    final OpenAPI openAPI = new OpenAPI().components(components);
+    final PathItem pathItem =
+        new PathItem()
+            .get(
+                new Operation()
+                    .responses(
+                        new ApiResponses()
+                            .addApiResponse(
+                                "200",
+                                new ApiResponse()
+                                    .content(
+                                        new Content()
+                                            .addMediaType(
+                                                "application/json",
+                                                new MediaType()
+                                                    .schema(
+                                                        new Schema<>()
+                                                            .$ref("#/components/schemas/Pet")))))));
+
+    final Set<ComponentRef> reachable =
+        OpenapiReferenceUtils.findReachableComponents(openAPI, List.of(pathItem));
+
+    assertThat(reachable)
+        .containsExactlyInAnyOrder(
+            ComponentRef.schema("Pet"), ComponentRef.schema("Dog"), ComponentRef.schema("Cat"));
+  }
+
+  @Test
+  void itFollowsJsonSchemaKeywords() {
+    final String spec =
+        """
+        openapi: 3.1.0
+        info:
+          title: Test
+          version: 1.0.0
+        paths:
+          /pets:
+            get:
+              responses:
+                '200':
+                  description: OK
+                  content:
+                    application/json:
+                      schema:
+                        $ref: '#/components/schemas/Pet'
+        components:
+          schemas:
+            Pet:
+              type: object
+              propertyNames:
+                $ref: '#/components/schemas/Name'
+              if:
+                $ref: '#/components/schemas/Condition'
+              then:
+                $ref: '#/components/schemas/Then'
+              contains:
+                $ref: '#/components/schemas/Contained'
+              unevaluatedProperties:
+                $ref: '#/components/schemas/Unevaluated'
+              dependentSchemas:
+                owner:
+                  $ref: '#/components/schemas/Dependent'
+              $defs:
+                Tag:
+                  type: array
+                  items:
+                    $ref: '#/components/schemas/Tag'
+            Name:
+              type: string
+            Condition:
+              type: object
+            Then:
+              type: object
+            Contained:
+              type: object
+            Unevaluated:
+              type: object
+            Dependent:
+              type: object
+            Tag:
+              type: object
+            Unused:
+              type: object
+        """;
+    final OpenAPI openAPI = new OpenAPIParser().readContents(spec, null, null).getOpenAPI();
+
+    final Set<ComponentRef> reachable = OpenapiReferenceUtils.findReachableComponents(openAPI);
+
+    assertThat(reachable)
+        .containsExactlyInAnyOrder(
+            ComponentRef.schema("Pet"),
+            ComponentRef.schema("Name"),
+            ComponentRef.schema("Condition"),
+            ComponentRef.schema("Then"),
+            ComponentRef.schema("Contained"),
+            ComponentRef.schema("Unevaluated"),
+            ComponentRef.schema("Dependent"),
+            ComponentRef.schema("Tag"));
+  }
+
+  @Test
+  void itVisitsEverySchema() {
+    final Schema<?> pet =
+        new ObjectSchema()
+            .title("Pet")
+            .addProperty("owner", new ObjectSchema().title("Owner"))
+            .addProperty("self", new Schema<>().title("Self").$ref("#/components/schemas/Pet"));
+    final Schema<?> unused =
+        new ObjectSchema().title("Unused").addProperty("tags", new ObjectSchema().title("Tags"));
+    final PathItem pathItem =
+        new PathItem()
+            .get(
+                new Operation()
+                    .responses(
+                        new ApiResponses()
+                            .addApiResponse(
+                                "200",
+                                new ApiResponse()
+                                    .content(
+                                        new Content()
+                                            .addMediaType(
+                                                "application/json",
+                                                new MediaType()
+                                                    .schema(
+                                                        new ObjectSchema().title("Inline")))))));
+    final OpenAPI openAPI =
+        new OpenAPI()
+            .path("/pets", pathItem)
+            .components(new Components().schemas(Map.of("Pet", pet, "Unused", unused)));
+
+    final List<String> visited = new ArrayList<>();
+    OpenapiReferenceUtils.forEachSchema(openAPI, schema -> visited.add(schema.getTitle()));
+
+    assertThat(visited)
+        .containsExactlyInAnyOrder("Inline", "Pet", "Owner", "Self", "Unused", "Tags");
+  }
+}
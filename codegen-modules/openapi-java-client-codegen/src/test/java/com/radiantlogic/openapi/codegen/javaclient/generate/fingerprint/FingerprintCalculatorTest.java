@@ -0,0 +1,120 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.fingerprint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radiantlogic.openapi.codegen.javaclient.args.Args;
+import com.radiantlogic.openapi.codegen.javaclient.args.ProgramArgStatus;
+import com.radiantlogic.openapi.codegen.javaclient.generate.output.OutputMode;
+import com.radiantlogic.openapi.codegen.javaclient.properties.Props;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+public class FingerprintCalculatorTest {
+  private static final byte[] SPEC = "openapi: 3.0.0".getBytes(StandardCharsets.UTF_8);
+
+  private final FingerprintCalculator calculator =
+      new FingerprintCalculator(new Props("artifact", "1.0.0"));
+
+  @Test
+  void itIsStableForIdenticalInputs() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args))
+        .isEqualTo(calculator.calculate(SPEC.clone(), args))
+        .hasSize(64);
+  }
+
+  @Test
+  void itChangesWhenSpecChanges() {
+    final Args args = createArgs("com.foo");
+    final byte[] otherSpec = "openapi: 3.1.0".getBytes(StandardCharsets.UTF_8);
+    assertThat(calculator.calculate(SPEC, args))
+        .isNotEqualTo(calculator.calculate(otherSpec, args));
+  }
+
+  @Test
+  void itChangesWhenGroupIdChanges() {
+    assertThat(calculator.calculate(SPEC, createArgs("com.foo")))
+        .isNotEqualTo(calculator.calculate(SPEC, createArgs("com.bar")));
+  }
+
+  @Test
+  void itChangesWhenVersionChanges() {
+    final Args args = createArgs("com.foo");
+    final FingerprintCalculator otherCalculator =
+        new FingerprintCalculator(new Props("artifact", "2.0.0"));
+    assertThat(calculator.calculate(SPEC, args))
+        .isNotEqualTo(otherCalculator.calculate(SPEC, args));
+  }
+
+  @Test
+  void itIgnoresForce() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args))
+        .isEqualTo(calculator.calculate(SPEC, args.withForce(true)));
+  }
+
+  @Test
+  void itChangesWhenIncludesChange() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args))
+        .isNotEqualTo(calculator.calculate(SPEC, args.withIncludeTags(Set.of("repos"))))
+        .isNotEqualTo(calculator.calculate(SPEC, args.withIncludePaths(Set.of("/repos"))))
+        .isNotEqualTo(calculator.calculate(SPEC, args.withArtifactId("repos")));
+  }
+
+  @Test
+  void itChangesWhenPruningChanges() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args))
+        .isNotEqualTo(calculator.calculate(SPEC, args.withPruneUnusedSchemas(true)));
+  }
+
+  @Test
+  void itChangesWhenDedupingChanges() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args))
+        .isNotEqualTo(calculator.calculate(SPEC, args.withDedupeSchemas(true)));
+  }
+
+  @Test
+  void itChangesWhenShardingChanges() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args))
+        .isNotEqualTo(calculator.calculate(SPEC, args.withShardByTag(true)));
+  }
+
+  @Test
+  void itChangesWhenZipOutputChanges() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args))
+        .isNotEqualTo(calculator.calculate(SPEC, args.withOutputMode(OutputMode.ZIP)))
+        .isEqualTo(calculator.calculate(SPEC, args.withOutputMode(OutputMode.INCREMENTAL)));
+  }
+
+  @Test
+  void itChangesWhenDisabledPassesChange() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args))
+        .isNotEqualTo(
+            calculator.calculate(
+                SPEC,
+                args.withDisabledPasses(
+                    Set.of("CodegenFilenameSupport.fixProblematicKeysForFilenames"))));
+  }
+
+  @Test
+  void itIgnoresIncludeOrder() {
+    final Args args = createArgs("com.foo");
+    assertThat(calculator.calculate(SPEC, args.withIncludeTags(Set.of("a", "b", "c"))))
+        .isEqualTo(calculator.calculate(SPEC, args.withIncludeTags(Set.of("c", "b", "a"))));
+  }
+
+  @SneakyThrows
+  private static Args createArgs(final String groupId) {
+    return new Args(
+        ProgramArgStatus.PROCEED, new URI("http://localhost/openapi.yaml").toURL(), groupId);
+  }
+}
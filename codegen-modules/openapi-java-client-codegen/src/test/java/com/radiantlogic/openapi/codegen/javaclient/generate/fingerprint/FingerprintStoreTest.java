@@ -0,0 +1,48 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.fingerprint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.SneakyThrows;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FingerprintStoreTest {
+  @TempDir private Path tempDir;
+
+  @Test
+  void itFindsSavedOutput() {
+    final FingerprintStore store = new FingerprintStore(tempDir);
+    final Path outputDir = tempDir.resolve("my-api").resolve("1.0.0");
+    store.save("abc", outputDir);
+
+    assertThat(store.findUpToDateOutput("abc")).contains(outputDir.toAbsolutePath());
+    assertThat(store.findUpToDateOutput("def")).isEmpty();
+  }
+
+  @Test
+  @SneakyThrows
+  void itIgnoresOutputThatWasDeleted() {
+    final FingerprintStore store = new FingerprintStore(tempDir);
+    final Path outputDir = tempDir.resolve("my-api").resolve("1.0.0");
+    store.save("abc", outputDir);
+    FileUtils.deleteDirectory(outputDir.toFile());
+
+    assertThat(store.findUpToDateOutput("abc")).isEmpty();
+  }
+
+  @Test
+  void itIgnoresOutputThatWasRegeneratedWithDifferentInputs() {
+    final FingerprintStore store = new FingerprintStore(tempDir);
+    final Path outputDir = tempDir.resolve("my-api").resolve("1.0.0");
+    store.save("abc", outputDir);
+    store.save("def", outputDir);
+
+    assertThat(store.findUpToDateOutput("abc")).isEmpty();
+    assertThat(store.findUpToDateOutput("def")).contains(outputDir.toAbsolutePath());
+    assertThat(Files.exists(outputDir.resolve(CodegenPaths.METADATA_DIR))).isTrue();
+  }
+}
@@ -0,0 +1,58 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class CompiledTemplateCacheTest {
+  private final CompiledTemplateCache cache = new CompiledTemplateCache();
+  private final AtomicInteger compileCount = new AtomicInteger();
+
+  @Test
+  void itReusesTheTemplateForTheSameVersion() {
+    final CompiledTemplateCache.Lookup first =
+        cache.get("source", "model.mustache", "v1", compiler("a"));
+    final CompiledTemplateCache.Lookup second =
+        cache.get("source", "model.mustache", "v1", compiler("b"));
+
+    assertThat(first.cached()).isFalse();
+    assertThat(second.cached()).isTrue();
+    assertThat(second.template()).isSameAs(first.template());
+    assertThat(compileCount).hasValue(1);
+  }
+
+  @Test
+  void itCompilesAgainWhenTheVersionChanges() {
+    cache.get("source", "model.mustache", "v1", compiler("a"));
+    final CompiledTemplateCache.Lookup changed =
+        cache.get("source", "model.mustache", "v2", compiler("b"));
+
+    assertThat(changed.cached()).isFalse();
+    assertThat(changed.template().execute(Map.of())).isEqualTo("b");
+    assertThat(compileCount).hasValue(2);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void itCachesEachSourceSeparately() {
+    cache.get("source", "model.mustache", "v1", compiler("a"));
+    final CompiledTemplateCache.Lookup otherSource =
+        cache.get("other", "model.mustache", "v1", compiler("b"));
+
+    assertThat(otherSource.cached()).isFalse();
+    assertThat(otherSource.template().execute(Map.of())).isEqualTo("b");
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  private Supplier<Template> compiler(final String contents) {
+    return () -> {
+      compileCount.incrementAndGet();
+      return Mustache.compiler().compile(contents);
+    };
+  }
+}
@@ -0,0 +1,80 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IncrementalOutputSinkTest {
+  private static final FileTime OLD_TIME = FileTime.from(Instant.parse("2020-01-01T00:00:00Z"));
+
+  @TempDir private Path outputDir;
+
+  @Test
+  @SneakyThrows
+  void itOnlyWritesChangedFiles() {
+    final Path unchanged = createFile("src/Unchanged.java", "unchanged");
+    final Path sameSize = createFile("src/SameSize.java", "aaaa");
+    final Path differentSize = createFile("src/DifferentSize.java", "short");
+
+    final IncrementalOutputSink sink = new IncrementalOutputSink(outputDir);
+    sink.write(unchanged, bytes("unchanged"));
+    sink.write(sameSize, bytes("bbbb"));
+    sink.write(differentSize, bytes("much longer"));
+    final Path created = sink.write(outputDir.resolve("src/New.java"), bytes("new"));
+    sink.finish();
+
+    assertThat(Files.getLastModifiedTime(unchanged)).isEqualTo(OLD_TIME);
+    assertThat(Files.getLastModifiedTime(sameSize)).isNotEqualTo(OLD_TIME);
+    assertThat(sameSize).hasContent("bbbb");
+    assertThat(differentSize).hasContent("much longer");
+    assertThat(created).hasContent("new");
+  }
+
+  @Test
+  @SneakyThrows
+  void itDeletesFilesNoLongerGenerated() {
+    final Path kept = createFile("src/model/Kept.java", "kept");
+    final Path removed = createFile("src/model/gone/Removed.java", "removed");
+    final Path notTracked = createFile("target/classes/Kept.class", "class");
+    final Path ignoreFile = createFile(".openapi-generator-ignore", "ignore");
+    createFile(
+        ".openapi-generator/FILES",
+        """
+        .openapi-generator-ignore
+        src/model/Kept.java
+        src/model/gone/Removed.java
+        """);
+
+    final IncrementalOutputSink sink = new IncrementalOutputSink(outputDir);
+    sink.write(kept, bytes("kept"));
+    sink.write(outputDir.resolve(".openapi-generator/FILES"), bytes("src/model/Kept.java\n"));
+    sink.finish();
+
+    assertThat(kept).exists();
+    assertThat(removed).doesNotExist();
+    assertThat(removed.getParent()).doesNotExist();
+    assertThat(kept.getParent()).exists();
+    assertThat(notTracked).exists();
+    assertThat(ignoreFile).exists();
+  }
+
+  @SneakyThrows
+  private Path createFile(final String relativePath, final String content) {
+    final Path path = outputDir.resolve(relativePath);
+    Files.createDirectories(path.getParent());
+    Files.writeString(path, content);
+    Files.setLastModifiedTime(path, OLD_TIME);
+    return path;
+  }
+
+  private static byte[] bytes(final String content) {
+    return content.getBytes(StandardCharsets.UTF_8);
+  }
+}
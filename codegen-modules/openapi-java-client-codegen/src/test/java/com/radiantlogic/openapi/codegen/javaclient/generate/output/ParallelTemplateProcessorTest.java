@@ -0,0 +1,104 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.api.TemplateProcessor;
+
+public class ParallelTemplateProcessorTest {
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+  private final RecordingTemplateProcessor delegate = new RecordingTemplateProcessor();
+  private final ParallelTemplateProcessor processor = new ParallelTemplateProcessor(delegate, pool);
+
+  @AfterEach
+  void tearDown() {
+    pool.close();
+  }
+
+  @Test
+  @SneakyThrows
+  void itRendersInParallelAndWaitsOnPhaseChange() {
+    final CountDownLatch latch = new CountDownLatch(1);
+    delegate.latch = latch;
+
+    final File target = new File("Model.java");
+    assertThat(processor.write(Map.of(), "model.mustache", target)).isEqualTo(target);
+    assertThat(delegate.written).isEmpty();
+
+    latch.countDown();
+    processor.onPhase(GenerationPhase.APIS);
+    assertThat(delegate.written).containsExactly(target);
+  }
+
+  @Test
+  @SneakyThrows
+  void itRendersSeriallyAfterApis() {
+    processor.onPhase(GenerationPhase.APIS);
+    processor.onPhase(GenerationPhase.WEBHOOKS);
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    latch.countDown();
+    delegate.latch = latch;
+    final File target = new File("pom.xml");
+    processor.write(Map.of(), "pom.mustache", target);
+    assertThat(delegate.written).containsExactly(target);
+  }
+
+  @Test
+  void itThrowsRenderFailuresOnPhaseChange() {
+    delegate.failure = new IOException("Bad template");
+
+    assertThatCode(() -> processor.write(Map.of(), "model.mustache", new File("Model.java")))
+        .doesNotThrowAnyException();
+    assertThatThrownBy(() -> processor.onPhase(GenerationPhase.COMPLETE))
+        .hasRootCauseMessage("Bad template");
+  }
+
+  private static class RecordingTemplateProcessor implements TemplateProcessor {
+    private final Set<File> written = ConcurrentHashMap.newKeySet();
+    private volatile CountDownLatch latch;
+    private volatile IOException failure;
+
+    @Override
+    @SneakyThrows
+    public File write(
+        @NonNull final Map<String, Object> data,
+        @NonNull final String template,
+        @NonNull final File target)
+        throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+      if (latch != null) {
+        latch.await(10, TimeUnit.SECONDS);
+      }
+      written.add(target);
+      return target;
+    }
+
+    @Override
+    public File writeToFile(final String filename, final byte[] contents) {
+      return new File(filename);
+    }
+
+    @Override
+    public void ignore(final Path path, final String context) {}
+
+    @Override
+    public void skip(final Path path, final String context) {}
+  }
+}
@@ -0,0 +1,79 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ZipOutputSinkTest {
+  @TempDir private Path outputDir;
+
+  @Test
+  @SneakyThrows
+  void itWritesEveryFileIntoTheZip() {
+    final ZipOutputSink sink = new ZipOutputSink(outputDir);
+    final Path written = sink.write(outputDir.resolve("src/model/Model.java"), bytes("model"));
+    sink.write(outputDir.resolve("pom.xml"), bytes("first"));
+    sink.write(outputDir.resolve("pom.xml"), bytes("second"));
+    sink.finish();
+
+    assertThat(written).isEqualTo(outputDir.resolve("src/model/Model.java"));
+    assertThat(written).doesNotExist();
+    try (FileSystem zip = FileSystems.newFileSystem(outputDir.resolve(ZipOutputSink.ZIP_FILE))) {
+      assertThat(zip.getPath("src/model/Model.java")).hasContent("model");
+      assertThat(zip.getPath("pom.xml")).hasContent("second");
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void itMovesTheIgnoreFileIntoTheZip() {
+    Files.writeString(outputDir.resolve(".openapi-generator-ignore"), "ignored");
+    Files.createDirectories(outputDir.resolve("src/main/java/com/example"));
+    final Path metadata = outputDir.resolve(".openapi-codegen/fingerprint");
+    Files.createDirectories(metadata.getParent());
+    Files.writeString(metadata, "fingerprint");
+
+    final ZipOutputSink sink = new ZipOutputSink(outputDir);
+    sink.write(outputDir.resolve("README.md"), bytes("readme"));
+    sink.finish();
+
+    try (Stream<Path> children = Files.list(outputDir)) {
+      assertThat(children.map(outputDir::relativize).map(Path::toString))
+          .containsExactlyInAnyOrder(ZipOutputSink.ZIP_FILE, ".openapi-codegen");
+    }
+    assertThat(metadata).hasContent("fingerprint");
+    try (FileSystem zip = FileSystems.newFileSystem(outputDir.resolve(ZipOutputSink.ZIP_FILE))) {
+      assertThat(zip.getPath(".openapi-generator-ignore")).hasContent("ignored");
+      assertThat(zip.getPath("README.md")).hasContent("readme");
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void itOnlyNamesTheZipWhenFinished() {
+    final ZipOutputSink sink = new ZipOutputSink(outputDir);
+    sink.write(outputDir.resolve("README.md"), bytes("readme"));
+
+    assertThat(outputDir.resolve(ZipOutputSink.ZIP_FILE)).doesNotExist();
+  }
+
+  @Test
+  void itRejectsFilesOutsideTheOutputDir() {
+    final ZipOutputSink sink = new ZipOutputSink(outputDir);
+    assertThatThrownBy(() -> sink.write(outputDir.resolve("../Outside.java"), bytes("outside")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static byte[] bytes(final String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
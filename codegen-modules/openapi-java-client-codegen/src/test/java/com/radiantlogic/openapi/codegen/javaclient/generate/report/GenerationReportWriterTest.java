@@ -0,0 +1,56 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GenerationReportWriterTest {
+  @TempDir private Path tempDir;
+
+  @Test
+  @SneakyThrows
+  void itWritesReportIntoMetadataDirectory() {
+    final GenerationReport report =
+        new GenerationReport(
+            "http://localhost/openapi.yaml",
+            "2024-01-01T00:00:00Z",
+            5_000_000,
+            null,
+            null,
+            List.of(
+                new PhaseTiming("generate", 0, 1, 4_000_000, 3_000_000, null, null, null, Map.of()),
+                new PhaseTiming(
+                    "generate/render",
+                    1,
+                    10,
+                    2_000_000,
+                    1_000_000,
+                    null,
+                    null,
+                    null,
+                    Map.of("files", 10L))));
+
+    final Path reportFile = new GenerationReportWriter().write(report, tempDir);
+
+    assertThat(reportFile)
+        .isEqualTo(
+            tempDir.resolve(CodegenPaths.METADATA_DIR).resolve(GenerationReportWriter.REPORT_FILE));
+    final JsonNode json = new ObjectMapper().readTree(reportFile.toFile());
+    assertThat(json.get("openapiUrl").asText()).isEqualTo("http://localhost/openapi.yaml");
+    assertThat(json.get("totalWallNanos").asLong()).isEqualTo(5_000_000);
+    assertThat(json.get("phases")).hasSize(2);
+    assertThat(json.get("phases").get(1).get("phase").asText()).isEqualTo("generate/render");
+    assertThat(json.get("phases").get(1).get("counts").get("files").asLong()).isEqualTo(10);
+    // Memory is only included when it was profiled
+    assertThat(json.has("peakHeapBytes")).isFalse();
+    assertThat(json.get("phases").get(0).has("liveSetBytes")).isFalse();
+  }
+}
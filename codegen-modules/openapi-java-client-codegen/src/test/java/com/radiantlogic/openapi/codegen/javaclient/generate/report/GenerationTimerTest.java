@@ -0,0 +1,136 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class GenerationTimerTest {
+  @Test
+  void itAccumulatesInvocationsAndCounts() {
+    final GenerationTimer timer = new GenerationTimer();
+    timer.run("fromModel", () -> {});
+    timer.run("fromModel", () -> {});
+    timer.count("fromModel", "models", 2);
+    timer.count("fromModel", "models", 3);
+
+    assertThat(timer.getPhaseTimings())
+        .singleElement()
+        .satisfies(
+            timing -> {
+              assertThat(timing.phase()).isEqualTo("fromModel");
+              assertThat(timing.depth()).isZero();
+              assertThat(timing.invocations()).isEqualTo(2);
+              assertThat(timing.wallNanos()).isNotNegative();
+              assertThat(timing.counts()).isEqualTo(Map.of("models", 5L));
+            });
+  }
+
+  @Test
+  void itOrdersChildrenAfterTheirParent() {
+    final GenerationTimer timer = new GenerationTimer();
+    timer.run(
+        "generate",
+        () -> {
+          timer.run(GenerationTimer.phase("generate", "render", "model.mustache"), () -> {});
+          timer.run(GenerationTimer.phase("generate", "write"), () -> {});
+          timer.run(GenerationTimer.phase("generate", "render"), () -> {});
+        });
+    timer.run("parse", () -> {});
+
+    assertThat(timer.getPhaseTimings())
+        .extracting(PhaseTiming::phase, PhaseTiming::depth)
+        .containsExactly(
+            tuple("generate", 0),
+            tuple("generate/write", 1),
+            tuple("generate/render", 1),
+            tuple("generate/render/model.mustache", 2),
+            tuple("parse", 0));
+  }
+
+  @Test
+  void itTimesPhasesThatFail() {
+    final GenerationTimer timer = new GenerationTimer();
+    assertThatThrownBy(
+            () ->
+                timer.time(
+                    "parse",
+                    () -> {
+                      throw new IOException("Bad spec");
+                    }))
+        .isInstanceOf(IOException.class);
+
+    assertThat(timer.getPhaseTimings())
+        .singleElement()
+        .extracting(PhaseTiming::invocations)
+        .isEqualTo(1L);
+    assertThat(timer.createReport("http://localhost/openapi.yaml").totalWallNanos()).isPositive();
+  }
+
+  @Test
+  void itProfilesMemory() {
+    final GenerationTimer timer = new GenerationTimer(new MemoryProfiler());
+    final List<byte[]> retained = new ArrayList<>();
+    timer.run("parse", () -> retained.add(new byte[1024 * 1024]));
+    timer.snapshotMemory("parse");
+    timer.run("init", () -> {});
+
+    final GenerationReport report = timer.createReport("http://localhost/openapi.yaml");
+    assertThat(report.peakHeapBytes()).isPositive();
+    assertThat(report.maxHeapBytes()).isPositive();
+    assertThat(report.phases())
+        .first()
+        .satisfies(
+            timing -> {
+              assertThat(timing.allocatedBytes()).isGreaterThanOrEqualTo(1024 * 1024);
+              assertThat(timing.peakHeapBytes()).isPositive();
+              assertThat(timing.liveSetBytes()).isGreaterThanOrEqualTo(1024 * 1024);
+            });
+    // Only phases with a snapshot have a live set
+    assertThat(report.phases().get(1).liveSetBytes()).isNull();
+    assertThat(retained).hasSize(1);
+  }
+
+  @Test
+  void itLeavesSnapshotsOutOfEnclosingPhases() {
+    final GenerationTimer timer = new GenerationTimer(new MemoryProfiler());
+    final long start = System.nanoTime();
+    timer.run(
+        "generate",
+        () -> {
+          timer.run(GenerationTimer.phase("generate", "render"), () -> {});
+          timer.snapshotMemory(GenerationTimer.phase("generate", "render"));
+        });
+    final long elapsed = System.nanoTime() - start;
+
+    assertThat(timer.getPhaseTimings())
+        .first()
+        .satisfies(
+            timing -> {
+              assertThat(timing.phase()).isEqualTo("generate");
+              assertThat(timing.wallNanos()).isNotNegative().isLessThan(elapsed / 2);
+            });
+  }
+
+  @Test
+  void itDoesNotProfileMemoryByDefault() {
+    final GenerationTimer timer = new GenerationTimer();
+    timer.run("parse", () -> {});
+    timer.snapshotMemory("parse");
+
+    final GenerationReport report = timer.createReport("http://localhost/openapi.yaml");
+    assertThat(report.peakHeapBytes()).isNull();
+    assertThat(report.phases())
+        .singleElement()
+        .satisfies(
+            timing -> {
+              assertThat(timing.allocatedBytes()).isNull();
+              assertThat(timing.liveSetBytes()).isNull();
+            });
+  }
+}
@@ -0,0 +1,105 @@
+package com.radiantlogic.openapi.codegen.javaclient.generate.verify;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompileVerifierTest {
+  private final CompileVerifier compileVerifier = new CompileVerifier(List.of());
+
+  @TempDir private Path projectRoot;
+
+  @Test
+  @SneakyThrows
+  void itCompilesTheGeneratedSources() {
+    createFile(
+        "src/main/java/com/example/Model.java", "package com.example; public class Model {}");
+    createFile(
+        "src/main/java/com/example/api/Api.java",
+        "package com.example.api; public class Api { com.example.Model model; }");
+
+    final VerificationResult result = compileVerifier.verify(projectRoot);
+
+    assertThat(result.success()).isTrue();
+    assertThat(result.sourceFiles()).isEqualTo(2);
+    assertThat(projectRoot.resolve("src/main/java/com/example/Model.class")).doesNotExist();
+  }
+
+  @Test
+  @SneakyThrows
+  void itReportsTheErrorsOfEachFile() {
+    createFile(
+        "src/main/java/com/example/Model.java", "package com.example; public class Model {}");
+    createFile(
+        "src/main/java/com/example/Broken.java",
+        """
+        package com.example;
+        public class Broken {
+          Missing missing;
+        }
+        """);
+
+    final VerificationResult result = compileVerifier.verify(projectRoot);
+
+    assertThat(result.success()).isFalse();
+    final Map<String, List<CompileDiagnostic>> errorsByFile = result.getErrorsByFile();
+    assertThat(errorsByFile).containsOnlyKeys("src/main/java/com/example/Broken.java");
+    assertThat(errorsByFile.get("src/main/java/com/example/Broken.java"))
+        .singleElement()
+        .satisfies(
+            error -> {
+              assertThat(error.line()).isEqualTo(3);
+              assertThat(error.message()).contains("Missing");
+            });
+  }
+
+  @Test
+  @SneakyThrows
+  void itOnlyCompilesMainSourcesOfEveryModule() {
+    createFile(
+        "client-common/src/main/java/com/example/Model.java",
+        "package com.example; public class Model {}");
+    createFile(
+        "client-pets/src/main/java/com/example/api/PetsApi.java",
+        "package com.example.api; public class PetsApi { com.example.Model model; }");
+    createFile("client-pets/src/test/java/com/example/BrokenTest.java", "not java");
+
+    final VerificationResult result = compileVerifier.verify(projectRoot);
+
+    assertThat(result.success()).isTrue();
+    assertThat(result.sourceFiles()).isEqualTo(2);
+  }
+
+  @Test
+  @SneakyThrows
+  void itCompilesSourcesInAZip() {
+    final Path zipFile = projectRoot.resolve("sources.zip");
+    try (FileSystem zip = FileSystems.newFileSystem(zipFile, Map.of("create", "true"))) {
+      final Path source = zip.getPath("src/main/java/com/example/Model.java");
+      Files.createDirectories(source.getParent());
+      Files.writeString(source, "package com.example; public class Model { int broken = \"\"; }");
+    }
+
+    try (FileSystem zip = FileSystems.newFileSystem(zipFile)) {
+      final VerificationResult result = compileVerifier.verify(zip.getPath("/"));
+
+      assertThat(result.getErrorsByFile()).containsOnlyKeys("src/main/java/com/example/Model.java");
+    }
+  }
+
+  @SneakyThrows
+  private void createFile(@NonNull final String relativePath, @NonNull final String content) {
+    final Path path = projectRoot.resolve(relativePath);
+    Files.createDirectories(path.getParent());
+    Files.writeString(path, content);
+  }
+}
@@ -10,6 +10,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
@@ -24,11 +25,17 @@ import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
  * specifications are real and were acquired off the internet from the companies they are associated
  * with. None have been modified in any way, except in the case of GitHub to split an absurdly huge
  * (to the point of being unparsable) into smaller pieces.
+ *
+ * <p>The generated code is compiled in-process with --verify. Run with -Dfull-build=true to build
+ * it with Maven instead, which also runs the javadoc and source plugins of the generated pom.
  */
 public class CodegenIT {
   private static final Path OUTPUT_DIR = Paths.get(System.getProperty("user.dir"), "output");
   private static final Duration WAIT_FOR_BUILD = Duration.ofMinutes(2);
 
+  /** Shared so that the classpath to verify against is only resolved once. */
+  private static final Runner RUNNER = new Runner();
+
   private static long peakMemory = 0;
   private static Thread memoryMonitorThread;
 
@@ -99,6 +106,15 @@ public class CodegenIT {
     generateAndBuild("gitlab-v4-swagger2.yaml", "GitLab-API---Swagger-2/v4");
   }
 
+  /**
+   * Building the client of a Swagger 2 spec is out of scope, but converting the spec is not, so
+   * this one is only generated. It is also what lets the native-agent profile trace the conversion.
+   */
+  @Test
+  void gitlabV4Swagger2Generation() {
+    generate("gitlab-v4-swagger2.yaml", "GitLab-API---Swagger-2/v4");
+  }
+
   @Test
   void googleMaps() {
     generateAndBuild("google-maps-1.22.5.json", "Google-Maps-Platform/1.22.5");
@@ -190,9 +206,34 @@ public class CodegenIT {
     generateAndBuild("broken-discriminator-test-1.0.0.yaml", "Broken-Discriminator-Test/1.0.0");
   }
 
-  @SneakyThrows
+  /**
+   * This generates a test-only spec as one module per tag. The in-process verification compiles
+   * every module together, so it cannot tell when a module uses a class from a module it does not
+   * depend on, and the modules are always built with Maven instead.
+   */
+  @Test
+  void shardTest() {
+    final Path outputPath = generate("shard-test-1.0.0.yaml", "Shard-Test/1.0.0", "--shard-by-tag");
+    build(outputPath, "mvn clean package -DskipTests");
+  }
+
   private void generateAndBuild(
       @NonNull final String yamlFilename, @NonNull final String relativeOutputPath) {
+    if (!Boolean.getBoolean("full-build")) {
+      generate(yamlFilename, relativeOutputPath, "--verify");
+      System.out.println("Generated code compiled successfully.");
+      return;
+    }
+    final Path outputPath = generate(yamlFilename, relativeOutputPath);
+    build(outputPath, "mvn clean install -DskipTests");
+  }
+
+  @SneakyThrows
+  @NonNull
+  private Path generate(
+      @NonNull final String yamlFilename,
+      @NonNull final String relativeOutputPath,
+      @NonNull final String... options) {
     final Path outputPath = OUTPUT_DIR.resolve(relativeOutputPath);
     System.out.printf("Cleaning output directory %s%n", outputPath);
     FileUtils.deleteDirectory(outputPath.toFile());
@@ -200,13 +241,15 @@ public class CodegenIT {
     final URL url = getClass().getClassLoader().getResource("openapi/%s".formatted(yamlFilename));
     final Path yamlPath = Paths.get(url.toURI());
     System.out.printf("Running codegen for spec file %s%n", yamlPath);
-    final Runner runner = new Runner();
-    final String[] args = new String[] {"-p=%s".formatted(yamlPath.toString())};
-    runner.run(args);
+    final String pathArg = "-p=%s".formatted(yamlPath.toString());
+    RUNNER.run(Stream.concat(Stream.of(pathArg), Stream.of(options)).toArray(String[]::new));
+    return outputPath;
+  }
 
+  private void build(@NonNull final Path outputPath, @NonNull final String command) {
     System.out.printf("Codegen complete. Building generated code at %s%n", outputPath);
 
-    final int exitValue = runProcess("mvn clean install -DskipTests", outputPath);
+    final int exitValue = runProcess(command, outputPath);
 
     assertThat(exitValue).isEqualTo(0);
     System.out.println("Build of generated code completed successfully.");
@@ -1,9 +1,13 @@
 package com.radiantlogic.openapi.codegen.javaclient.integration;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
@@ -13,19 +17,26 @@ import com.radiantlogic.openapi.codegen.javaclient.args.Args;
 import com.radiantlogic.openapi.codegen.javaclient.args.ArgsParser;
 import com.radiantlogic.openapi.codegen.javaclient.args.ProgramArgStatus;
 import com.radiantlogic.openapi.codegen.javaclient.generate.OpenapiParser;
+import com.radiantlogic.openapi.codegen.javaclient.io.SpecDownloader;
 import io.swagger.parser.OpenAPIParser;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.net.URI;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import lombok.SneakyThrows;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * This test validates that an OpenAPI spec URL that is provided as an argument will be properly
- * resolved and downloaded.
+ * resolved and downloaded, and that downloads are cached and revalidated.
  */
 @WireMockTest(httpPort = 9000)
 public class DownloadSpecIT {
@@ -60,4 +71,122 @@ public class DownloadSpecIT {
     final String actualYaml = Files.readString(tempFile);
     assertThat(actualYaml).isEqualTo(openapiYaml);
   }
+
+  @Test
+  @SneakyThrows
+  void itRevalidatesCachedSpecWithEtag(@TempDir final Path cacheDir) {
+    final String openapiYaml = "openapi: 3.0.0";
+    stubFor(
+        get(urlPathEqualTo("/cached.yaml"))
+            .willReturn(
+                aResponse().withStatus(200).withBody(openapiYaml).withHeader("ETag", "\"v1\"")));
+    stubFor(
+        get(urlPathEqualTo("/cached.yaml"))
+            .withHeader("If-None-Match", equalTo("\"v1\""))
+            .willReturn(aResponse().withStatus(304)));
+    final URL url = new URI("http://localhost:9000/cached.yaml").toURL();
+    final SpecDownloader downloader = new SpecDownloader(cacheDir);
+
+    assertThat(downloader.download(url)).asString().isEqualTo(openapiYaml);
+    assertThat(downloader.download(url)).asString().isEqualTo(openapiYaml);
+
+    verify(1, getRequestedFor(urlPathEqualTo("/cached.yaml")).withoutHeader("If-None-Match"));
+    verify(
+        1,
+        getRequestedFor(urlPathEqualTo("/cached.yaml"))
+            .withHeader("If-None-Match", equalTo("\"v1\"")));
+  }
+
+  @Test
+  @SneakyThrows
+  void itDownloadsAgainWhenCachedBodyDoesNotMatchValidators(@TempDir final Path cacheDir) {
+    stubFor(
+        get(urlPathEqualTo("/mismatched.yaml"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withBody("openapi: 3.0.0")
+                    .withHeader("ETag", "\"v1\"")));
+    stubFor(
+        get(urlPathEqualTo("/mismatched.yaml"))
+            .withHeader("If-None-Match", equalTo("\"v1\""))
+            .willReturn(aResponse().withStatus(304)));
+    final URL url = new URI("http://localhost:9000/mismatched.yaml").toURL();
+    final SpecDownloader downloader = new SpecDownloader(cacheDir);
+
+    downloader.download(url);
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      final List<Path> cached = files.toList();
+      assertThat(cached).hasSize(2);
+      // As if another download replaced the body but not yet the validators
+      Files.writeString(
+          cached.stream()
+              .filter(file -> file.toString().endsWith(".body"))
+              .findFirst()
+              .orElseThrow(),
+          "openapi: 3.1.0");
+    }
+
+    assertThat(downloader.download(url)).asString().isEqualTo("openapi: 3.0.0");
+    verify(2, getRequestedFor(urlPathEqualTo("/mismatched.yaml")).withoutHeader("If-None-Match"));
+  }
+
+  @Test
+  @SneakyThrows
+  void itRevalidatesCachedSpecWithLastModified(@TempDir final Path cacheDir) {
+    final String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+    stubFor(
+        get(urlPathEqualTo("/modified.yaml"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withBody("openapi: 3.0.0")
+                    .withHeader("Last-Modified", lastModified)));
+    stubFor(
+        get(urlPathEqualTo("/modified.yaml"))
+            .withHeader("If-Modified-Since", equalTo(lastModified))
+            .willReturn(aResponse().withStatus(200).withBody("openapi: 3.1.0")));
+    final URL url = new URI("http://localhost:9000/modified.yaml").toURL();
+    final SpecDownloader downloader = new SpecDownloader(cacheDir);
+
+    assertThat(downloader.download(url)).asString().isEqualTo("openapi: 3.0.0");
+    assertThat(downloader.download(url)).asString().isEqualTo("openapi: 3.1.0");
+  }
+
+  @Test
+  @SneakyThrows
+  void itDecodesGzipSpec(@TempDir final Path cacheDir) {
+    final String openapiYaml = "openapi: 3.0.0\n".repeat(1000);
+    final ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+    try (GZIPOutputStream stream = new GZIPOutputStream(gzipped)) {
+      stream.write(openapiYaml.getBytes(StandardCharsets.UTF_8));
+    }
+    stubFor(
+        get(urlPathEqualTo("/gzip.yaml"))
+            .withHeader("Accept-Encoding", containing("gzip"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withBody(gzipped.toByteArray())
+                    .withHeader("Content-Encoding", "gzip")));
+    final URL url = new URI("http://localhost:9000/gzip.yaml").toURL();
+
+    assertThat(new SpecDownloader(cacheDir).download(url)).asString().isEqualTo(openapiYaml);
+  }
+
+  @Test
+  @SneakyThrows
+  void itDoesNotCacheWhenDisabled() {
+    stubFor(
+        get(urlPathEqualTo("/uncached.yaml"))
+            .willReturn(
+                aResponse().withStatus(200).withBody("openapi: 3.0.0").withHeader("ETag", "v1")));
+    final URL url = new URI("http://localhost:9000/uncached.yaml").toURL();
+    final SpecDownloader downloader = new SpecDownloader(null);
+
+    downloader.download(url);
+    downloader.download(url);
+
+    verify(2, getRequestedFor(urlPathEqualTo("/uncached.yaml")).withoutHeader("If-None-Match"));
+  }
 }
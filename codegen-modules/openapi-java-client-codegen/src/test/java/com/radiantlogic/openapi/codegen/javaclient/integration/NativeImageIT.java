@@ -0,0 +1,107 @@
+package com.radiantlogic.openapi.codegen.javaclient.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radiantlogic.openapi.codegen.javaclient.Runner;
+import com.radiantlogic.openapi.codegen.javaclient.io.CodegenPaths;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Smoke tests for the native executable built by the native profile. The same specs are generated
+ * by the native executable and by the JVM, and the output must be identical. Any difference usually
+ * means that the native image is missing reflection or resource configuration.
+ */
+@EnabledIfSystemProperty(named = "native-image", matches = ".+")
+public class NativeImageIT {
+  private static final Path OUTPUT_DIR = Paths.get(System.getProperty("user.dir"), "output");
+  private static final Duration WAIT_FOR_GENERATION = Duration.ofMinutes(5);
+
+  @TempDir private Path nativeWorkingDir;
+
+  @Test
+  void swaggerPetstore() {
+    generateAndCompare("swagger-petstore-1.0.26.json", "Swagger-Petstore---OpenAPI-3.0/1.0.26");
+  }
+
+  @Test
+  void brokenDiscriminatorTest() {
+    generateAndCompare("broken-discriminator-test-1.0.0.yaml", "Broken-Discriminator-Test/1.0.0");
+  }
+
+  /** Swagger 2 specs are converted with Jackson bean binding, which needs its own configuration. */
+  @Test
+  void gitlabV4Swagger2() {
+    generateAndCompare("gitlab-v4-swagger2.yaml", "GitLab-API---Swagger-2/v4");
+  }
+
+  @SneakyThrows
+  private void generateAndCompare(
+      @NonNull final String yamlFilename, @NonNull final String relativeOutputPath) {
+    final Path jvmOutputPath = OUTPUT_DIR.resolve(relativeOutputPath);
+    FileUtils.deleteDirectory(jvmOutputPath.toFile());
+
+    final URL url = getClass().getClassLoader().getResource("openapi/%s".formatted(yamlFilename));
+    final String pathArg = "-p=%s".formatted(Paths.get(url.toURI()));
+    System.out.printf("Running JVM codegen for spec file %s%n", yamlFilename);
+    new Runner().run(new String[] {pathArg});
+
+    System.out.printf("Running native codegen for spec file %s%n", yamlFilename);
+    final int exitValue = runProcess(List.of(System.getProperty("native-image"), pathArg));
+    assertThat(exitValue).isEqualTo(0);
+
+    final Path nativeOutputPath = nativeWorkingDir.resolve("output").resolve(relativeOutputPath);
+    final List<Path> jvmFiles = listFiles(jvmOutputPath);
+    assertThat(listFiles(nativeOutputPath)).containsExactlyElementsOf(jvmFiles);
+    jvmFiles.forEach(
+        file ->
+            assertThat(nativeOutputPath.resolve(file))
+                .hasSameBinaryContentAs(jvmOutputPath.resolve(file)));
+  }
+
+  /** The generated files relative to the output, without the codegen's own metadata. */
+  @SneakyThrows
+  private static List<Path> listFiles(@NonNull final Path outputPath) {
+    try (Stream<Path> paths = Files.walk(outputPath)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .map(outputPath::relativize)
+          .filter(path -> !path.startsWith(CodegenPaths.METADATA_DIR))
+          .sorted()
+          .toList();
+    }
+  }
+
+  @SneakyThrows
+  private int runProcess(@NonNull final List<String> command) {
+    final Process process =
+        new ProcessBuilder(command)
+            .directory(nativeWorkingDir.toFile())
+            .redirectErrorStream(true)
+            .start();
+
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+      reader.lines().forEach(System.out::println);
+    }
+
+    final boolean waitSuccess =
+        process.waitFor(WAIT_FOR_GENERATION.toMillis(), TimeUnit.MILLISECONDS);
+    assertThat(waitSuccess).withFailMessage("Wait for native codegen timed out.").isTrue();
+    return process.exitValue();
+  }
+}
@@ -0,0 +1,35 @@
+package com.radiantlogic.openapi.codegen.javaclient.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+public class OutputDirLocksTest {
+  private final OutputDirLocks outputDirLocks = new OutputDirLocks();
+
+  @Test
+  @SneakyThrows
+  void itWaitsForTheSameOutputDir() {
+    final Lock lock = outputDirLocks.lock(Path.of("output", "My-API", "1.0.0"));
+
+    final CompletableFuture<Void> sameDir =
+        CompletableFuture.runAsync(
+            () ->
+                outputDirLocks.lock(Path.of("output", "other", "..", "My-API", "1.0.0")).unlock());
+    final CompletableFuture<Void> otherDir =
+        CompletableFuture.runAsync(
+            () -> outputDirLocks.lock(Path.of("output", "Other-API")).unlock());
+
+    otherDir.get(5, TimeUnit.SECONDS);
+    Thread.sleep(100);
+    assertThat(sameDir).isNotDone();
+
+    lock.unlock();
+    sameDir.get(5, TimeUnit.SECONDS);
+  }
+}
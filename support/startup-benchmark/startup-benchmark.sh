@@ -0,0 +1,80 @@
+#!/bin/bash
+
+set -euo pipefail
+
+# Compares the startup of two codegen images by generating the same spec with each of them several
+# times. Time to first output is how long it takes for the first java file to be written, total is
+# how long the whole run takes. Both are the median of all runs, in milliseconds.
+
+if [ $# -lt 2 ]; then
+  echo "Usage: $0 BEFORE_IMAGE AFTER_IMAGE [SPEC_FILE] [RUNS]"
+  exit 1
+fi
+
+script_dir="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+before_image="$1"
+after_image="$2"
+spec_file="$(realpath "${3:-$script_dir/../../codegen-modules/openapi-java-client-codegen/src/test/resources/openapi/harrypotter-1.0.0.yaml}")"
+runs="${4:-10}"
+work_dir="$(mktemp -d)"
+trap 'rm -rf "$work_dir"' EXIT
+
+now_millis() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+run_once() {
+  local image="$1"
+  local output_dir="$work_dir/output"
+  rm -rf "$output_dir"
+  mkdir "$output_dir"
+
+  local start
+  start="$(now_millis)"
+  docker run --rm \
+    --user "$(id -u):$(id -g)" \
+    -v "$(dirname "$spec_file"):/input:ro" \
+    -v "$output_dir:/output" \
+    "$image" \
+    "-p=/input/$(basename "$spec_file")" > "$work_dir/run.log" 2>&1 &
+  local pid=$!
+
+  local first_output=""
+  while kill -0 "$pid" 2> /dev/null; do
+    if [ -z "$first_output" ] && [ -n "$(find "$output_dir" -name '*.java' -print -quit)" ]; then
+      first_output="$(($(now_millis) - start))"
+    fi
+    sleep 0.01
+  done
+  if ! wait "$pid"; then
+    echo "Generation failed with $image:" >&2
+    cat "$work_dir/run.log" >&2
+    exit 1
+  fi
+  local total="$(($(now_millis) - start))"
+
+  echo "${first_output:-$total} $total"
+}
+
+benchmark() {
+  local image="$1"
+  # The first run is a warm-up, so that both images start with a warm page cache
+  run_once "$image" > /dev/null
+  for _ in $(seq "$runs"); do
+    run_once "$image"
+  done > "$work_dir/times.txt"
+
+  printf "%-60s %20s %12s\n" \
+    "$image" \
+    "$(cut -d' ' -f1 "$work_dir/times.txt" | median)" \
+    "$(cut -d' ' -f2 "$work_dir/times.txt" | median)"
+}
+
+echo "Generating $(basename "$spec_file") $runs times with each image"
+printf "%-60s %20s %12s\n" "image" "first output (ms)" "total (ms)"
+benchmark "$before_image"
+benchmark "$after_image"